@@ -0,0 +1,53 @@
+package com.retail.product_catalog.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.product_catalog.support.SyntheticCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response body of the paginated listing endpoints at the page sizes clients use:
+ * the default 5, the UI's 20, and a large 100.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProductPageSerializationBenchmark {
+
+    @Param({"5", "20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<ProductDTO> page;
+
+    @Setup
+    public void setUp() {
+        // Configured the way Spring Boot configures the MVC message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<ProductDTO> content = SyntheticCatalog.DEFAULT.products(pageSize);
+        long id = 1;
+        for (ProductDTO product : content) {
+            product.setId(id++);
+            product.setVersion(3L);
+            product.setUpdatedAt(Instant.parse("2026-01-15T10:00:00Z"));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize, Sort.by("id")), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,59 @@
+package com.retail.product_catalog.dto;
+
+import com.retail.product_catalog.support.SyntheticCatalog;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of a {@link ProductDTO}, as done for every create/update and for
+ * every bulk or imported row. Invalid input is costlier: each violation builds a message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProductValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ProductDTO valid;
+    private ProductDTO invalid;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        valid = SyntheticCatalog.DEFAULT.product(7);
+
+        invalid = SyntheticCatalog.DEFAULT.product(8);
+        invalid.setName("x");
+        invalid.setDescription("short");
+        invalid.setPrice(new BigDecimal("-1"));
+        invalid.setStockQuantity(-5);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ProductDTO>> validateValid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ProductDTO>> validateInvalid() {
+        return validator.validate(invalid);
+    }
+}
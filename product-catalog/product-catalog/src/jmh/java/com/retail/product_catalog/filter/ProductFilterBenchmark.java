@@ -0,0 +1,66 @@
+package com.retail.product_catalog.filter;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.support.SyntheticCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory part of {@code GET /api/products/filter}: combining the bitmaps of
+ * {@link BitmapFilterEngine} for two categories and in-stock, with and without a price
+ * range, over a synthetic catalog. Loading the page's rows is one by-id query and is
+ * not measured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductFilterBenchmark {
+
+    @Param({"100000", "1000000", "3000000"})
+    public int catalogSize;
+
+    @Param({"256"})
+    public int priceBuckets;
+
+    private BitmapFilterEngine engine;
+    private ProductFilter[] compound;
+    private ProductFilter[] withoutPrice;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new BitmapFilterEngine(null, priceBuckets);
+        for (int i = 0; i < catalogSize; i++) {
+            ProductDTO product = SyntheticCatalog.DEFAULT.product(i);
+            product.setId((long) i + 1);
+            engine.index(product);
+        }
+
+        List<String> categories = SyntheticCatalog.DEFAULT.categories();
+        compound = new ProductFilter[32];
+        withoutPrice = new ProductFilter[32];
+        for (int i = 0; i < compound.length; i++) {
+            List<String> two = List.of(categories.get(i % categories.size()),
+                    categories.get((i + 3) % categories.size()));
+            compound[i] = ProductFilter.of(two, BigDecimal.valueOf(20 + i), BigDecimal.valueOf(300 + 10 * i), true);
+            withoutPrice[i] = ProductFilter.of(two, null, null, true);
+        }
+    }
+
+    @Benchmark
+    public RoaringBitmap compound() {
+        return engine.match(compound[query++ & 31]);
+    }
+
+    @Benchmark
+    public RoaringBitmap withoutPrice() {
+        return engine.match(withoutPrice[query++ & 31]);
+    }
+}
@@ -0,0 +1,105 @@
+package com.retail.product_catalog.search;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import com.retail.product_catalog.support.SyntheticCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/products/search?mode=fuzzy} matching in-process, without loading the
+ * page: two-word queries (a brand and a product noun, in either order) with one typo
+ * in each. The synthetic names only use a few dozen words, so every product is also
+ * given one of {@value #BRANDS} made-up brand names to give the vocabulary a realistic
+ * size. Sample mode, so JMH reports p99 and p99.9.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FuzzySearchBenchmark {
+
+    static final int BRANDS = 50_000;
+
+    private static final String CONSONANTS = "bcdfghjklmnprstvwz";
+    private static final String VOWELS = "aeiou";
+
+    @Param({"100000", "1000000"})
+    public int catalogSize;
+
+    private InvertedIndexSearchEngine engine;
+    private List<Set<String>> queries;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] brands = brands();
+        engine = new InvertedIndexSearchEngine(null);
+        for (int i = 0; i < catalogSize; i++) {
+            engine.onProductChanged(ProductChangedEvent.saved(product(i, brands)));
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        queries = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            List<String> words = Tokenizer.tokenize(product(random.nextInt(catalogSize), brands).getName());
+            String brand = typo(random, words.get(0));
+            String noun = typo(random, words.get(2));
+            queries.add(new LinkedHashSet<>(i % 2 == 0 ? List.of(brand, noun) : List.of(noun, brand)));
+        }
+    }
+
+    @Benchmark
+    public List<InvertedIndexSearchEngine.FuzzyHit> fuzzySearch() {
+        return engine.fuzzyMatch(queries.get(query++ & 1023));
+    }
+
+    /** Product {@code i} with a brand in front of its name: "Brand Adjective Noun i". */
+    static ProductDTO product(int i, String[] brands) {
+        ProductDTO product = SyntheticCatalog.DEFAULT.product(i);
+        product.setId((long) i + 1);
+        product.setName(brands[new SplittableRandom(~i).nextInt(brands.length)] + " " + product.getName());
+        return product;
+    }
+
+    static String[] brands() {
+        SplittableRandom random = new SplittableRandom(7);
+        Set<String> brands = new LinkedHashSet<>();
+        while (brands.size() < BRANDS) {
+            // Alternating consonants and vowels, 5 to 9 letters: pronounceable, and as
+            // sparse as a real vocabulary
+            StringBuilder brand = new StringBuilder();
+            boolean vowel = random.nextBoolean();
+            for (int letters = 5 + random.nextInt(5); letters > 0; letters--, vowel = !vowel) {
+                String pool = vowel ? VOWELS : CONSONANTS;
+                brand.append(pool.charAt(random.nextInt(pool.length())));
+            }
+            brands.add(Character.toUpperCase(brand.charAt(0)) + brand.substring(1));
+        }
+        return brands.toArray(new String[0]);
+    }
+
+    /** One deleted, inserted, replaced or swapped letter, somewhere after the first. */
+    private static String typo(SplittableRandom random, String word) {
+        StringBuilder typo = new StringBuilder(word);
+        int at = 1 + random.nextInt(word.length() - 2);
+        switch (random.nextInt(4)) {
+            case 0 -> typo.deleteCharAt(at);
+            case 1 -> typo.insert(at, 'e');
+            case 2 -> typo.setCharAt(at, 'x');
+            default -> {
+                typo.setCharAt(at, word.charAt(at + 1));
+                typo.setCharAt(at + 1, word.charAt(at));
+            }
+        }
+        return typo.toString();
+    }
+}
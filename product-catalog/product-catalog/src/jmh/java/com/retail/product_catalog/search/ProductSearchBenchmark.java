@@ -0,0 +1,56 @@
+package com.retail.product_catalog.search;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.service.ProductService;
+import com.retail.product_catalog.support.BenchmarkContext;
+import com.retail.product_catalog.support.SyntheticCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/products/search} through {@link ProductService} against an embedded
+ * database seeded with a synthetic catalog, for each {@code catalog.search.engine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductSearchBenchmark {
+
+    @Param({"1000", "10000"})
+    public int catalogSize;
+
+    @Param({"index", "jpa"})
+    public String engine;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(catalogSize, "catalog.search.engine=" + engine);
+        productService = context.getBean(ProductService.class);
+
+        // The index is built when the application becomes ready, before the seed rows exist
+        if (context.getBean(ProductSearchEngine.class) instanceof InvertedIndexSearchEngine index) {
+            index.rebuild();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductDTO> search() {
+        String term = SyntheticCatalog.searchTerm(query++ & 31);
+        return productService.searchProducts(term, 0, 20, "id");
+    }
+}
@@ -0,0 +1,56 @@
+package com.retail.product_catalog.security;
+
+import com.retail.product_catalog.auth.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and per-request verification. {@code tokenCache=false} sizes the
+ * {@link VerifiedTokenCache} to zero so every call parses and checks the signature.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtServiceBenchmark {
+
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(tokenCache ? 10_000 : 0);
+
+        jwtService = new JwtService(cache, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtService, "secretKey", "benchmark-secret-key-that-is-at-least-32-bytes");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        jwtService.init();
+
+        user = new User("shopper@catalog.com", "hashed", "Shopper", User.Role.USER);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+}
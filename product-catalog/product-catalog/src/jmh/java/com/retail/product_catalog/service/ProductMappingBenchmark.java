@@ -0,0 +1,39 @@
+package com.retail.product_catalog.service;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.support.SyntheticCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO copies done on every single-product read and write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProductMappingBenchmark {
+
+    private Product product;
+    private ProductDTO dto;
+
+    @Setup
+    public void setUp() {
+        dto = SyntheticCatalog.DEFAULT.product(42);
+        product = SyntheticCatalog.toEntity(dto);
+    }
+
+    @Benchmark
+    public ProductDTO mapToDTO() {
+        return ProductService.mapToDTO(product);
+    }
+
+    @Benchmark
+    public Product mapToEntity() {
+        return ProductService.mapToEntity(dto);
+    }
+}
@@ -0,0 +1,68 @@
+package com.retail.product_catalog.service;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.support.BenchmarkContext;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A listing page read as managed entities and mapped afterwards, against the
+ * constructor-expression projection {@code ProductService} uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductPageReadBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private TransactionTemplate readOnly;
+    private int page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(CATALOG_SIZE);
+        productRepository = context.getBean(ProductRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductDTO> entities() {
+        Pageable pageable = nextPage();
+        return readOnly.execute(status -> productRepository.findAll(pageable).map(ProductService::mapToDTO));
+    }
+
+    @Benchmark
+    public Page<ProductDTO> projection() {
+        Pageable pageable = nextPage();
+        return readOnly.execute(status -> productRepository.findAllProjected(pageable));
+    }
+
+    private Pageable nextPage() {
+        page = (page + 1) % (CATALOG_SIZE / pageSize);
+        return PageRequest.of(page, pageSize, Sort.by("id"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.retail.product_catalog.suggest;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.Suggestion;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import com.retail.product_catalog.service.ProductViewedEvent;
+import com.retail.product_catalog.support.SyntheticCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/products/suggest} in-process: completing keystroke prefixes (one to
+ * a whole word and a digit) of synthetic product names, after a skewed run of views
+ * has given the catalog a ranking. Sample mode, so JMH reports p99 and p99.9.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SuggestBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int catalogSize;
+
+    private SuggestIndex index;
+    private String[] prefixes;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new SuggestIndex(null, 10, Duration.ofHours(1));
+        for (int i = 0; i < catalogSize; i++) {
+            ProductDTO product = SyntheticCatalog.DEFAULT.product(i);
+            product.setId((long) i + 1);
+            index.onProductChanged(ProductChangedEvent.saved(product));
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < catalogSize; i++) {
+            // Views concentrate on the low ids, roughly like real traffic
+            long id = 1 + (long) (catalogSize * Math.pow(random.nextDouble(), 4));
+            index.onProductViewed(new ProductViewedEvent(id));
+        }
+        index.applyViews();
+
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String[] words = SuggestKeys.key(SyntheticCatalog.DEFAULT.product(random.nextInt(catalogSize)).getName())
+                    .split(" ");
+            String suffix = String.join(" ", Arrays.copyOfRange(words, random.nextInt(words.length), words.length));
+            prefixes[i] = suffix.substring(0, 1 + random.nextInt(Math.min(suffix.length(), 12)));
+        }
+    }
+
+    @Benchmark
+    public List<Suggestion> suggest() {
+        return index.suggest(prefixes[query++ & 1023], 8);
+    }
+}
@@ -0,0 +1,32 @@
+package com.retail.product_catalog.support;
+
+import com.retail.product_catalog.ProductCatalogApplication;
+import com.retail.product_catalog.repository.ProductRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application without a web server against its own in-memory database
+ * (the test {@code application.properties}) and seeds a synthetic catalog.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {}
+
+    public static ConfigurableApplicationContext start(int catalogSize, String... properties) {
+        SpringApplication application = new SpringApplication(ProductCatalogApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setLogStartupInfo(false);
+
+        String[] args = new String[properties.length + 1];
+        args[0] = "--logging.level.root=WARN";
+        for (int i = 0; i < properties.length; i++) {
+            args[i + 1] = "--" + properties[i];
+        }
+
+        ConfigurableApplicationContext context = application.run(args);
+        SyntheticCatalog.DEFAULT.seed(context.getBean(ProductRepository.class), catalogSize);
+        return context;
+    }
+}
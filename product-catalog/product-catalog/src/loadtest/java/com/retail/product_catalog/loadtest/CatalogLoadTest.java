@@ -0,0 +1,227 @@
+package com.retail.product_catalog.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.product_catalog.ProductCatalogApplication;
+import com.retail.product_catalog.support.SyntheticCatalog;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * End-to-end load test: boots the application on a random port against an embedded
+ * H2 database in MySQL mode, seeds a synthetic catalog, then replays a mixed
+ * workload over HTTP from a fixed number of closed-loop clients and reports
+ * throughput, latency percentiles and error rates per endpoint.
+ *
+ * <p>With {@code --target=http://host:port} nothing is booted or seeded and the
+ * workload runs against that deployment, which must hold products with ids
+ * {@code 1..catalog-size} and the admin account.
+ *
+ * <p>Run through the {@code loadtest} Maven profile; see the README for options.
+ */
+public final class CatalogLoadTest {
+
+    private CatalogLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        SyntheticCatalog catalog = new SyntheticCatalog(options.categories(), options.categorySkew());
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        ConfigurableApplicationContext context = null;
+        URI baseUri;
+        if (options.target() == null) {
+            context = boot(options);
+            CatalogSeeder.seed(context, catalog, options.catalogSize(),
+                    options.adminEmail(), options.adminPassword());
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUri = URI.create("http://localhost:" + port);
+        } else {
+            baseUri = URI.create(options.target());
+        }
+
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            String loginBody = objectMapper.writeValueAsString(
+                    Map.of("email", options.adminEmail(), "password", options.adminPassword()));
+            String adminToken = login(client, baseUri, loginBody, objectMapper);
+
+            Workload workload = new Workload(baseUri, catalog, options.catalogSize(), options.mix(),
+                    adminToken, loginBody, objectMapper);
+
+            System.out.printf("Running %s: %d clients, %s warm-up, %s measured%n",
+                    options.mix(), options.concurrency(), options.warmup(), options.duration());
+            Map<Operation, EndpointStats> stats = run(client, workload, options);
+
+            report(stats, options, objectMapper);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    // ===================== SETUP =====================
+
+    private static ConfigurableApplicationContext boot(LoadTestOptions options) {
+        String url = options.database().equals("file")
+                ? "jdbc:h2:file:./target/loadtest-db;MODE=MySQL;DATABASE_TO_LOWER=TRUE"
+                : "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--logging.level.root=WARN"));
+        if (options.profiles() != null) {
+            args.add("--spring.profiles.active=" + options.profiles());
+        }
+        args.addAll(options.applicationArgs());
+
+        SpringApplication application = new SpringApplication(ProductCatalogApplication.class);
+        application.setLogStartupInfo(false);
+        return application.run(args.toArray(new String[0]));
+    }
+
+    private static String login(HttpClient client, URI baseUri, String loginBody,
+                                ObjectMapper objectMapper) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Admin login failed with HTTP " + response.statusCode());
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("token").asText();
+    }
+
+    // ===================== RUN =====================
+
+    private static Map<Operation, EndpointStats> run(HttpClient client, Workload workload,
+                                                     LoadTestOptions options) throws Exception {
+        long measureFrom = System.nanoTime() + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(options.concurrency());
+        try {
+            List<Future<Map<Operation, EndpointStats>>> results = new ArrayList<>();
+            for (int i = 0; i < options.concurrency(); i++) {
+                long seed = i;
+                results.add(clients.submit(() -> runClient(client, workload, new SplittableRandom(seed),
+                        measureFrom, end)));
+            }
+
+            Map<Operation, EndpointStats> merged = new EnumMap<>(Operation.class);
+            for (Future<Map<Operation, EndpointStats>> result : results) {
+                result.get().forEach((operation, stats) ->
+                        merged.computeIfAbsent(operation, o -> new EndpointStats()).merge(stats));
+            }
+            return merged;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static Map<Operation, EndpointStats> runClient(HttpClient client, Workload workload,
+                                                           SplittableRandom random,
+                                                           long measureFrom, long end) throws InterruptedException {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        while (System.nanoTime() < end) {
+            Workload.Call call = workload.next(random);
+
+            long started = System.nanoTime();
+            boolean failed;
+            try {
+                HttpResponse<Void> response = client.send(call.request(), HttpResponse.BodyHandlers.discarding());
+                failed = response.statusCode() >= 400;
+            } catch (IOException ex) {
+                failed = true;
+            }
+            long elapsed = System.nanoTime() - started;
+
+            if (started >= measureFrom) {
+                stats.computeIfAbsent(call.operation(), o -> new EndpointStats()).record(elapsed, failed);
+            }
+        }
+        return stats;
+    }
+
+    // ===================== REPORT =====================
+
+    private static void report(Map<Operation, EndpointStats> stats, LoadTestOptions options,
+                               ObjectMapper objectMapper) throws Exception {
+        double seconds = options.duration().toNanos() / 1e9;
+
+        List<EndpointStats.Summary> summaries = new ArrayList<>();
+        EndpointStats all = new EndpointStats();
+        stats.forEach((operation, endpointStats) -> {
+            summaries.add(endpointStats.summarize(operation.getEndpoint(), seconds));
+            all.merge(endpointStats);
+        });
+        EndpointStats.Summary total = all.summarize("ALL", seconds);
+
+        System.out.printf("%n%-40s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (EndpointStats.Summary summary : summaries) {
+            print(summary);
+        }
+        print(total);
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("catalogSize", options.catalogSize());
+        settings.put("categories", options.categories());
+        settings.put("categorySkew", options.categorySkew());
+        settings.put("concurrency", options.concurrency());
+        settings.put("warmup", options.warmup().toString());
+        settings.put("duration", options.duration().toString());
+        settings.put("mix", options.mix());
+        settings.put("database", options.target() == null ? options.database() : null);
+        settings.put("profiles", options.profiles());
+        settings.put("target", options.target());
+        settings.put("applicationArgs", options.applicationArgs());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("options", settings);
+        report.put("endpoints", summaries);
+        report.put("total", total);
+
+        Files.createDirectories(options.report().toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(options.report().toFile(), report);
+        System.out.printf("%nReport written to %s%n", options.report().toAbsolutePath());
+    }
+
+    private static void print(EndpointStats.Summary summary) {
+        System.out.printf("%-40s %10d %7.2f%% %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                summary.endpoint(), summary.requests(), summary.errorRate() * 100, summary.throughput(),
+                summary.p50Millis(), summary.p90Millis(), summary.p99Millis(), summary.p999Millis(),
+                summary.maxMillis());
+    }
+}
@@ -0,0 +1,82 @@
+package com.retail.product_catalog.loadtest;
+
+import com.retail.product_catalog.auth.User;
+import com.retail.product_catalog.auth.UserRepository;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.search.InvertedIndexSearchEngine;
+import com.retail.product_catalog.support.SyntheticCatalog;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Loads a synthetic catalog into the embedded database with plain JDBC batches
+ * (JPA would hold every row in the persistence context), then lines up what the
+ * application derives from the table: the id sequence and the search index.
+ */
+final class CatalogSeeder {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_EVERY = 50_000;
+    private static final int PROGRESS_EVERY = 1_000_000;
+
+    private static final String INSERT = "INSERT INTO products "
+            + "(id, name, description, price, category, stock_quantity, image_url, version, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, CURRENT_TIMESTAMP)";
+
+    private CatalogSeeder() {}
+
+    static void seed(ApplicationContext context, SyntheticCatalog catalog, int catalogSize,
+                     String adminEmail, String adminPassword) throws SQLException {
+        long started = System.currentTimeMillis();
+
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                for (int i = 0; i < catalogSize; i++) {
+                    ProductDTO product = catalog.product(i);
+                    insert.setLong(1, i + 1L);
+                    insert.setString(2, product.getName());
+                    insert.setString(3, product.getDescription());
+                    insert.setBigDecimal(4, product.getPrice());
+                    insert.setString(5, product.getCategory());
+                    insert.setInt(6, product.getStockQuantity());
+                    insert.setString(7, product.getImageUrl());
+                    insert.addBatch();
+
+                    int written = i + 1;
+                    if (written % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                    if (written % COMMIT_EVERY == 0) {
+                        connection.commit();
+                    }
+                    if (written % PROGRESS_EVERY == 0) {
+                        System.out.printf("  seeded %,d products%n", written);
+                    }
+                }
+                insert.executeBatch();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER SEQUENCE product_seq RESTART WITH " + (catalogSize + 1L));
+            }
+            connection.commit();
+        }
+
+        UserRepository users = context.getBean(UserRepository.class);
+        if (users.findByEmail(adminEmail).isEmpty()) {
+            PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+            users.save(new User(adminEmail, passwordEncoder.encode(adminPassword), "Load Test Admin", User.Role.ADMIN));
+        }
+
+        // The index was built when the application became ready, before these rows existed
+        context.getBeanProvider(InvertedIndexSearchEngine.class).ifAvailable(InvertedIndexSearchEngine::rebuild);
+
+        System.out.printf("Seeded %,d products in %,d ms%n", catalogSize, System.currentTimeMillis() - started);
+    }
+}
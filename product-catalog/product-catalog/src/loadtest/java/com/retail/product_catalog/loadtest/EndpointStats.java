@@ -0,0 +1,62 @@
+package com.retail.product_catalog.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and failures of one operation. Each worker thread records into its own
+ * instance; they are merged once the run is over.
+ */
+class EndpointStats {
+
+    private int[] latenciesMicros = new int[1024];
+    private int count;
+    private long errors;
+
+    void record(long nanos, boolean failed) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = (int) Math.min(Integer.MAX_VALUE, nanos / 1000);
+        if (failed) {
+            errors++;
+        }
+    }
+
+    void merge(EndpointStats other) {
+        if (count + other.count > latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count + other.count);
+        }
+        System.arraycopy(other.latenciesMicros, 0, latenciesMicros, count, other.count);
+        count += other.count;
+        errors += other.errors;
+    }
+
+    record Summary(String endpoint, long requests, long errors, double errorRate, double throughput,
+                   double p50Millis, double p90Millis, double p99Millis, double p999Millis, double maxMillis) {}
+
+    Summary summarize(String endpoint, double seconds) {
+        int[] sorted = Arrays.copyOf(latenciesMicros, count);
+        Arrays.sort(sorted);
+        return new Summary(
+                endpoint,
+                count,
+                errors,
+                count == 0 ? 0 : (double) errors / count,
+                count / seconds,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.90),
+                percentile(sorted, 0.99),
+                percentile(sorted, 0.999),
+                count == 0 ? 0 : sorted[count - 1] / 1000.0
+        );
+    }
+
+    // Nearest-rank percentile, in milliseconds
+    private static double percentile(int[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1000.0;
+    }
+}
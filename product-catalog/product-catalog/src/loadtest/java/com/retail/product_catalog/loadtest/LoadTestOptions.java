@@ -0,0 +1,91 @@
+package com.retail.product_catalog.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code --key=value} options of {@link CatalogLoadTest}. Anything not listed here is
+ * handed to the application it boots, e.g. {@code --catalog.search.engine=jpa}.
+ */
+record LoadTestOptions(
+        int catalogSize,
+        int categories,
+        double categorySkew,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        String database,
+        String profiles,
+        String target,
+        String adminEmail,
+        String adminPassword,
+        Path report,
+        List<String> applicationArgs) {
+
+    static final String DEFAULT_MIX = "browse:35,view:25,search:15,category:15,write:5,login:5";
+
+    private static final List<String> KEYS = List.of(
+            "catalog-size", "categories", "category-skew", "concurrency", "warmup", "duration", "mix",
+            "database", "profiles", "target", "admin-email", "admin-password", "report");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String key = arg.startsWith("--") && equals > 2 ? arg.substring(2, equals) : null;
+            if (key != null && KEYS.contains(key)) {
+                options.put(key, arg.substring(equals + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        String database = options.getOrDefault("database", "mem");
+        if (!database.equals("mem") && !database.equals("file")) {
+            throw new IllegalArgumentException("--database must be mem or file");
+        }
+
+        return new LoadTestOptions(
+                Integer.parseInt(options.getOrDefault("catalog-size", "10000")),
+                Integer.parseInt(options.getOrDefault("categories", "20")),
+                Double.parseDouble(options.getOrDefault("category-skew", "1.0")),
+                Integer.parseInt(options.getOrDefault("concurrency", "32")),
+                DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(options.getOrDefault("duration", "30s")),
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                database,
+                options.get("profiles"),
+                options.get("target"),
+                options.getOrDefault("admin-email", "admin@catalog.com"),
+                options.getOrDefault("admin-password", "password"),
+                Path.of(options.getOrDefault("report", "target/loadtest-report.json")),
+                List.copyOf(applicationArgs));
+    }
+
+    /** {@code browse:35,view:25,...}; operations left out are not run. */
+    private static Map<Operation, Integer> parseMix(String raw) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : raw.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid --mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromName(pair[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix selects no operation");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,33 @@
+package com.retail.product_catalog.loadtest;
+
+/**
+ * The request types a load test mixes, each reported as its own endpoint.
+ */
+enum Operation {
+
+    BROWSE("browse", "GET /api/products"),
+    VIEW("view", "GET /api/products/{id}"),
+    SEARCH("search", "GET /api/products/search"),
+    CATEGORY("category", "GET /api/products/category/{category}"),
+    WRITE("write", "PUT /api/products/{id}"),
+    LOGIN("login", "POST /api/auth/login");
+
+    private final String optionName;
+    private final String endpoint;
+
+    Operation(String optionName, String endpoint) {
+        this.optionName = optionName;
+        this.endpoint = endpoint;
+    }
+
+    String getEndpoint() { return endpoint; }
+
+    static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.optionName.equals(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in --mix: " + name);
+    }
+}
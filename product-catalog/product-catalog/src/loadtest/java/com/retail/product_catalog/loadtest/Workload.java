@@ -0,0 +1,123 @@
+package com.retail.product_catalog.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.support.SyntheticCatalog;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Turns the configured mix into concrete requests. Browsing favours the first pages
+ * (exponentially, mean page 5), category filters follow the catalog's own category
+ * skew, product ids are uniform over the catalog.
+ */
+class Workload {
+
+    static final int PAGE_SIZE = 20;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final SyntheticCatalog catalog;
+    private final int catalogSize;
+    private final String adminToken;
+    private final String loginBody;
+    private final ObjectMapper objectMapper;
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Workload(URI baseUri, SyntheticCatalog catalog, int catalogSize, Map<Operation, Integer> mix,
+             String adminToken, String loginBody, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.catalog = catalog;
+        this.catalogSize = catalogSize;
+        this.adminToken = adminToken;
+        this.loginBody = loginBody;
+        this.objectMapper = objectMapper;
+
+        operations = mix.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    record Call(Operation operation, HttpRequest request) {}
+
+    Call next(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (pick >= cumulativeWeights[i]) {
+            i++;
+        }
+        Operation operation = operations[i];
+        return new Call(operation, request(operation, random));
+    }
+
+    private HttpRequest request(Operation operation, SplittableRandom random) {
+        return switch (operation) {
+            case BROWSE -> get("/api/products?page=" + browsePage(random) + "&size=" + PAGE_SIZE);
+            case VIEW -> get("/api/products/" + productId(random));
+            case SEARCH -> get("/api/products/search?size=" + PAGE_SIZE
+                    + "&keyword=" + encode(SyntheticCatalog.searchTerm(random.nextInt(32))));
+            case CATEGORY -> get("/api/products/category/" + encode(catalog.category(random))
+                    + "?size=" + PAGE_SIZE);
+            case WRITE -> write(random);
+            case LOGIN -> HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                    .build();
+        };
+    }
+
+    private HttpRequest write(SplittableRandom random) {
+        long id = productId(random);
+        ProductDTO update = catalog.product((int) id - 1);
+        update.setPrice(BigDecimal.valueOf(random.nextInt(100, 100_000), 2));
+        update.setStockQuantity(random.nextInt(0, 500));
+
+        try {
+            return HttpRequest.newBuilder(baseUri.resolve("/api/products/" + id))
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(update)))
+                    .build();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private int browsePage(SplittableRandom random) {
+        int pages = Math.max(1, (catalogSize + PAGE_SIZE - 1) / PAGE_SIZE);
+        int page = (int) (-Math.log(1 - random.nextDouble()) * 5);
+        return Math.min(page, pages - 1);
+    }
+
+    // Seeded products have ids 1..catalogSize
+    private long productId(SplittableRandom random) {
+        return random.nextInt(catalogSize) + 1L;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
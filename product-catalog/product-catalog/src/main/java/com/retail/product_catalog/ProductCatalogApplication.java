@@ -2,8 +2,16 @@ package com.retail.product_catalog;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC is only used by the reactive read stack, which configures its own pool
+// (see reactive.ReactiveConfig); the auto-configured one would also start, and
+// claim the transaction manager slot, in servlet deployments.
+@SpringBootApplication(exclude = {
+		R2dbcAutoConfiguration.class,
+		R2dbcTransactionManagerAutoConfiguration.class
+})
 public class ProductCatalogApplication {
 
 	public static void main(String[] args) {
@@ -3,11 +3,13 @@ package com.retail.product_catalog.auth;
 import com.retail.product_catalog.dto.AuthResponse;
 import com.retail.product_catalog.dto.LoginRequest;
 import com.retail.product_catalog.dto.RegisterRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:4200")
 
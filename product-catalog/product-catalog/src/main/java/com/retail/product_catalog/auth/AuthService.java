@@ -4,12 +4,17 @@ import com.retail.product_catalog.dto.AuthResponse;
 import com.retail.product_catalog.dto.LoginRequest;
 import com.retail.product_catalog.dto.RegisterRequest;
 import com.retail.product_catalog.security.JwtService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+// Login time is mostly BCrypt; failed logins show up with their exception tag
 @Service
+@Timed("catalog.auth")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthService {
 
     private final UserRepository userRepository;
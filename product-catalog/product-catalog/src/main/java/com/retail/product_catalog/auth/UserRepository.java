@@ -1,8 +1,19 @@
 package com.retail.product_catalog.auth;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * The per-request lookup behind authentication, read-only so it can be served by a
+     * replica. Registration and login keep using {@link #findByEmail} on the primary.
+     */
+    @Transactional(readOnly = true)
+    default Optional<User> findPrincipalByEmail(String email) {
+        return findByEmail(email);
+    }
+}
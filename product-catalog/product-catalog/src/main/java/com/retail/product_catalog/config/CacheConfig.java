@@ -0,0 +1,105 @@
+package com.retail.product_catalog.config;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheEventListenerConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.event.EventType;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate second-level cache backed by JCache (Ehcache 3).
+ *
+ * <p>Regions are created here rather than in an XML file so that their size and
+ * time-to-live can be set with ordinary Spring properties:
+ * <pre>
+ * catalog.cache.product.max-entries / catalog.cache.product.ttl
+ * catalog.cache.category-pages.max-entries / catalog.cache.category-pages.ttl
+ * </pre>
+ * When a region is full Ehcache evicts entries on its own (sampled LRU).
+ */
+@Configuration
+public class CacheConfig {
+
+    private final Map<String, RegionEventCounter> eventCounters = new LinkedHashMap<>();
+
+    @Value("${catalog.cache.product.max-entries:10000}")
+    private long productMaxEntries;
+
+    @Value("${catalog.cache.product.ttl:10m}")
+    private Duration productTtl;
+
+    @Value("${catalog.cache.category-pages.max-entries:2000}")
+    private long categoryPagesMaxEntries;
+
+    @Value("${catalog.cache.category-pages.ttl:5m}")
+    private Duration categoryPagesTtl;
+
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(CacheRegions.PRODUCT,
+                        region(CacheRegions.PRODUCT, productMaxEntries, productTtl))
+                .withCache(CacheRegions.PRODUCT_CATEGORY_PAGES,
+                        region(CacheRegions.PRODUCT_CATEGORY_PAGES, categoryPagesMaxEntries, categoryPagesTtl))
+                .withCache(CacheRegions.QUERY_RESULTS,
+                        region(CacheRegions.QUERY_RESULTS, categoryPagesMaxEntries, categoryPagesTtl))
+                // Update timestamps must outlive every cached query result, so no TTL here.
+                .withCache(CacheRegions.UPDATE_TIMESTAMPS,
+                        region(CacheRegions.UPDATE_TIMESTAMPS, 1000, null));
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider)
+                Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+
+        // A URI per application context, so several contexts in one JVM (tests) don't share regions.
+        URI uri = URI.create("urn:product-catalog:hibernate-cache:" + System.identityHashCode(this));
+        return provider.getCacheManager(uri, configuration.build());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            properties.put("hibernate.generate_statistics", true);
+        };
+    }
+
+    /** Eviction and expiration counters, keyed by region name. */
+    public Map<String, RegionEventCounter> getEventCounters() {
+        return eventCounters;
+    }
+
+    private CacheConfiguration<Object, Object> region(String region, long maxEntries, Duration ttl) {
+        RegionEventCounter counter = new RegionEventCounter();
+        eventCounters.put(region, counter);
+
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withService(CacheEventListenerConfigurationBuilder
+                        .newEventListenerConfiguration(counter, EventType.EVICTED, EventType.EXPIRED)
+                        .unordered()
+                        .asynchronous());
+        if (ttl != null) {
+            builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.retail.product_catalog.config;
+
+/**
+ * Names of the Hibernate second-level cache regions, shared by the entity and
+ * repository annotations and by {@link CacheConfig}.
+ */
+public final class CacheRegions {
+
+    public static final String PRODUCT = "product";
+    public static final String PRODUCT_CATEGORY_PAGES = "product-category-pages";
+
+    // Hibernate's own regions for the query cache
+    public static final String QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private CacheRegions() {}
+}
@@ -0,0 +1,64 @@
+package com.retail.product_catalog.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Micrometer setup on top of what Spring Boot binds on its own (HTTP requests by
+ * endpoint, Spring Data repository calls, Hikari pool, Hibernate statistics).
+ *
+ * <p>Timers under the prefixes in {@code catalog.metrics.histogram-prefixes} publish
+ * percentile histograms, so p99 can be aggregated across instances at scrape time.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Value("${catalog.metrics.histogram-prefixes:http.server.requests,spring.data.repository.invocations,catalog.}")
+    private List<String> histogramPrefixes;
+
+    /** Makes {@code @Timed} work on Spring beans (ProductService, AuthService). */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterFilter percentileHistogramFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER
+                        || histogramPrefixes.stream().noneMatch(id.getName()::startsWith)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    /** Evictions and expirations per second-level cache region; Hibernate's metrics have the hits and misses. */
+    @Bean
+    public MeterBinder cacheRegionEventMetrics(CacheConfig cacheConfig) {
+        return registry -> cacheConfig.getEventCounters().forEach((region, counter) -> {
+            FunctionCounter.builder("catalog.cache.evictions", counter, RegionEventCounter::getEvictions)
+                    .tag("region", region)
+                    .register(registry);
+            FunctionCounter.builder("catalog.cache.expirations", counter, RegionEventCounter::getExpirations)
+                    .tag("region", region)
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.retail.product_catalog.config;
+
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts capacity evictions and TTL expirations for one cache region.
+ * Hibernate's region statistics only cover hits, misses and puts.
+ */
+public class RegionEventCounter implements CacheEventListener<Object, Object> {
+
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    @Override
+    public void onEvent(CacheEvent<?, ?> event) {
+        switch (event.getType()) {
+            case EVICTED -> evictions.increment();
+            case EXPIRED -> expirations.increment();
+            default -> { }
+        }
+    }
+
+    public long getEvictions() { return evictions.sum(); }
+    public long getExpirations() { return expirations.sum(); }
+}
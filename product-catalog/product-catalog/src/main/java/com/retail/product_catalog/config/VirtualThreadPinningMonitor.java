@@ -0,0 +1,83 @@
+package com.retail.product_catalog.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pinning diagnostics for the {@code virtual-threads} profile. A virtual thread that
+ * blocks inside {@code synchronized} (or a native frame) holds on to its carrier
+ * thread, and enough of those starve the scheduler. JFR reports each such block as
+ * {@code jdk.VirtualThreadPinned}; this streams the events in-process and logs the
+ * stack of every pinning longer than {@code catalog.virtual-threads.pinning-threshold}.
+ */
+@Component
+@Profile("virtual-threads")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final LongAdder pinnedCount = new LongAdder();
+    private RecordingStream stream;
+
+    @Value("${catalog.virtual-threads.pinning-threshold:20ms}")
+    private Duration threshold;
+
+    @PostConstruct
+    void start() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            log.warn("The virtual-threads profile is active but the JVM is Java {}; requests run on platform threads",
+                    feature);
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("Reporting virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedCount.increment();
+
+        StringBuilder frames = new StringBuilder();
+        if (event.getStackTrace() != null) {
+            int shown = 0;
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                if (shown++ == LOGGED_FRAMES) {
+                    frames.append("\n\t...");
+                    break;
+                }
+                frames.append("\n\tat ").append(frame.getMethod().getType().getName())
+                        .append('.').append(frame.getMethod().getName())
+                        .append(':').append(frame.getLineNumber());
+            }
+        }
+        log.warn("Virtual thread pinned its carrier for {} ms{}", event.getDuration().toMillis(), frames);
+    }
+}
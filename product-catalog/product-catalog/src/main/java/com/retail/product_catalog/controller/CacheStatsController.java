@@ -0,0 +1,27 @@
+package com.retail.product_catalog.controller;
+
+import com.retail.product_catalog.dto.CacheRegionStats;
+import com.retail.product_catalog.service.CacheStatisticsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/cache")
+@CrossOrigin(origins = "http://localhost:4200")
+public class CacheStatsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public CacheStatsController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStats>> getRegionStats() {
+        return ResponseEntity.ok(cacheStatisticsService.getRegionStats());
+    }
+}
@@ -0,0 +1,37 @@
+package com.retail.product_catalog.controller;
+
+import com.retail.product_catalog.dto.ChangeFeedPage;
+import com.retail.product_catalog.feed.ProductChangeFeed;
+import com.retail.product_catalog.query.QueryBudget;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Inserts, updates and deletes since a client's last sync, so downstream copies of the
+ * catalog (search cluster, mobile apps) apply deltas instead of crawling it again.
+ * Without {@code since} the feed starts from the beginning: the first sync pages
+ * through the whole catalog and every later poll continues from {@code next}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/products/changes")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ChangeFeedController {
+
+    private final ProductChangeFeed changeFeed;
+
+    public ChangeFeedController(ProductChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    // One range read each for products and tombstones
+    @GetMapping
+    @QueryBudget(2)
+    public ResponseEntity<ChangeFeedPage> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int size) {
+
+        return ResponseEntity.ok(changeFeed.changesSince(since, size));
+    }
+}
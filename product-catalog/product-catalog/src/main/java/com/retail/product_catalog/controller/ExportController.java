@@ -0,0 +1,49 @@
+package com.retail.product_catalog.controller;
+
+import com.retail.product_catalog.feed.CatalogExportService;
+import com.retail.product_catalog.feed.FeedFormat;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Full catalog export for downstream feeds, streamed from one database cursor
+ * instead of paging through {@code GET /api/products}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/products/export")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ExportController {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final CatalogExportService catalogExportService;
+
+    public ExportController(CatalogExportService catalogExportService) {
+        this.catalogExportService = catalogExportService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        FeedFormat feedFormat = FeedFormat.fromParameter(format);
+        String fileName = "products." + feedFormat.getExtension() + (gzip ? ".gz" : "");
+
+        HttpHeaders headers = new HttpHeaders();
+        // A .gz file to download, not a transfer encoding clients would transparently undo
+        headers.setContentType(gzip ? GZIP
+                : MediaType.parseMediaType(feedFormat.getMediaType() + ";charset=UTF-8"));
+        headers.setContentDisposition(ContentDisposition.attachment().filename(fileName).build());
+
+        StreamingResponseBody body = out -> catalogExportService.export(out, feedFormat, category, gzip);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+}
@@ -0,0 +1,48 @@
+package com.retail.product_catalog.controller;
+
+import com.retail.product_catalog.dto.ImportStatus;
+import com.retail.product_catalog.feed.CatalogImportService;
+import com.retail.product_catalog.feed.FeedFormat;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Catalog feed imports. The request body is streamed straight into the import
+ * pipeline; poll {@code GET /api/admin/imports/{id}} from another client to follow
+ * a running import.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/imports")
+@CrossOrigin(origins = "http://localhost:4200")
+public class ImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    public ImportController(CatalogImportService catalogImportService) {
+        this.catalogImportService = catalogImportService;
+    }
+
+    @PostMapping(consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportStatus> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        FeedFormat format = FeedFormat.fromContentType(contentType);
+        return ResponseEntity.ok(catalogImportService.importProducts(body, format, "upload"));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ImportStatus>> getRecentImports() {
+        return ResponseEntity.ok(catalogImportService.getRecentStatuses());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportStatus> getImport(@PathVariable String id) {
+        return ResponseEntity.ok(catalogImportService.getStatus(id));
+    }
+}
@@ -0,0 +1,39 @@
+package com.retail.product_catalog.controller;
+
+import com.retail.product_catalog.live.ProductUpdateBroadcaster;
+import com.retail.product_catalog.query.QueryBudget;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Server-sent events with the new price and stock of products as they change, so the
+ * product list can update in place instead of re-fetching pages. Subscribe by product
+ * ({@code id}, repeatable) and/or by category ({@code category}, repeatable).
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/products/live")
+@CrossOrigin(origins = "http://localhost:4200")
+public class LiveUpdateController {
+
+    private final ProductUpdateBroadcaster broadcaster;
+
+    public LiveUpdateController(ProductUpdateBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    // Events: "product" with a ProductPriceStock, and "resync" before the server
+    // disconnects a client that fell too far behind (reload the page, then resubscribe)
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @QueryBudget(0)
+    public SseEmitter subscribe(
+            @RequestParam(name = "id", required = false) List<Long> ids,
+            @RequestParam(name = "category", required = false) List<String> categories) {
+
+        return broadcaster.subscribe(ids, categories);
+    }
+}
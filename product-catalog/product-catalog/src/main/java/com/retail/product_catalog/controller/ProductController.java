@@ -1,91 +1,242 @@
 package com.retail.product_catalog.controller;
 
+import com.retail.product_catalog.dto.BulkResponse;
+import com.retail.product_catalog.dto.CursorPage;
+import com.retail.product_catalog.dto.FacetCounts;
 import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.ScoredProductDTO;
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.filter.ProductFilter;
+import com.retail.product_catalog.query.QueryBudget;
+import com.retail.product_catalog.search.FullTextMode;
+import com.retail.product_catalog.service.ProductBulkService;
 import com.retail.product_catalog.service.ProductService;
 import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.util.List;
+
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/products")
 @CrossOrigin(origins = "http://localhost:4200")
 public class ProductController {
 
+    private static final String FUZZY_MODE = "fuzzy";
+
     private final ProductService productService;
+    private final ProductBulkService productBulkService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductBulkService productBulkService) {
         this.productService = productService;
+        this.productBulkService = productBulkService;
     }
 
+    // @QueryBudget: most SQL statements per request with a cold cache (page + count,
+    // or one slice for cursors); ProductQueryCountTest pins the exact numbers.
+
     // ===================== GET ALL (PAGINATED) =====================
 
     @GetMapping
+    @QueryBudget(2)
     public ResponseEntity<Page<ProductDTO>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(defaultValue = "id") String sortBy) {
 
-        return ResponseEntity.ok(
+        return ProductETags.ok(
                 productService.getAllProducts(page, size, sortBy)
         );
     }
 
+    // ===================== GET ALL (CURSOR) =====================
+
+    @GetMapping(params = "after")
+    @QueryBudget(1)
+    public ResponseEntity<CursorPage<ProductDTO>> getAllProductsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "id") String sortBy) {
+
+        return ProductETags.ok(
+                productService.getAllProductsAfter(after, size, sortBy)
+        );
+    }
+
     // ===================== GET BY ID =====================
 
     @GetMapping("/{id}")
+    @QueryBudget(1)
     public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+        return ProductETags.ok(productService.getProductById(id));
+    }
+
+    // ===================== FILTER =====================
+
+    // Any number of categories, a price range and in-stock, combined with AND. The
+    // bitmap engine answers from memory and reads only the page's rows.
+    @GetMapping("/filter")
+    @QueryBudget(2)
+    public ResponseEntity<Page<ProductDTO>> filterProducts(
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size) {
+
+        return ProductETags.ok(
+                productService.filterProducts(ProductFilter.of(category, minPrice, maxPrice, inStock), page, size)
+        );
+    }
+
+    // ===================== FACETS =====================
+
+    // Sidebar counts for the whole catalog, ?category=, ?keyword= or both. The counters
+    // engine answers from memory; a keyword costs at most the search's id query.
+    @GetMapping("/facets")
+    @QueryBudget(1)
+    public ResponseEntity<FacetCounts> getFacets(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String keyword) {
+
+        return ResponseEntity.ok(productService.getFacets(category, keyword));
     }
 
     // ===================== SEARCH =====================
 
     @GetMapping("/search")
+    @QueryBudget(2)
     public ResponseEntity<Page<ProductDTO>> searchProducts(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(defaultValue = "id") String sortBy) {
 
-        return ResponseEntity.ok(
+        return ProductETags.ok(
                 productService.searchProducts(keyword, page, size, sortBy)
         );
     }
 
+    @GetMapping(value = "/search", params = "after")
+    @QueryBudget(1)
+    public ResponseEntity<CursorPage<ProductDTO>> searchProductsAfter(
+            @RequestParam String keyword,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) String mode) {
+
+        if (mode != null) {
+            throw new BadRequestException("Relevance-ranked search is paged with page, not after");
+        }
+        return ProductETags.ok(
+                productService.searchProductsAfter(keyword, after, size, sortBy)
+        );
+    }
+
+    // ===================== SEARCH (RELEVANCE) =====================
+
+    // mode=natural|boolean: MySQL FULLTEXT over name and description, best match first,
+    // each product carrying its score. Ids and scores, count, rows.
+    // mode=fuzzy: typo-tolerant match from the in-memory search index, fewest edits first.
+    // Rows only.
+
+    @GetMapping(value = "/search", params = {"mode", "!after"})
+    @QueryBudget(3)
+    public ResponseEntity<Page<ScoredProductDTO>> searchProductsByRelevance(
+            @RequestParam String keyword,
+            @RequestParam String mode,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size) {
+
+        if (FUZZY_MODE.equalsIgnoreCase(mode.trim())) {
+            return ProductETags.ok(productService.searchProductsFuzzy(keyword, page, size));
+        }
+        return ProductETags.ok(
+                productService.searchProductsByRelevance(keyword, FullTextMode.fromParam(mode), page, size)
+        );
+    }
+
     // ===================== FILTER BY CATEGORY =====================
 
+    // Page ids, count, and the rows missing from the product cache; nothing when all are cached
     @GetMapping("/category/{category}")
+    @QueryBudget(3)
     public ResponseEntity<Page<ProductDTO>> getByCategory(
             @PathVariable String category,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
             @RequestParam(defaultValue = "id") String sortBy) {
 
-        return ResponseEntity.ok(
+        return ProductETags.ok(
                 productService.getProductsByCategory(category, page, size, sortBy)
         );
     }
 
+    @GetMapping(value = "/category/{category}", params = "after")
+    @QueryBudget(1)
+    public ResponseEntity<CursorPage<ProductDTO>> getByCategoryAfter(
+            @PathVariable String category,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "id") String sortBy) {
+
+        return ProductETags.ok(
+                productService.getProductsByCategoryAfter(category, after, size, sortBy)
+        );
+    }
+
     // ===================== CREATE =====================
 
     @PostMapping
+    @QueryBudget(2)
     public ResponseEntity<ProductDTO> createProduct(@Valid @RequestBody ProductDTO dto) {
-        return ResponseEntity.ok(productService.createProduct(dto));
+        return ProductETags.ok(productService.createProduct(dto));
+    }
+
+    // ===================== BULK CREATE / UPDATE =====================
+
+    // Items are validated one by one inside the service so that a bad item is
+    // reported in the response instead of rejecting the whole request.
+
+    @PostMapping("/bulk")
+    @QueryBudget(QueryBudget.UNLIMITED)
+    public ResponseEntity<BulkResponse> createProducts(@RequestBody List<ProductDTO> dtos) {
+        return ResponseEntity.ok(productBulkService.createProducts(dtos));
+    }
+
+    @PutMapping("/bulk")
+    @QueryBudget(QueryBudget.UNLIMITED)
+    public ResponseEntity<BulkResponse> updateProducts(@RequestBody List<ProductDTO> dtos) {
+        return ResponseEntity.ok(productBulkService.updateProducts(dtos));
     }
 
     // ===================== UPDATE =====================
 
+    // If-Match: "<version>" makes the update conditional (412 when the product has moved on)
+
     @PutMapping("/{id}")
+    @QueryBudget(2)
     public ResponseEntity<ProductDTO> updateProduct(
             @PathVariable Long id,
-            @Valid @RequestBody ProductDTO dto) {
+            @Valid @RequestBody ProductDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        return ResponseEntity.ok(productService.updateProduct(id, dto));
+        Long requiredVersion = ProductETags.requiredVersion(ifMatch);
+        return ProductETags.ok(productService.updateProduct(id, dto, requiredVersion));
     }
 
     // ===================== DELETE =====================
 
+    // Load, delete and the change feed's tombstone
     @DeleteMapping("/{id}")
+    @QueryBudget(3)
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
         productService.deleteProduct(id);
         return ResponseEntity.noContent().build();
@@ -0,0 +1,78 @@
+package com.retail.product_catalog.controller;
+
+import com.retail.product_catalog.dto.CursorPage;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.exception.PreconditionFailedException;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Validators for product responses. A product's strong ETag is its {@code @Version};
+ * a page's ETag hashes the id and version of every row plus the page metadata, so it
+ * changes whenever any row on the page does.
+ *
+ * <p>Returning these through {@link ResponseEntity} is enough for conditional GETs:
+ * Spring compares them with {@code If-None-Match} / {@code If-Modified-Since} and
+ * answers 304 without writing the body.
+ */
+final class ProductETags {
+
+    private ProductETags() {}
+
+    static ResponseEntity<ProductDTO> ok(ProductDTO product) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(of(product));
+        if (product.getUpdatedAt() != null) {
+            response.lastModified(product.getUpdatedAt());
+        }
+        return response.body(product);
+    }
+
+    // Pages carry no Last-Modified: the newest row on a page says nothing about rows
+    // deleted elsewhere, which still shift the page and its total.
+
+    static <T extends ProductDTO> ResponseEntity<Page<T>> ok(Page<T> page) {
+        String meta = page.getNumber() + "/" + page.getSize() + "/" + page.getTotalElements();
+        return ResponseEntity.ok().eTag(hash(meta, page.getContent())).body(page);
+    }
+
+    static ResponseEntity<CursorPage<ProductDTO>> ok(CursorPage<ProductDTO> page) {
+        String meta = page.getSize() + "/" + page.getNextCursor();
+        return ResponseEntity.ok().eTag(hash(meta, page.getContent())).body(page);
+    }
+
+    static String of(ProductDTO product) {
+        return "\"" + product.getVersion() + "\"";
+    }
+
+    /**
+     * The version an {@code If-Match} header requires, or {@code null} when there is no
+     * header or it is {@code *}. Anything that is not a single product ETag can never
+     * match, so it fails the precondition.
+     */
+    static Long requiredVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not name a current product version: " + ifMatch);
+    }
+
+    private static String hash(String meta, List<? extends ProductDTO> rows) {
+        StringBuilder key = new StringBuilder(meta);
+        for (ProductDTO row : rows) {
+            key.append(';').append(row.getId()).append(':').append(row.getVersion());
+        }
+        return "\"p-" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,45 @@
+package com.retail.product_catalog.controller;
+
+import com.retail.product_catalog.dto.StockRequest;
+import com.retail.product_catalog.dto.StockReservation;
+import com.retail.product_catalog.exception.InsufficientStockException;
+import com.retail.product_catalog.stock.StockLedger;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Atomic stock changes for carts and checkout, without the read-modify-write of
+ * {@code PUT /api/products/{id}}. Any signed-in user may reserve; releasing returns
+ * stock without checking it was reserved, so it is limited to ADMIN (see SecurityConfig).
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/products/{id}/stock")
+@CrossOrigin(origins = "http://localhost:4200")
+public class StockController {
+
+    private final StockLedger stockLedger;
+
+    public StockController(StockLedger stockLedger) {
+        this.stockLedger = stockLedger;
+    }
+
+    @PostMapping("/reserve")
+    public ResponseEntity<StockReservation> reserve(@PathVariable Long id,
+                                                    @Valid @RequestBody StockRequest request) {
+        if (!stockLedger.reserve(id, request.getQuantity())) {
+            throw new InsufficientStockException(
+                    "Not enough stock to reserve " + request.getQuantity() + " of product " + id);
+        }
+        return ResponseEntity.ok(new StockReservation(id, request.getQuantity(), StockReservation.Status.RESERVED));
+    }
+
+    @PostMapping("/release")
+    public ResponseEntity<StockReservation> release(@PathVariable Long id,
+                                                    @Valid @RequestBody StockRequest request) {
+        stockLedger.release(id, request.getQuantity());
+        return ResponseEntity.ok(new StockReservation(id, request.getQuantity(), StockReservation.Status.RELEASED));
+    }
+}
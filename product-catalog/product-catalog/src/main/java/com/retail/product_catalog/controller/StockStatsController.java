@@ -0,0 +1,29 @@
+package com.retail.product_catalog.controller;
+
+import com.retail.product_catalog.dto.StockStats;
+import com.retail.product_catalog.stock.StockMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/stock")
+@CrossOrigin(origins = "http://localhost:4200")
+public class StockStatsController {
+
+    private final StockMetrics stockMetrics;
+    private final String mode;
+
+    public StockStatsController(StockMetrics stockMetrics,
+                                @Value("${catalog.stock.mode:direct}") String mode) {
+        this.stockMetrics = stockMetrics;
+        this.mode = mode;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<StockStats> getStats() {
+        return ResponseEntity.ok(stockMetrics.snapshot(mode));
+    }
+}
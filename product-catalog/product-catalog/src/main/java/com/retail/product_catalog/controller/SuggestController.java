@@ -0,0 +1,34 @@
+package com.retail.product_catalog.controller;
+
+import com.retail.product_catalog.dto.Suggestion;
+import com.retail.product_catalog.query.QueryBudget;
+import com.retail.product_catalog.suggest.SuggestIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/products")
+@CrossOrigin(origins = "http://localhost:4200")
+public class SuggestController {
+
+    private final SuggestIndex suggestIndex;
+
+    public SuggestController(SuggestIndex suggestIndex) {
+        this.suggestIndex = suggestIndex;
+    }
+
+    // Typeahead for the search box: product names and categories completing the
+    // keyword typed so far, most viewed first. Answered from memory, no SQL.
+    @GetMapping("/suggest")
+    @QueryBudget(0)
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "8") int limit) {
+
+        return ResponseEntity.ok(suggestIndex.suggest(keyword, limit));
+    }
+}
@@ -0,0 +1,236 @@
+package com.retail.product_catalog.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the pool for each new connection. Read-only transactions go round-robin to the
+ * healthy replicas; everything else, including work outside a transaction, goes to the
+ * primary. A replica is taken out when its health check or a connection attempt fails
+ * and put back once a health check passes; with none left, reads go to the primary.
+ *
+ * <p>Read-your-writes: once a transaction made by an authenticated user commits on the
+ * primary, that user's reads stay on the primary for the sticky window, so an admin
+ * sees their own change even while the replicas lag. The window is kept per instance.
+ */
+public class ReplicaRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final long stickyNanos;
+    private final Duration healthCheckInterval;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final Map<String, Counter> connections = new LinkedHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRouter(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                         Duration stickyWindow, Duration healthCheckInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.stickyNanos = stickyWindow.toNanos();
+        this.healthCheckInterval = healthCheckInterval;
+
+        connections.put(PRIMARY, connectionCounter(meterRegistry, PRIMARY));
+        for (Replica replica : replicas) {
+            connections.put(replica.name(), connectionCounter(meterRegistry, replica.name()));
+            Gauge.builder("catalog.datasource.replica.up", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 while the replica is taking reads")
+                    .tag("pool", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("catalog.datasource.connections")
+                .description("Connections handed out, by pool")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!replicas.isEmpty()) {
+            healthChecker.scheduleWithFixedDelay(this::checkHealth, 0,
+                    healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    // ===================== ROUTING =====================
+
+    Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite();
+            return fromPrimary();
+        }
+        String principal = currentPrincipal();
+        if (principal != null && isSticky(principal)) {
+            return fromPrimary();
+        }
+
+        Replica replica = nextHealthy();
+        if (replica == null) {
+            return fromPrimary();
+        }
+        try {
+            Connection connection = replica.pool.getConnection();
+            connections.get(replica.name()).increment();
+            return connection;
+        } catch (SQLException ex) {
+            replica.markDown(ex);
+            return fromPrimary();
+        }
+    }
+
+    private Connection fromPrimary() throws SQLException {
+        Connection connection = primary.getConnection();
+        connections.get(PRIMARY).increment();
+        return connection;
+    }
+
+    private Replica nextHealthy() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // ===================== READ-YOUR-WRITES =====================
+
+    /**
+     * Makes the current user's reads sticky once the transaction commits. Registered
+     * once per transaction, on its first connection.
+     */
+    private void rememberWrite() {
+        String principal = currentPrincipal();
+        if (principal == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, principal);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stickyUntil.put(principal, System.nanoTime() + stickyNanos);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRouter.this);
+            }
+        });
+    }
+
+    private boolean isSticky(String principal) {
+        Long until = stickyUntil.get(principal);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(principal, until);
+        return false;
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+
+    // ===================== HEALTH =====================
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (connection.isValid((int) Math.max(1, replica.pool.getValidationTimeout() / 1000))) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException ex) {
+                replica.markDown(ex);
+            }
+        }
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    /** Each replica's pool name and whether it is taking reads. */
+    public Map<String, Boolean> replicaStatus() {
+        Map<String, Boolean> status = new LinkedHashMap<>();
+        replicas.forEach(replica -> status.put(replica.name(), replica.healthy));
+        return status;
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        String name() {
+            return pool.getPoolName();
+        }
+
+        void markUp() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Replica {} is back, taking reads again", name());
+            }
+        }
+
+        void markDown(SQLException cause) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Replica {} is down, reading from the primary until it recovers: {}", name(),
+                        cause == null ? "connection not valid" : cause.getMessage());
+            }
+        }
+    }
+}
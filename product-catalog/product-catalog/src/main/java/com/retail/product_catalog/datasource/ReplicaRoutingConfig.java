@@ -0,0 +1,109 @@
+package com.retail.product_catalog.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to replicas, on when {@code catalog.datasource.replicas}
+ * lists any:
+ * <pre>
+ * catalog.datasource.replicas                    comma-separated replica JDBC URLs
+ * catalog.datasource.replica-username/-password  default to spring.datasource.*
+ * catalog.datasource.replica-pool-size           connections per replica
+ * catalog.datasource.replica-connection-timeout  wait for a replica connection before falling back
+ * catalog.datasource.health-check-interval       how often replicas are checked
+ * catalog.datasource.sticky-window               reads kept on the primary after a user's write
+ * </pre>
+ * The pools are built here rather than exposed as beans, so the one {@link DataSource}
+ * bean is the routing one and query tracking wraps it exactly once. Each pool reports
+ * the usual {@code hikaricp.*} metrics under its own pool name.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.datasource.replicas")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRouter replicaRouter(
+            DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+            @Value("${catalog.datasource.replicas}") List<String> replicaUrls,
+            @Value("${catalog.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${catalog.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${catalog.datasource.replica-pool-size:10}") int poolSize,
+            @Value("${catalog.datasource.replica-connection-timeout:1s}") Duration connectionTimeout,
+            @Value("${catalog.datasource.health-check-interval:5s}") Duration healthCheckInterval,
+            @Value("${catalog.datasource.sticky-window:5s}") Duration stickyWindow) {
+
+        MicrometerMetricsTrackerFactory metrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("catalog-primary");
+        primary.setMetricsTrackerFactory(metrics);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("catalog-replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            // A replica that is down at startup is skipped, not fatal
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(metrics);
+            replicas.add(replica);
+        }
+
+        return new ReplicaRouter(primary, replicas, stickyWindow, healthCheckInterval, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        // Hibernate takes its connection when the transaction begins, before the
+        // read-only flag is set; the proxy holds off until the first statement
+        return new LazyConnectionDataSourceProxy(new RoutingDataSource(replicaRouter));
+    }
+
+    /**
+     * Connections are otherwise held for as long as the EntityManager is open, which
+     * with open-in-view is the whole request: a write after a read would go to the
+     * replica the read was routed to.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer routingConnectionHandlingCustomizer() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    public HealthIndicator replicasHealthIndicator(ReplicaRouter replicaRouter) {
+        // Up while any replica is down too: reads fall back to the primary
+        return () -> Health.up().withDetails(replicaRouter.replicaStatus()).build();
+    }
+}
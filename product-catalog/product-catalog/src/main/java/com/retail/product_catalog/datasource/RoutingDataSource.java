@@ -0,0 +1,31 @@
+package com.retail.product_catalog.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Hands out connections from the pool {@link ReplicaRouter} picks. Only meaningful
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * which defers the choice until the transaction's read-only flag is set.
+ */
+class RoutingDataSource extends AbstractDataSource {
+
+    private final ReplicaRouter router;
+
+    RoutingDataSource(ReplicaRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return router.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Routed connections use the pools' own credentials");
+    }
+}
@@ -0,0 +1,39 @@
+package com.retail.product_catalog.dto;
+
+import java.util.Map;
+
+public class BulkItemResult {
+
+    public enum Status {
+        CREATED, UPDATED, INVALID, NOT_FOUND, FAILED
+    }
+
+    private final int index;
+    private final Long id;
+    private final Status status;
+    private final Map<String, String> errors;
+
+    public BulkItemResult(int index, Long id, Status status, Map<String, String> errors) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.errors = errors;
+    }
+
+    public static BulkItemResult success(int index, Long id, Status status) {
+        return new BulkItemResult(index, id, status, Map.of());
+    }
+
+    public static BulkItemResult failure(int index, Long id, Status status, Map<String, String> errors) {
+        return new BulkItemResult(index, id, status, errors);
+    }
+
+    public int getIndex() { return index; }
+    public Long getId() { return id; }
+    public Status getStatus() { return status; }
+    public Map<String, String> getErrors() { return errors; }
+
+    public boolean isSuccess() {
+        return status == Status.CREATED || status == Status.UPDATED;
+    }
+}
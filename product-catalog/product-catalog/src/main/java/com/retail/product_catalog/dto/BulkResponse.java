@@ -0,0 +1,26 @@
+package com.retail.product_catalog.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk request; {@code results} has one entry per submitted item, in order.
+ */
+public class BulkResponse {
+
+    private final int total;
+    private final int succeeded;
+    private final int failed;
+    private final List<BulkItemResult> results;
+
+    public BulkResponse(List<BulkItemResult> results) {
+        this.results = results;
+        this.total = results.size();
+        this.succeeded = (int) results.stream().filter(BulkItemResult::isSuccess).count();
+        this.failed = total - succeeded;
+    }
+
+    public int getTotal() { return total; }
+    public int getSucceeded() { return succeeded; }
+    public int getFailed() { return failed; }
+    public List<BulkItemResult> getResults() { return results; }
+}
@@ -0,0 +1,31 @@
+package com.retail.product_catalog.dto;
+
+public class CacheRegionStats {
+
+    private final String region;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    private final long evictions;
+    private final long expirations;
+    private final long entriesInMemory;
+
+    public CacheRegionStats(String region, long hits, long misses, long puts,
+                            long evictions, long expirations, long entriesInMemory) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.entriesInMemory = entriesInMemory;
+    }
+
+    public String getRegion() { return region; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getPuts() { return puts; }
+    public long getEvictions() { return evictions; }
+    public long getExpirations() { return expirations; }
+    public long getEntriesInMemory() { return entriesInMemory; }
+}
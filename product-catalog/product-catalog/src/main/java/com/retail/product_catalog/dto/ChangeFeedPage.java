@@ -0,0 +1,25 @@
+package com.retail.product_catalog.dto;
+
+import java.util.List;
+
+/**
+ * One batch of the change feed, oldest change first. Pass {@code next} back as
+ * {@code since} for the changes after it; with {@code hasMore} false the client is
+ * caught up and polls again later with the same token.
+ */
+public class ChangeFeedPage {
+
+    private final List<ProductChange> changes;
+    private final boolean hasMore;
+    private final String next;
+
+    public ChangeFeedPage(List<ProductChange> changes, boolean hasMore, String next) {
+        this.changes = changes;
+        this.hasMore = hasMore;
+        this.next = next;
+    }
+
+    public List<ProductChange> getChanges() { return changes; }
+    public boolean isHasMore() { return hasMore; }
+    public String getNext() { return next; }
+}
@@ -0,0 +1,28 @@
+package com.retail.product_catalog.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. There is deliberately no total count;
+ * pass {@code nextCursor} back as {@code after} to fetch the following slice.
+ */
+public class CursorPage<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() { return content; }
+    public int getSize() { return size; }
+    public int getNumberOfElements() { return content.size(); }
+    public boolean isHasNext() { return hasNext; }
+    public String getNextCursor() { return nextCursor; }
+}
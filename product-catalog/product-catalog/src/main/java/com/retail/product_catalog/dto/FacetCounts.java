@@ -0,0 +1,25 @@
+package com.retail.product_catalog.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sidebar counts for a set of products: how many there are, how many per category
+ * (largest first) and how many per price bucket (cheapest first, empty buckets included).
+ */
+public class FacetCounts {
+
+    private final long total;
+    private final Map<String, Long> categories;
+    private final List<PriceBucketCount> priceHistogram;
+
+    public FacetCounts(long total, Map<String, Long> categories, List<PriceBucketCount> priceHistogram) {
+        this.total = total;
+        this.categories = categories;
+        this.priceHistogram = priceHistogram;
+    }
+
+    public long getTotal() { return total; }
+    public Map<String, Long> getCategories() { return categories; }
+    public List<PriceBucketCount> getPriceHistogram() { return priceHistogram; }
+}
@@ -0,0 +1,61 @@
+package com.retail.product_catalog.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a catalog import. {@code errors} holds the first rejected rows only;
+ * {@code recordsRejected} is the full count.
+ */
+public class ImportStatus {
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    public record RowError(long line, String message) {}
+
+    private final String id;
+    private final String format;
+    private final String source;
+    private final State state;
+    private final Instant startedAt;
+    private final Instant finishedAt;
+    private final long recordsRead;
+    private final long recordsWritten;
+    private final long recordsRejected;
+    private final double recordsPerSecond;
+    private final String failureMessage;
+    private final List<RowError> errors;
+
+    public ImportStatus(String id, String format, String source, State state,
+                        Instant startedAt, Instant finishedAt,
+                        long recordsRead, long recordsWritten, long recordsRejected,
+                        double recordsPerSecond, String failureMessage, List<RowError> errors) {
+        this.id = id;
+        this.format = format;
+        this.source = source;
+        this.state = state;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.recordsRead = recordsRead;
+        this.recordsWritten = recordsWritten;
+        this.recordsRejected = recordsRejected;
+        this.recordsPerSecond = recordsPerSecond;
+        this.failureMessage = failureMessage;
+        this.errors = errors;
+    }
+
+    public String getId() { return id; }
+    public String getFormat() { return format; }
+    public String getSource() { return source; }
+    public State getState() { return state; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public long getRecordsRead() { return recordsRead; }
+    public long getRecordsWritten() { return recordsWritten; }
+    public long getRecordsRejected() { return recordsRejected; }
+    public double getRecordsPerSecond() { return recordsPerSecond; }
+    public String getFailureMessage() { return failureMessage; }
+    public List<RowError> getErrors() { return errors; }
+}
@@ -0,0 +1,21 @@
+package com.retail.product_catalog.dto;
+
+import java.math.BigDecimal;
+
+/** Products priced from {@code from} (inclusive) up to {@code to} (exclusive; {@code null} for the last bucket). */
+public class PriceBucketCount {
+
+    private final BigDecimal from;
+    private final BigDecimal to;
+    private final long count;
+
+    public PriceBucketCount(BigDecimal from, BigDecimal to, long count) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+    }
+
+    public BigDecimal getFrom() { return from; }
+    public BigDecimal getTo() { return to; }
+    public long getCount() { return count; }
+}
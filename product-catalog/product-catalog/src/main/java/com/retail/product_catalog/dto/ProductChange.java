@@ -0,0 +1,38 @@
+package com.retail.product_catalog.dto;
+
+import java.time.Instant;
+
+/** One entry of the change feed: a product's current state, or that it was deleted. */
+public class ProductChange {
+
+    public enum Type {
+        SAVED, DELETED
+    }
+
+    private final Type type;
+    private final Long productId;
+    private final Instant changedAt;
+    private final ProductDTO product;
+
+    private ProductChange(Type type, Long productId, Instant changedAt, ProductDTO product) {
+        this.type = type;
+        this.productId = productId;
+        this.changedAt = changedAt;
+        this.product = product;
+    }
+
+    public static ProductChange saved(ProductDTO product) {
+        return new ProductChange(Type.SAVED, product.getId(), product.getUpdatedAt(), product);
+    }
+
+    public static ProductChange deleted(Long productId, Instant deletedAt) {
+        return new ProductChange(Type.DELETED, productId, deletedAt, null);
+    }
+
+    public Type getType() { return type; }
+    public Long getProductId() { return productId; }
+    public Instant getChangedAt() { return changedAt; }
+
+    /** Current state of the product, or {@code null} for {@link Type#DELETED}. */
+    public ProductDTO getProduct() { return product; }
+}
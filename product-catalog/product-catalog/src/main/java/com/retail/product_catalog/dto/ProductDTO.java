@@ -2,6 +2,7 @@ package com.retail.product_catalog.dto;
 
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
+import java.time.Instant;
 
 public class ProductDTO {
 
@@ -32,6 +33,12 @@ public class ProductDTO {
     @Size(max = 500, message = "Image URL cannot exceed 500 characters")
     private String imageUrl;
 
+    // Read-only: set from the entity on every response and ignored on writes.
+    // Optimistic concurrency on update goes through the If-Match header.
+    private Long version;
+
+    private Instant updatedAt;
+
     // ===================== CONSTRUCTORS =====================
 
     public ProductDTO() {}
@@ -47,6 +54,14 @@ public class ProductDTO {
         this.imageUrl = imageUrl;
     }
 
+    public ProductDTO(Long id, String name, String description, BigDecimal price,
+                      String category, Integer stockQuantity, String imageUrl,
+                      Long version, Instant updatedAt) {
+        this(id, name, description, price, category, stockQuantity, imageUrl);
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
     // ===================== GETTERS =====================
 
     public Long getId() { return id; }
@@ -56,6 +71,8 @@ public class ProductDTO {
     public String getCategory() { return category; }
     public Integer getStockQuantity() { return stockQuantity; }
     public String getImageUrl() { return imageUrl; }
+    public Long getVersion() { return version; }
+    public Instant getUpdatedAt() { return updatedAt; }
 
     // ===================== SETTERS =====================
 
@@ -66,4 +83,6 @@ public class ProductDTO {
     public void setCategory(String category) { this.category = category; }
     public void setStockQuantity(Integer stockQuantity) { this.stockQuantity = stockQuantity; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    public void setVersion(Long version) { this.version = version; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
 }
\ No newline at end of file
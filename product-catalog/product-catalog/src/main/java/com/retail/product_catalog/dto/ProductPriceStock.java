@@ -0,0 +1,32 @@
+package com.retail.product_catalog.dto;
+
+import java.math.BigDecimal;
+
+/** Pushed on {@code GET /api/products/live} when a product's price or stock changes. */
+public class ProductPriceStock {
+
+    private final Long id;
+    private final String category;
+    private final BigDecimal price;
+    private final Integer stockQuantity;
+    private final Long version;
+
+    public ProductPriceStock(Long id, String category, BigDecimal price, Integer stockQuantity, Long version) {
+        this.id = id;
+        this.category = category;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.version = version;
+    }
+
+    public static ProductPriceStock of(ProductDTO product) {
+        return new ProductPriceStock(product.getId(), product.getCategory(), product.getPrice(),
+                product.getStockQuantity(), product.getVersion());
+    }
+
+    public Long getId() { return id; }
+    public String getCategory() { return category; }
+    public BigDecimal getPrice() { return price; }
+    public Integer getStockQuantity() { return stockQuantity; }
+    public Long getVersion() { return version; }
+}
@@ -0,0 +1,24 @@
+package com.retail.product_catalog.dto;
+
+/**
+ * A product in a relevance-ranked search result, with the score it was ranked by:
+ * FULLTEXT relevance, or {@code 1 / (1 + edits)} for fuzzy search (higher is better;
+ * only comparable within one search).
+ */
+public class ScoredProductDTO extends ProductDTO {
+
+    private double score;
+
+    public ScoredProductDTO() {}
+
+    public ScoredProductDTO(ProductDTO product, double score) {
+        super(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getCategory(), product.getStockQuantity(), product.getImageUrl(),
+                product.getVersion(), product.getUpdatedAt());
+        this.score = score;
+    }
+
+    public double getScore() { return score; }
+
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,22 @@
+package com.retail.product_catalog.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class StockRequest {
+
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = 100000, message = "Quantity cannot exceed 100,000")
+    private Integer quantity;
+
+    public StockRequest() {}
+
+    public StockRequest(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+}
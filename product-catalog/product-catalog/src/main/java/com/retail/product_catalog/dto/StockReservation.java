@@ -0,0 +1,22 @@
+package com.retail.product_catalog.dto;
+
+public class StockReservation {
+
+    public enum Status {
+        RESERVED, RELEASED
+    }
+
+    private final Long productId;
+    private final int quantity;
+    private final Status status;
+
+    public StockReservation(Long productId, int quantity, Status status) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.status = status;
+    }
+
+    public Long getProductId() { return productId; }
+    public int getQuantity() { return quantity; }
+    public Status getStatus() { return status; }
+}
@@ -0,0 +1,39 @@
+package com.retail.product_catalog.dto;
+
+/**
+ * Stock reservation counters since startup. {@code rowConflicts} counts conditional
+ * updates that found too little stock; {@code rowUpdates} versus {@code reservations}
+ * shows how much traffic the sharded mode kept off the row.
+ */
+public class StockStats {
+
+    private final String mode;
+    private final long reservations;
+    private final long reservedUnits;
+    private final long releases;
+    private final long rejections;
+    private final long rowUpdates;
+    private final long rowConflicts;
+    private final double reservationsPerSecond;
+
+    public StockStats(String mode, long reservations, long reservedUnits, long releases, long rejections,
+                      long rowUpdates, long rowConflicts, double reservationsPerSecond) {
+        this.mode = mode;
+        this.reservations = reservations;
+        this.reservedUnits = reservedUnits;
+        this.releases = releases;
+        this.rejections = rejections;
+        this.rowUpdates = rowUpdates;
+        this.rowConflicts = rowConflicts;
+        this.reservationsPerSecond = reservationsPerSecond;
+    }
+
+    public String getMode() { return mode; }
+    public long getReservations() { return reservations; }
+    public long getReservedUnits() { return reservedUnits; }
+    public long getReleases() { return releases; }
+    public long getRejections() { return rejections; }
+    public long getRowUpdates() { return rowUpdates; }
+    public long getRowConflicts() { return rowConflicts; }
+    public double getReservationsPerSecond() { return reservationsPerSecond; }
+}
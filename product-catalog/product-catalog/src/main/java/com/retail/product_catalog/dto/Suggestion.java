@@ -0,0 +1,25 @@
+package com.retail.product_catalog.dto;
+
+/**
+ * One typeahead completion: a product name ({@code productId} set) or a category
+ * ({@code productId} null). {@code score} is the popularity it was ranked by.
+ */
+public class Suggestion {
+
+    private final String text;
+    private final String type;
+    private final Long productId;
+    private final long score;
+
+    public Suggestion(String text, String type, Long productId, long score) {
+        this.text = text;
+        this.type = type;
+        this.productId = productId;
+        this.score = score;
+    }
+
+    public String getText() { return text; }
+    public String getType() { return type; }
+    public Long getProductId() { return productId; }
+    public long getScore() { return score; }
+}
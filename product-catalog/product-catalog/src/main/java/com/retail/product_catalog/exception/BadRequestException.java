@@ -0,0 +1,8 @@
+package com.retail.product_catalog.exception;
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.retail.product_catalog.exception;
+
+public class InsufficientStockException extends RuntimeException {
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.retail.product_catalog.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
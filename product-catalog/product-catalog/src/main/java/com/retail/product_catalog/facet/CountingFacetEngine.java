@@ -0,0 +1,171 @@
+package com.retail.product_catalog.facet;
+
+import com.retail.product_catalog.dto.FacetCounts;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.filter.ProductFilter;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.search.ProductSearchEngine;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Facet counts kept in memory: a product count and a price histogram per category,
+ * adjusted by one on each {@link ProductChangedEvent}. Category facets are read straight
+ * off the counters and catalog facets add up one counter per category; search facets
+ * add up the category and price bucket remembered for each of the search's hits.
+ * Categories are counted case-insensitively, like the grouped SQL under MySQL's
+ * collation, and named as the first product counted in them spells them.
+ *
+ * <p>The counters are rebuilt from the table once the application is ready; until
+ * then facets run as one grouped SQL query. Like the other indexes they only see
+ * writes made through {@code ProductService} and the bulk endpoints.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.facets.engine", havingValue = "counters", matchIfMissing = true)
+public class CountingFacetEngine implements ProductFacetEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(CountingFacetEngine.class);
+
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final ProductSearchEngine searchEngine;
+    private final PriceHistogram histogram;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, FacetedProduct> products = new HashMap<>();
+    private final Map<String, Counter> byCategory = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public CountingFacetEngine(ProductRepository productRepository, ProductSearchEngine searchEngine,
+                               PriceHistogram histogram) {
+        this.productRepository = productRepository;
+        this.searchEngine = searchEngine;
+        this.histogram = histogram;
+    }
+
+    // ===================== COUNTER MAINTENANCE =====================
+
+    // The write lock is held for the whole rebuild: changes committed meanwhile wait
+    // and are applied on top, and re-applying one the rebuild already read is harmless.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            products.clear();
+            byCategory.clear();
+
+            productRepository.forEachProduct(BOOTSTRAP_BATCH_SIZE, this::index);
+
+            ready = true;
+            log.info("Facet counters built: {} products, {} categories in {} ms",
+                    products.size(), byCategory.size(), System.currentTimeMillis() - started);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            FacetedProduct previous = event.getType() == ProductChangedEvent.Type.DELETED
+                    ? products.remove(event.getProductId())
+                    : index(event.getProduct());
+            if (previous != null) {
+                count(previous, -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Must be called with the write lock held. Counts {@code dto} and returns the state it replaces. */
+    private FacetedProduct index(ProductDTO dto) {
+        Counter category = byCategory.computeIfAbsent(ProductFilter.categoryKey(dto.getCategory()),
+                key -> new Counter(key, dto.getCategory(), histogram.bucketCount()));
+        FacetedProduct product = new FacetedProduct(category, histogram.bucketOf(dto.getPrice()));
+        count(product, 1);
+        return products.put(dto.getId(), product);
+    }
+
+    private void count(FacetedProduct product, int delta) {
+        Counter category = product.category();
+        category.add(product.bucket(), delta);
+        if (category.count == 0) {
+            byCategory.remove(category.key);
+        }
+    }
+
+    // ===================== FACETS =====================
+
+    @Override
+    public FacetCounts facets(String category, String searchTerm) {
+        if (!ready) {
+            return JpaFacetEngine.count(productRepository, histogram, category, searchTerm);
+        }
+
+        long[] hits = searchTerm == null ? null : searchEngine.matchingIds(searchTerm);
+        String categoryKey = category == null ? null : ProductFilter.categoryKey(category);
+        FacetTally tally = new FacetTally(histogram);
+
+        lock.readLock().lock();
+        try {
+            if (hits != null) {
+                for (long id : hits) {
+                    FacetedProduct product = products.get(id);
+                    if (product != null && (categoryKey == null || categoryKey.equals(product.category().key))) {
+                        tally.add(product.category().name, product.bucket(), 1);
+                    }
+                }
+            } else if (category != null) {
+                Counter counter = byCategory.get(categoryKey);
+                if (counter != null) {
+                    tally.add(counter.name, counter.count, counter.buckets);
+                }
+            } else {
+                byCategory.values().forEach(counter -> tally.add(counter.name, counter.count, counter.buckets));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return tally.toCounts();
+    }
+
+    // ===================== COUNTERS =====================
+
+    /** What a product contributes to the counters. */
+    private record FacetedProduct(Counter category, int bucket) {}
+
+    private static final class Counter {
+
+        private final String key;
+        private final String name;
+        private final long[] buckets;
+        private long count;
+
+        Counter(String key, String name, int bucketCount) {
+            this.key = key;
+            this.name = name;
+            this.buckets = new long[bucketCount];
+        }
+
+        void add(int bucket, int delta) {
+            buckets[bucket] += delta;
+            count += delta;
+        }
+    }
+}
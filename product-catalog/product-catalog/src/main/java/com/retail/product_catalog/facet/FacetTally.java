@@ -0,0 +1,45 @@
+package com.retail.product_catalog.facet;
+
+import com.retail.product_catalog.dto.FacetCounts;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Adds up (category, price bucket) counts into a {@link FacetCounts}. */
+final class FacetTally {
+
+    private final PriceHistogram histogram;
+    private final Map<String, Long> categories = new HashMap<>();
+    private final long[] buckets;
+    private long total;
+
+    FacetTally(PriceHistogram histogram) {
+        this.histogram = histogram;
+        this.buckets = new long[histogram.bucketCount()];
+    }
+
+    void add(String category, int bucket, long count) {
+        categories.merge(category, count, Long::sum);
+        buckets[bucket] += count;
+        total += count;
+    }
+
+    void add(String category, long count, long[] priceBuckets) {
+        categories.merge(category, count, Long::sum);
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] += priceBuckets[i];
+        }
+        total += count;
+    }
+
+    FacetCounts toCounts() {
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        categories.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> ordered.put(entry.getKey(), entry.getValue()));
+        return new FacetCounts(total, ordered, histogram.toCounts(buckets));
+    }
+}
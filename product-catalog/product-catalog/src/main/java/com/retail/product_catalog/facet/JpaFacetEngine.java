@@ -0,0 +1,36 @@
+package com.retail.product_catalog.facet;
+
+import com.retail.product_catalog.dto.FacetCounts;
+import com.retail.product_catalog.repository.ProductRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fallback engine: one {@code GROUP BY category, price bucket} query per request.
+ * Search terms match as {@code LIKE %term%} on the name, as in the {@code jpa} search engine.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.facets.engine", havingValue = "jpa")
+public class JpaFacetEngine implements ProductFacetEngine {
+
+    private final ProductRepository productRepository;
+    private final PriceHistogram histogram;
+
+    public JpaFacetEngine(ProductRepository productRepository, PriceHistogram histogram) {
+        this.productRepository = productRepository;
+        this.histogram = histogram;
+    }
+
+    @Override
+    public FacetCounts facets(String category, String searchTerm) {
+        return count(productRepository, histogram, category, searchTerm);
+    }
+
+    static FacetCounts count(ProductRepository productRepository, PriceHistogram histogram,
+                             String category, String searchTerm) {
+        FacetTally tally = new FacetTally(histogram);
+        productRepository.countByCategoryAndPriceBucket(histogram.edges(), category, searchTerm)
+                .forEach(row -> tally.add(row.category(), row.bucket(), row.count()));
+        return tally.toCounts();
+    }
+}
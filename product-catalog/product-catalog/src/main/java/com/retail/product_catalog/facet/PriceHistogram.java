@@ -0,0 +1,55 @@
+package com.retail.product_catalog.facet;
+
+import com.retail.product_catalog.dto.PriceBucketCount;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed price buckets for facet histograms, split at {@code catalog.facets.price-edges}.
+ * The edges never move, so a product's bucket depends only on its own price and the
+ * counters can be kept up to date one write at a time.
+ */
+@Component
+public class PriceHistogram {
+
+    private final BigDecimal[] edges;
+
+    public PriceHistogram(@Value("${catalog.facets.price-edges:10,25,50,100,250,500,1000}") List<BigDecimal> edges) {
+        this.edges = edges.toArray(new BigDecimal[0]);
+        for (int i = 0; i < this.edges.length; i++) {
+            if (this.edges[i].signum() <= 0 || (i > 0 && this.edges[i].compareTo(this.edges[i - 1]) <= 0)) {
+                throw new IllegalArgumentException("catalog.facets.price-edges must be positive and increasing: " + edges);
+            }
+        }
+    }
+
+    public int bucketCount() {
+        return edges.length + 1;
+    }
+
+    /** Bucket {@code i} holds prices in {@code [edge(i-1), edge(i))}; bucket 0 starts at zero. */
+    public int bucketOf(BigDecimal price) {
+        int pos = Arrays.binarySearch(edges, price);
+        return pos >= 0 ? pos + 1 : -pos - 1;
+    }
+
+    public List<BigDecimal> edges() {
+        return List.of(edges);
+    }
+
+    public List<PriceBucketCount> toCounts(long[] counts) {
+        List<PriceBucketCount> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            buckets.add(new PriceBucketCount(
+                    i == 0 ? BigDecimal.ZERO : edges[i - 1],
+                    i == edges.length ? null : edges[i],
+                    counts[i]));
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,16 @@
+package com.retail.product_catalog.facet;
+
+import com.retail.product_catalog.dto.FacetCounts;
+
+/**
+ * Backs {@code ProductService.getFacets}. The implementation is chosen with
+ * {@code catalog.facets.engine}: {@code counters} (default) or {@code jpa}.
+ */
+public interface ProductFacetEngine {
+
+    /**
+     * Counts over the whole catalog, narrowed to one {@code category} and/or to the
+     * products a search for {@code searchTerm} returns when either is non-null.
+     */
+    FacetCounts facets(String category, String searchTerm);
+}
@@ -0,0 +1,111 @@
+package com.retail.product_catalog.feed;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the whole catalog (or one category) in id order from a single forward-only
+ * query. The persistence context is cleared after every fetch-size batch, so heap use
+ * stays flat however many rows are exported.
+ */
+@Service
+public class CatalogExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CLEAR_EVERY = Integer.parseInt(ProductRepository.EXPORT_FETCH_SIZE);
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter jsonWriter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CatalogExportService(ProductRepository productRepository,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.jsonWriter = objectMapper.writerFor(ProductDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * @param category exact category to export, or {@code null} for everything
+     * @return the number of products written
+     */
+    public long export(OutputStream out, FeedFormat format, String category, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == FeedFormat.CSV) {
+            ProductCsv.writeRow(writer, ProductCsv.COLUMNS);
+        }
+
+        Long written;
+        try {
+            written = readOnlyTransaction.execute(status -> {
+                try (Stream<Product> products = category == null
+                        ? productRepository.streamAllByOrderByIdAsc()
+                        : productRepository.streamByCategoryOrderByIdAsc(category)) {
+                    return writeAll(products.iterator(), writer, format);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+
+        writer.flush();
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+        return written == null ? 0 : written;
+    }
+
+    private long writeAll(Iterator<Product> products, Writer writer, FeedFormat format) {
+        long count = 0;
+        try {
+            while (products.hasNext()) {
+                Product product = products.next();
+                if (format == FeedFormat.CSV) {
+                    ProductCsv.writeRow(writer, Arrays.asList(product.getId(), product.getName(),
+                            product.getDescription(), product.getPrice(), product.getCategory(),
+                            product.getStockQuantity(), product.getImageUrl()));
+                } else {
+                    jsonWriter.writeValue(writer, ProductService.mapToDTO(product));
+                    writer.write('\n');
+                }
+
+                if (++count % CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,272 @@
+package com.retail.product_catalog.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.product_catalog.dto.BulkItemResult;
+import com.retail.product_catalog.dto.BulkResponse;
+import com.retail.product_catalog.dto.ImportStatus;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.exception.ResourceNotFoundException;
+import com.retail.product_catalog.service.ProductBulkService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams a product feed into the catalog without holding it in memory. The caller's
+ * thread parses records into a bounded queue, {@code catalog.import.validator-threads}
+ * workers run Bean Validation and hand valid records to a second bounded queue, and a
+ * single writer persists them in batches through {@link ProductBulkService}. A full
+ * queue blocks the stage in front of it, so heap use depends on the queue capacity
+ * and batch size rather than on the size of the feed.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImportService.class);
+    private static final long POLL_MILLIS = 100;
+
+    private final ProductBulkService productBulkService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+    private final int retainedJobs;
+
+    @Value("${catalog.import.validator-threads:4}")
+    private int validatorThreads;
+
+    @Value("${catalog.import.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${catalog.import.batch-size:500}")
+    private int batchSize;
+
+    public CatalogImportService(ProductBulkService productBulkService,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                @Value("${catalog.import.retained-jobs:20}") int retainedJobs) {
+        this.productBulkService = productBulkService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.retainedJobs = retainedJobs;
+    }
+
+    // ===================== JOBS =====================
+
+    /** Runs the import on the calling thread and returns its final status. */
+    public ImportStatus importProducts(InputStream input, FeedFormat format, String source) {
+        ImportJob job = new ImportJob(format, source);
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+            evictFinishedJobs();
+        }
+
+        log.info("Import {} started: {} from {}", job.getId(), format, source);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ProductRecordReader records = format == FeedFormat.CSV
+                ? new CsvProductReader(reader)
+                : new NdjsonProductReader(reader, objectMapper.reader());
+        run(job, records);
+
+        ImportStatus status = job.toStatus();
+        log.info("Import {} {}: {} written, {} rejected, {} records/s", job.getId(), status.getState(),
+                status.getRecordsWritten(), status.getRecordsRejected(), Math.round(status.getRecordsPerSecond()));
+        return status;
+    }
+
+    public ImportStatus getStatus(String id) {
+        ImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        if (job == null) {
+            throw new ResourceNotFoundException("Import not found with id: " + id);
+        }
+        return job.toStatus();
+    }
+
+    public List<ImportStatus> getRecentStatuses() {
+        List<ImportJob> recent;
+        synchronized (jobs) {
+            recent = new ArrayList<>(jobs.values());
+        }
+        Collections.reverse(recent);
+        return recent.stream().map(ImportJob::toStatus).toList();
+    }
+
+    /**
+     * Drops the oldest finished jobs beyond {@code retainedJobs}. Running jobs are never
+     * dropped, so their status stays pollable however many imports start meanwhile.
+     */
+    private void evictFinishedJobs() {
+        Iterator<ImportJob> oldestFirst = jobs.values().iterator();
+        int excess = jobs.size() - retainedJobs;
+        while (excess > 0 && oldestFirst.hasNext()) {
+            if (!oldestFirst.next().isRunning()) {
+                oldestFirst.remove();
+                excess--;
+            }
+        }
+    }
+
+    // ===================== PIPELINE =====================
+
+    private void run(ImportJob job, ProductRecordReader records) {
+        BlockingQueue<ImportRecord> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<ImportRecord> validated = new ArrayBlockingQueue<>(queueCapacity);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService stages = Executors.newFixedThreadPool(validatorThreads + 1, runnable -> {
+            Thread thread = new Thread(runnable, "import-" + job.getId().substring(0, 8) + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (records) {
+            List<Future<?>> validators = new ArrayList<>();
+            for (int i = 0; i < validatorThreads; i++) {
+                validators.add(submitStage(stages, job, () -> validateStage(job, parsed, validated)));
+            }
+            Future<?> writer = submitStage(stages, job, () -> writeStage(job, validated));
+
+            ImportRecord record;
+            while (job.isRunning() && (record = records.next()) != null) {
+                job.recordRead();
+                put(parsed, record, job);
+            }
+            for (int i = 0; i < validatorThreads; i++) {
+                put(parsed, ImportRecord.END, job);
+            }
+            for (Future<?> validatorStage : validators) {
+                validatorStage.get();
+            }
+            put(validated, ImportRecord.END, job);
+            writer.get();
+            job.complete();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.fail("Import was interrupted");
+        } catch (ExecutionException ex) {
+            job.fail(String.valueOf(ex.getCause().getMessage()));
+        } catch (IOException | RuntimeException ex) {
+            job.fail(String.valueOf(ex.getMessage()));
+        } finally {
+            stages.shutdownNow();
+        }
+    }
+
+    /** Validation stage; several of these run at once, so record order is not preserved. */
+    private Void validateStage(ImportJob job, BlockingQueue<ImportRecord> in,
+                               BlockingQueue<ImportRecord> out) throws InterruptedException {
+        ImportRecord record;
+        while ((record = take(in, job)) != ImportRecord.END) {
+            if (record.parseError() != null) {
+                job.recordRejected(record.lineNumber(), record.parseError());
+                continue;
+            }
+
+            Set<ConstraintViolation<ProductDTO>> violations = validator.validate(record.product());
+            if (!violations.isEmpty()) {
+                Set<String> messages = new TreeSet<>();
+                for (ConstraintViolation<ProductDTO> violation : violations) {
+                    messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+                job.recordRejected(record.lineNumber(), String.join("; ", messages));
+                continue;
+            }
+            put(out, record, job);
+        }
+        return null;
+    }
+
+    private Void writeStage(ImportJob job, BlockingQueue<ImportRecord> in) throws InterruptedException {
+        List<ImportRecord> batch = new ArrayList<>(batchSize);
+        ImportRecord record;
+        while ((record = take(in, job)) != ImportRecord.END) {
+            batch.add(record);
+            if (batch.size() == batchSize) {
+                write(job, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(job, batch);
+        }
+        return null;
+    }
+
+    private void write(ImportJob job, List<ImportRecord> batch) {
+        BulkResponse response = productBulkService.createValidatedProducts(
+                batch.stream().map(ImportRecord::product).toList());
+
+        job.recordsWritten(response.getSucceeded());
+        for (BulkItemResult result : response.getResults()) {
+            if (!result.isSuccess()) {
+                job.recordRejected(batch.get(result.getIndex()).lineNumber(),
+                        String.valueOf(result.getErrors().get("error")));
+            }
+        }
+    }
+
+    // ===================== HELPERS =====================
+
+    /** A failing stage fails the job right away so the stages blocked on it can stop. */
+    private static Future<?> submitStage(ExecutorService stages, ImportJob job, Callable<Void> stage) {
+        return stages.submit(() -> {
+            try {
+                return stage.call();
+            } catch (Exception ex) {
+                job.fail(String.valueOf(ex.getMessage()));
+                throw ex;
+            }
+        });
+    }
+
+    /** Blocks while the queue is full, but gives up once another stage has failed the job. */
+    private static void put(BlockingQueue<ImportRecord> queue, ImportRecord record, ImportJob job)
+            throws InterruptedException {
+        while (!queue.offer(record, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            requireRunning(job);
+        }
+    }
+
+    private static ImportRecord take(BlockingQueue<ImportRecord> queue, ImportJob job)
+            throws InterruptedException {
+        ImportRecord record;
+        while ((record = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+            requireRunning(job);
+        }
+        return record;
+    }
+
+    private static void requireRunning(ImportJob job) {
+        if (!job.isRunning()) {
+            throw new IllegalStateException("Import " + job.getId() + " was aborted");
+        }
+    }
+}
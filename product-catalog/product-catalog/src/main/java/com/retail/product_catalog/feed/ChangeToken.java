@@ -0,0 +1,63 @@
+package com.retail.product_catalog.feed;
+
+import com.retail.product_catalog.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque change feed position: the time and product id of the last change a client
+ * has seen, plus a watermark below which it is known to have seen every delete. The
+ * watermark starts at the time of the client's first request and follows the position
+ * once that is later, so a first sync paging through years-old products is not
+ * mistaken for a client that has been away longer than tombstones are kept.
+ * Encoded as URL-safe Base64 of {@code at \n id \n watermark}.
+ */
+record ChangeToken(Instant at, long id, Instant watermark) {
+
+    /** Before every change, for a client that has seen nothing since {@code now}. */
+    static ChangeToken start(Instant now) {
+        return new ChangeToken(Instant.EPOCH, 0, now);
+    }
+
+    /** Just after the change at {@code at} / {@code id}. */
+    ChangeToken after(Instant at, long id) {
+        return new ChangeToken(at, id, later(at, watermark));
+    }
+
+    /** The same position, for a client that has now seen every change up to {@code horizon}. */
+    ChangeToken caughtUpTo(Instant horizon) {
+        return new ChangeToken(at, id, later(horizon, watermark));
+    }
+
+    private static Instant later(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    // ===================== ENCODING =====================
+
+    String encode() {
+        String plain = at + "\n" + id + "\n" + watermark;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns {@code null} for a blank token, which asks for the whole catalog. */
+    static ChangeToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = plain.split("\n", 3);
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid change token");
+            }
+            return new ChangeToken(Instant.parse(parts[0]), Long.parseLong(parts[1]), Instant.parse(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid change token");
+        }
+    }
+}
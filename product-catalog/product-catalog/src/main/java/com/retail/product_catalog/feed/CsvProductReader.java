@@ -0,0 +1,152 @@
+package com.retail.product_catalog.feed;
+
+import com.retail.product_catalog.dto.ProductDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row. Quoted fields may contain commas, doubled quotes
+ * and line breaks. A record longer than {@link #MAX_RECORD_CHARS} fails the import,
+ * which keeps an unterminated quote from pulling the rest of the file into memory.
+ */
+class CsvProductReader implements ProductRecordReader {
+
+    static final int MAX_RECORD_CHARS = 1 << 20;
+
+    private static final List<String> REQUIRED =
+            List.of("name", "description", "price", "category", "stockquantity", "imageurl");
+
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+    private long lineNumber = 1;
+
+    CsvProductReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        if (columns == null) {
+            readHeader();
+        }
+
+        List<String> fields;
+        long recordLine;
+        do {
+            recordLine = lineNumber;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        try {
+            ProductDTO dto = new ProductDTO();
+            dto.setName(field(fields, "name"));
+            dto.setDescription(field(fields, "description"));
+            dto.setPrice(decimal(field(fields, "price")));
+            dto.setCategory(field(fields, "category"));
+            dto.setStockQuantity(integer(field(fields, "stockquantity")));
+            dto.setImageUrl(field(fields, "imageurl"));
+            return ImportRecord.parsed(recordLine, dto);
+        } catch (NumberFormatException ex) {
+            return ImportRecord.unreadable(recordLine, "Malformed number: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IOException("CSV input is empty");
+        }
+
+        columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(ProductCsv.normalize(header.get(i)), i);
+        }
+        for (String required : REQUIRED) {
+            if (!columns.containsKey(required)) {
+                throw new IOException("CSV header is missing column: " + required);
+            }
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        int index = columns.get(column);
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value == null || value.isBlank() ? null : new BigDecimal(value.trim());
+    }
+
+    private static Integer integer(String value) {
+        return value == null || value.isBlank() ? null : Integer.valueOf(value.trim());
+    }
+
+    /** Reads one record, or returns {@code null} at end of input. */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean sawAnything = false;
+        int length = 0;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            sawAnything = true;
+            if (++length > MAX_RECORD_CHARS) {
+                throw new IOException("CSV record starting at line " + lineNumber + " is too long");
+            }
+
+            char ch = (char) c;
+            if (inQuotes) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (ch == '\n') {
+                        lineNumber++;
+                    }
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                inQuotes = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                lineNumber++;
+                fields.add(field.toString());
+                return fields;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+        }
+
+        if (!sawAnything) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
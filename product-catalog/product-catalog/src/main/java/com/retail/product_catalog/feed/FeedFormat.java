@@ -0,0 +1,55 @@
+package com.retail.product_catalog.feed;
+
+import com.retail.product_catalog.exception.BadRequestException;
+
+import java.util.Locale;
+
+public enum FeedFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    FeedFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() { return mediaType; }
+    public String getExtension() { return extension; }
+
+    public static FeedFormat fromParameter(String value) {
+        for (FeedFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported feed format: " + value + " (expected ndjson or csv)");
+    }
+
+    public static FeedFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String lower = contentType.toLowerCase(Locale.ROOT);
+            for (FeedFormat format : values()) {
+                if (lower.startsWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new BadRequestException("Unsupported feed content type: " + contentType
+                + " (expected application/x-ndjson or text/csv)");
+    }
+
+    public static FeedFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new BadRequestException("Cannot tell import format from file name: " + fileName);
+    }
+}
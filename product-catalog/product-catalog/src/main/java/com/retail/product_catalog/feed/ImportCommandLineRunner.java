@@ -0,0 +1,52 @@
+package com.retail.product_catalog.feed;
+
+import com.retail.product_catalog.dto.ImportStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line import: {@code java -jar app.jar --catalog.import.file=feed.ndjson
+ * --spring.main.web-application-type=none}. The format comes from the file extension
+ * ({@code .ndjson}, {@code .jsonl} or {@code .csv}). The process exits with status 1
+ * if the import fails or rejects any record.
+ */
+@Component
+@ConditionalOnProperty("catalog.import.file")
+class ImportCommandLineRunner implements ApplicationRunner {
+
+    private final CatalogImportService catalogImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${catalog.import.file}")
+    private Path file;
+
+    @Value("${catalog.import.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    ImportCommandLineRunner(CatalogImportService catalogImportService, ConfigurableApplicationContext context) {
+        this.catalogImportService = catalogImportService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ImportStatus status;
+        try (InputStream input = Files.newInputStream(file)) {
+            status = catalogImportService.importProducts(input, FeedFormat.fromFileName(file.toString()), file.toString());
+        }
+
+        if (exitWhenDone) {
+            boolean clean = status.getState() == ImportStatus.State.COMPLETED && status.getRecordsRejected() == 0;
+            System.exit(SpringApplication.exit(context, () -> clean ? 0 : 1));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.retail.product_catalog.feed;
+
+import com.retail.product_catalog.dto.ImportStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters of one import, updated by the pipeline stages and read by the
+ * status endpoint while the import runs.
+ */
+class ImportJob {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final String id = UUID.randomUUID().toString();
+    private final FeedFormat format;
+    private final String source;
+    private final Instant startedAt = Instant.now();
+
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<ImportStatus.RowError> errors = new ArrayList<>();
+
+    private volatile ImportStatus.State state = ImportStatus.State.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String failureMessage;
+
+    ImportJob(FeedFormat format, String source) {
+        this.format = format;
+        this.source = source;
+    }
+
+    String getId() { return id; }
+
+    boolean isRunning() { return state == ImportStatus.State.RUNNING; }
+
+    void recordRead() {
+        read.incrementAndGet();
+    }
+
+    void recordsWritten(int count) {
+        written.addAndGet(count);
+    }
+
+    void recordRejected(long line, String message) {
+        rejected.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportStatus.RowError(line, message));
+            }
+        }
+    }
+
+    synchronized void complete() {
+        if (isRunning()) {
+            finishedAt = Instant.now();
+            state = ImportStatus.State.COMPLETED;
+        }
+    }
+
+    /** Only the first failure is kept; the other stages fail as a consequence of it. */
+    synchronized void fail(String message) {
+        if (isRunning()) {
+            failureMessage = message;
+            finishedAt = Instant.now();
+            state = ImportStatus.State.FAILED;
+        }
+    }
+
+    ImportStatus toStatus() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+        long writtenNow = written.get();
+
+        List<ImportStatus.RowError> reported;
+        synchronized (errors) {
+            reported = List.copyOf(errors);
+        }
+        return new ImportStatus(id, format.name(), source, state, startedAt, finishedAt,
+                read.get(), writtenNow, rejected.get(), writtenNow * 1000.0 / millis,
+                failureMessage, reported);
+    }
+}
@@ -0,0 +1,21 @@
+package com.retail.product_catalog.feed;
+
+import com.retail.product_catalog.dto.ProductDTO;
+
+/**
+ * One parsed input record. {@code parseError} is set instead of {@code product}
+ * when the record could not be read at all.
+ */
+record ImportRecord(long lineNumber, ProductDTO product, String parseError) {
+
+    /** Marks the end of the stream on the pipeline queues; compared by identity. */
+    static final ImportRecord END = new ImportRecord(-1, null, null);
+
+    static ImportRecord parsed(long lineNumber, ProductDTO product) {
+        return new ImportRecord(lineNumber, product, null);
+    }
+
+    static ImportRecord unreadable(long lineNumber, String parseError) {
+        return new ImportRecord(lineNumber, null, parseError);
+    }
+}
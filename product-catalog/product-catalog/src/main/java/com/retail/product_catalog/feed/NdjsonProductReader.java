@@ -0,0 +1,71 @@
+package com.retail.product_catalog.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.retail.product_catalog.dto.ProductDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line. A malformed line only fails that record; a line longer
+ * than {@link CsvProductReader#MAX_RECORD_CHARS} fails the import, so a file without
+ * line breaks (a minified JSON array, say) cannot be pulled into memory whole.
+ */
+class NdjsonProductReader implements ProductRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long lineNumber;
+
+    NdjsonProductReader(BufferedReader reader, ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader.forType(ProductDTO.class);
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        try {
+            return ImportRecord.parsed(lineNumber, objectReader.readValue(line));
+        } catch (JsonProcessingException ex) {
+            return ImportRecord.unreadable(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    /** {@link BufferedReader#readLine()}, but giving up once the line outgrows the record limit. */
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                break;
+            }
+            if (line.length() == CsvProductReader.MAX_RECORD_CHARS) {
+                throw new IOException("NDJSON record at line " + (lineNumber + 1) + " is too long");
+            }
+            line.append((char) c);
+        }
+        if (c == -1 && line.isEmpty()) {
+            return null;
+        }
+        int end = line.length();
+        if (end > 0 && line.charAt(end - 1) == '\r') {
+            line.setLength(end - 1);
+        }
+        return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,154 @@
+package com.retail.product_catalog.feed;
+
+import com.retail.product_catalog.dto.ChangeFeedPage;
+import com.retail.product_catalog.dto.ProductChange;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.exception.ChangeTokenExpiredException;
+import com.retail.product_catalog.model.ProductTombstone;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.repository.ProductTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental sync for downstream copies of the catalog ({@code GET /api/products/changes}).
+ * Every product write stamps {@code updated_at}, so the products written after a
+ * client's position are one index range in {@code (updated_at, id)} order; deletes
+ * leave a tombstone read the same way. A product written several times between two
+ * polls appears once, in its current state.
+ *
+ * <p>A write is stamped before its transaction commits, and a read replica may lag,
+ * so changes are only handed out once they are {@code catalog.changes.settle-time}
+ * old: a write committing later than that after its stamp would be skipped.
+ * Tombstones are purged after {@code catalog.changes.tombstone-retention}; a client
+ * that has not synced for longer gets 410 Gone and starts over without a token.
+ */
+@Service
+@Timed("catalog.changes")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ProductChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeFeed.class);
+
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final ProductRepository productRepository;
+    private final ProductTombstoneRepository tombstoneRepository;
+    private final Duration settleTime;
+    private final Duration tombstoneRetention;
+    private final int maxBatch;
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tombstone-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProductChangeFeed(ProductRepository productRepository,
+                             ProductTombstoneRepository tombstoneRepository,
+                             @Value("${catalog.changes.settle-time:5s}") Duration settleTime,
+                             @Value("${catalog.changes.tombstone-retention:30d}") Duration tombstoneRetention,
+                             @Value("${catalog.changes.max-batch:1000}") int maxBatch) {
+        this.productRepository = productRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settleTime = settleTime;
+        this.tombstoneRetention = tombstoneRetention;
+        this.maxBatch = maxBatch;
+    }
+
+    @PostConstruct
+    void start() {
+        long millis = PURGE_INTERVAL.toMillis();
+        purger.scheduleWithFixedDelay(this::purgeTombstones, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        purger.shutdownNow();
+    }
+
+    // ===================== CHANGES =====================
+
+    /**
+     * Up to {@code size} changes after {@code since}, oldest first; the whole catalog
+     * (and recent deletes) when {@code since} is blank.
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedPage changesSince(String since, int size) {
+        if (size < 1 || size > maxBatch) {
+            throw new BadRequestException("size must be between 1 and " + maxBatch);
+        }
+        Instant now = Instant.now();
+        ChangeToken token = ChangeToken.decode(since);
+        if (token == null) {
+            token = ChangeToken.start(now);
+        } else if (token.watermark().isBefore(now.minus(tombstoneRetention))) {
+            throw new ChangeTokenExpiredException("Deletes are kept for " + tombstoneRetention
+                    + " and this token is older; sync again without since");
+        }
+        Instant horizon = now.minus(settleTime);
+
+        // One more of each than fits, to know whether anything is left
+        List<ProductDTO> saved = productRepository.findChangedAfter(
+                token.at(), token.id(), horizon, Limit.of(size + 1));
+        List<ProductTombstone> deleted = tombstoneRepository.findChangedAfter(
+                token.at(), token.id(), horizon, Limit.of(size + 1));
+
+        List<ProductChange> changes = new ArrayList<>(Math.min(size, saved.size() + deleted.size()));
+        int s = 0;
+        int d = 0;
+        while (changes.size() < size && (s < saved.size() || d < deleted.size())) {
+            boolean takeSaved = d == deleted.size() || s < saved.size() && isBefore(
+                    saved.get(s).getUpdatedAt(), saved.get(s).getId(),
+                    deleted.get(d).getDeletedAt(), deleted.get(d).getProductId());
+            changes.add(takeSaved
+                    ? ProductChange.saved(saved.get(s++))
+                    : ProductChange.deleted(deleted.get(d).getProductId(), deleted.get(d++).getDeletedAt()));
+        }
+        boolean hasMore = s < saved.size() || d < deleted.size();
+
+        ChangeToken next = token;
+        if (!changes.isEmpty()) {
+            ProductChange last = changes.get(changes.size() - 1);
+            next = token.after(last.getChangedAt(), last.getProductId());
+        }
+        if (!hasMore) {
+            next = next.caughtUpTo(horizon);
+        }
+        return new ChangeFeedPage(changes, hasMore, next.encode());
+    }
+
+    private static boolean isBefore(Instant at, long id, Instant otherAt, long otherId) {
+        int byTime = at.compareTo(otherAt);
+        return byTime < 0 || byTime == 0 && id < otherId;
+    }
+
+    // ===================== TOMBSTONES =====================
+
+    void purgeTombstones() {
+        try {
+            int purged = tombstoneRepository.deleteOlderThan(Instant.now().minus(tombstoneRetention));
+            if (purged > 0) {
+                log.info("Purged {} product tombstones older than {}", purged, tombstoneRetention);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Tombstone purge failed, retrying in {}", PURGE_INTERVAL, ex);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.retail.product_catalog.feed;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Column layout shared by CSV import and export. Header names are matched
+ * case-insensitively and with or without underscores, so both {@code stockQuantity}
+ * and {@code stock_quantity} are accepted.
+ */
+final class ProductCsv {
+
+    static final List<String> COLUMNS =
+            List.of("id", "name", "description", "price", "category", "stockQuantity", "imageUrl");
+
+    private ProductCsv() {}
+
+    static String normalize(String header) {
+        return header.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /** Writes one record; {@code null} becomes an empty field. */
+    static void writeRow(Writer out, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                out.write(escape(value.toString()));
+            }
+        }
+        out.write("\r\n");
+    }
+
+    private static String escape(String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
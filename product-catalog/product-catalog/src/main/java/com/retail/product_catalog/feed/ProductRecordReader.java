@@ -0,0 +1,13 @@
+package com.retail.product_catalog.feed;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Incremental parser over a product feed. Only the current record is held in memory.
+ */
+interface ProductRecordReader extends Closeable {
+
+    /** The next record, or {@code null} at end of input. */
+    ImportRecord next() throws IOException;
+}
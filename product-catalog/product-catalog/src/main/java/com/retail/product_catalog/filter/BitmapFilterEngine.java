@@ -0,0 +1,370 @@
+package com.retail.product_catalog.filter;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import com.retail.product_catalog.stock.StockLevelChangedEvent;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.roaringbitmap.RoaringBitmapWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compressed (Roaring) bitmaps of product ids: one per category, one per price bucket
+ * and one for products in stock. A filter is answered by OR-ing the requested
+ * categories and AND-ing the rest in memory; only the products on the requested page
+ * are then read from the table, in one query.
+ *
+ * <p>Price buckets hold roughly equal numbers of products (their bounds are price
+ * quantiles, recomputed whenever the catalog has doubled since). Besides a bitmap per
+ * bucket there is a range-encoded one per bound (every product priced below it), so
+ * the buckets a price range spans are one AND-NOT however many there are; only
+ * candidates in the two edge buckets are checked against their exact price.
+ *
+ * <p>Like the search index, the bitmaps are built once the application is ready and
+ * then follow {@link ProductChangedEvent}s; until then filters run as SQL. Stock moved
+ * by {@code /stock/reserve} and {@code /release} reaches {@code inStock} through
+ * {@link StockLevelChangedEvent}s, the newest version winning. Ids must fit in an {@code int}.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.filter.engine", havingValue = "bitmap", matchIfMissing = true)
+public class BitmapFilterEngine implements ProductFilterEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(BitmapFilterEngine.class);
+
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+    private static final int MIN_REBUCKET_SIZE = 1024;
+
+    private final ProductRepository productRepository;
+    private final int bucketCount;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap inStock = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<Integer, FilteredProduct> products = new HashMap<>();
+    // Prices of the products above by id, for the edge-bucket checks on the read path
+    private final PagedLongArray centsById = new PagedLongArray();
+
+    // Bucket i holds prices (in cents) in [bounds[i-1], bounds[i]); the last is open-ended.
+    // belowBound[i] is the union of buckets 0..i.
+    private long[] bucketBounds = new long[0];
+    private RoaringBitmap[] byPriceBucket = {new RoaringBitmap()};
+    private RoaringBitmap[] belowBound = new RoaringBitmap[0];
+    private int rebucketAt = MIN_REBUCKET_SIZE;
+
+    private volatile boolean ready;
+
+    public BitmapFilterEngine(ProductRepository productRepository,
+                              @Value("${catalog.filter.price-buckets:256}") int priceBuckets) {
+        this.productRepository = productRepository;
+        this.bucketCount = priceBuckets;
+    }
+
+    // ===================== INDEX MAINTENANCE =====================
+
+    // Bitmaps are loaded and bucketed under the write lock, so a change committed
+    // meanwhile is applied after the rebuild instead of under it.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            productRepository.forEachProduct(BOOTSTRAP_BATCH_SIZE, this::index);
+
+            rebucket();
+            all.runOptimize();
+            inStock.runOptimize();
+            byCategory.values().forEach(RoaringBitmap::runOptimize);
+
+            ready = true;
+            log.info("Filter index built: {} products, {} categories, {} price buckets in {} ms",
+                    productCount(), categoryCount(), byPriceBucket.length, System.currentTimeMillis() - started);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ProductChangedEvent.Type.DELETED) {
+            remove(event.getProductId());
+        } else {
+            index(event.getProduct());
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            FilteredProduct previous = products.remove(Math.toIntExact(id));
+            if (previous != null) {
+                unlink(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void index(ProductDTO dto) {
+        int id = Math.toIntExact(dto.getId());
+        long version = dto.getVersion() == null ? 0 : dto.getVersion();
+
+        lock.writeLock().lock();
+        try {
+            FilteredProduct previous = products.get(id);
+            // A stock move may already have been applied on top of the state this write saw
+            boolean stocked = previous != null && previous.version() > version
+                    ? previous.inStock() : dto.getStockQuantity() > 0;
+            FilteredProduct product = new FilteredProduct(id, ProductFilter.categoryKey(dto.getCategory()),
+                    cents(dto.getPrice()), stocked, previous == null ? version : Math.max(version, previous.version()));
+            products.put(id, product);
+            if (previous != null) {
+                unlink(previous);
+            }
+            all.add(product.id());
+            centsById.set(product.id(), product.cents());
+            byCategory.computeIfAbsent(product.category(), c -> new RoaringBitmap()).add(product.id());
+            int bucket = bucketOf(product.cents());
+            byPriceBucket[bucket].add(product.id());
+            for (int i = bucket; i < belowBound.length; i++) {
+                belowBound[i].add(product.id());
+            }
+            if (product.inStock()) {
+                inStock.add(product.id());
+            }
+            if (products.size() >= rebucketAt) {
+                rebucket();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        int id = Math.toIntExact(event.getProductId());
+        lock.writeLock().lock();
+        try {
+            FilteredProduct product = products.get(id);
+            if (product == null || product.version() >= event.getVersion()) {
+                return;
+            }
+            products.put(id, new FilteredProduct(id, product.category(), product.cents(),
+                    event.isInStock(), event.getVersion()));
+            if (event.isInStock()) {
+                inStock.add(id);
+            } else {
+                inStock.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlink(FilteredProduct product) {
+        all.remove(product.id());
+        RoaringBitmap category = byCategory.get(product.category());
+        if (category != null) {
+            category.remove(product.id());
+            if (category.isEmpty()) {
+                byCategory.remove(product.category());
+            }
+        }
+        int bucket = bucketOf(product.cents());
+        byPriceBucket[bucket].remove(product.id());
+        for (int i = bucket; i < belowBound.length; i++) {
+            belowBound[i].remove(product.id());
+        }
+        inStock.remove(product.id());
+    }
+
+    /** Must be called with the write lock held. Re-derives the bucket bounds from current prices. */
+    private void rebucket() {
+        long[] prices = products.values().stream().mapToLong(FilteredProduct::cents).sorted().toArray();
+        long[] bounds = new long[Math.max(bucketCount - 1, 0)];
+        int count = 0;
+        for (int i = 1; i < bucketCount && prices.length > 0; i++) {
+            long bound = prices[(int) ((long) i * prices.length / bucketCount)];
+            if (count == 0 || bound > bounds[count - 1]) {
+                bounds[count++] = bound;
+            }
+        }
+        bucketBounds = Arrays.copyOf(bounds, count);
+
+        byPriceBucket = new RoaringBitmap[count + 1];
+        Arrays.setAll(byPriceBucket, i -> new RoaringBitmap());
+        for (FilteredProduct product : products.values()) {
+            byPriceBucket[bucketOf(product.cents())].add(product.id());
+        }
+        belowBound = new RoaringBitmap[count];
+        for (int i = 0; i < count; i++) {
+            belowBound[i] = i == 0 ? byPriceBucket[0].clone() : RoaringBitmap.or(belowBound[i - 1], byPriceBucket[i]);
+            belowBound[i].runOptimize();
+        }
+        for (RoaringBitmap bucket : byPriceBucket) {
+            bucket.runOptimize();
+        }
+        rebucketAt = Math.max(2 * products.size(), MIN_REBUCKET_SIZE);
+    }
+
+    public int productCount() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int categoryCount() {
+        lock.readLock().lock();
+        try {
+            return byCategory.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===================== FILTER =====================
+
+    @Override
+    public Page<ProductDTO> filter(ProductFilter filter, Pageable pageable) {
+        if (!ready) {
+            return productRepository.findFiltered(filter, pageable);
+        }
+
+        RoaringBitmap matches = match(filter);
+        long total = matches.getLongCardinality();
+        if (pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        PeekableIntIterator it = matches.getIntIterator();
+        it.advanceIfNeeded(matches.select((int) pageable.getOffset()));
+        while (it.hasNext() && ids.size() < pageable.getPageSize()) {
+            ids.add((long) it.next());
+        }
+        return new PageImpl<>(load(ids), pageable, total);
+    }
+
+    /** The ids matching {@code filter}, as a new bitmap the caller owns. */
+    RoaringBitmap match(ProductFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result;
+            if (filter.categories().isEmpty()) {
+                result = all.clone();
+            } else {
+                result = FastAggregation.or(filter.categories().stream()
+                        .map(byCategory::get)
+                        .filter(ids -> ids != null)
+                        .iterator());
+            }
+            if (filter.inStock()) {
+                result.and(inStock);
+            }
+            if (filter.hasPriceRange() && !result.isEmpty()) {
+                result = withinPrice(filter, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Must be called with the read lock held. The {@code candidates} priced within the filter's range. */
+    private RoaringBitmap withinPrice(ProductFilter filter, RoaringBitmap candidates) {
+        long min = filter.minPrice() == null ? Long.MIN_VALUE
+                : filter.minPrice().movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact();
+        long max = filter.maxPrice() == null ? Long.MAX_VALUE
+                : filter.maxPrice().movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact();
+        if (min > max) {
+            return new RoaringBitmap();
+        }
+
+        int low = bucketOf(min);
+        int high = bucketOf(max);
+        RoaringBitmap within = RoaringBitmap.andNot(below(high + 1), below(low));
+        within.and(candidates);
+
+        if (filter.minPrice() != null) {
+            within.andNot(outOfRange(byPriceBucket[low], within, min, max));
+        }
+        if (filter.maxPrice() != null && (high != low || filter.minPrice() == null)) {
+            within.andNot(outOfRange(byPriceBucket[high], within, min, max));
+        }
+        return within;
+    }
+
+    /** Products in both {@code bucket} and {@code candidates} whose exact price is outside {@code [min, max]}. */
+    private RoaringBitmap outOfRange(RoaringBitmap bucket, RoaringBitmap candidates, long min, long max) {
+        RoaringBitmapWriter<RoaringBitmap> outside = RoaringBitmapWriter.writer().get();
+        RoaringBitmap.and(bucket, candidates).forEach((int id) -> {
+            long cents = centsById.get(id);
+            if (cents < min || cents > max) {
+                outside.add(id);
+            }
+        });
+        return outside.get();
+    }
+
+    /** Products in buckets {@code 0..bucket-1}. */
+    private RoaringBitmap below(int bucket) {
+        if (bucket == 0) {
+            return new RoaringBitmap();
+        }
+        return bucket > belowBound.length ? all : belowBound[bucket - 1];
+    }
+
+    private int bucketOf(long cents) {
+        int pos = Arrays.binarySearch(bucketBounds, cents);
+        return pos >= 0 ? pos + 1 : -pos - 1;
+    }
+
+    private static long cents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /** Loads a page of ids as DTOs, preserving their order. */
+    private List<ProductDTO> load(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductDTO> loaded = productRepository.findProjectedByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(loaded::get)
+                .filter(product -> product != null)
+                .toList();
+    }
+
+    // ===================== DOCUMENT =====================
+
+    /** What the bitmaps were built from, so an update or delete can unlink the old state. */
+    private record FilteredProduct(int id, String category, long cents, boolean inStock, long version) {}
+}
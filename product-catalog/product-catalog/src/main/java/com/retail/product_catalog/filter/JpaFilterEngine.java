@@ -0,0 +1,27 @@
+package com.retail.product_catalog.filter;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.repository.ProductRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fallback engine: one page query plus a count, straight against the table.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.filter.engine", havingValue = "jpa")
+public class JpaFilterEngine implements ProductFilterEngine {
+
+    private final ProductRepository productRepository;
+
+    public JpaFilterEngine(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public Page<ProductDTO> filter(ProductFilter filter, Pageable pageable) {
+        return productRepository.findFiltered(filter, pageable);
+    }
+}
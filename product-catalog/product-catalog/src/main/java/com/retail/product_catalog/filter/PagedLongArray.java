@@ -0,0 +1,40 @@
+package com.retail.product_catalog.filter;
+
+import java.util.Arrays;
+
+/**
+ * A {@code long} per non-negative {@code int} key, stored in pages of 4096 that are
+ * allocated on first use. Product ids come from a sequence, so pages fill densely and
+ * reading the values of ascending ids walks memory in order; unlike a hash map there
+ * is no boxing and no pointer chasing. Not thread-safe; {@link BitmapFilterEngine}
+ * guards access.
+ */
+final class PagedLongArray {
+
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+    private long[][] pages = new long[16][];
+
+    long get(int key) {
+        int page = key >>> PAGE_BITS;
+        if (page >= pages.length || pages[page] == null) {
+            throw new IllegalStateException("No value for " + key);
+        }
+        return pages[page][key & PAGE_MASK];
+    }
+
+    void set(int key, long value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Negative key: " + key);
+        }
+        int page = key >>> PAGE_BITS;
+        if (page >= pages.length) {
+            pages = Arrays.copyOf(pages, Math.max(page + 1, pages.length * 2));
+        }
+        if (pages[page] == null) {
+            pages[page] = new long[1 << PAGE_BITS];
+        }
+        pages[page][key & PAGE_MASK] = value;
+    }
+}
@@ -0,0 +1,55 @@
+package com.retail.product_catalog.filter;
+
+import com.retail.product_catalog.exception.BadRequestException;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The criteria of {@code GET /api/products/filter}; every part is optional and the
+ * parts are combined with AND.
+ *
+ * @param categories lower-cased categories, any of which matches (empty: all)
+ * @param minPrice   inclusive lower price bound, or {@code null}
+ * @param maxPrice   inclusive upper price bound, or {@code null}
+ * @param inStock    only products with {@code stockQuantity > 0}
+ */
+public record ProductFilter(Set<String> categories, BigDecimal minPrice, BigDecimal maxPrice, boolean inStock) {
+
+    public static ProductFilter of(Collection<String> categories, BigDecimal minPrice, BigDecimal maxPrice,
+                                   boolean inStock) {
+        if (minPrice != null && minPrice.signum() < 0 || maxPrice != null && maxPrice.signum() < 0) {
+            throw new BadRequestException("minPrice and maxPrice must not be negative");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new BadRequestException("minPrice must not be greater than maxPrice");
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        if (categories != null) {
+            for (String category : categories) {
+                if (category != null && !category.isBlank()) {
+                    keys.add(categoryKey(category));
+                }
+            }
+        }
+        return new ProductFilter(Set.copyOf(keys), minPrice, maxPrice, inStock);
+    }
+
+    /** Categories compare case-insensitively, as they do under MySQL's default collation. */
+    public static String categoryKey(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean priceInRange(BigDecimal price) {
+        return (minPrice == null || price.compareTo(minPrice) >= 0)
+                && (maxPrice == null || price.compareTo(maxPrice) <= 0);
+    }
+}
@@ -0,0 +1,15 @@
+package com.retail.product_catalog.filter;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Backs {@code ProductService.filterProducts}. The implementation is chosen with
+ * {@code catalog.filter.engine}: {@code bitmap} (default) or {@code jpa}.
+ */
+public interface ProductFilterEngine {
+
+    /** Matching products in id order; the sort of {@code pageable} is ignored. */
+    Page<ProductDTO> filter(ProductFilter filter, Pageable pageable);
+}
@@ -0,0 +1,270 @@
+package com.retail.product_catalog.live;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.ProductPriceStock;
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes price and stock changes to {@code GET /api/products/live} subscribers.
+ *
+ * <p>Subscribers are indexed by product id and by category, so an update only touches
+ * the connections that asked for it; idle connections cost a map entry and an async
+ * request, no thread. Changes are collected per product and flushed every
+ * {@code catalog.live.coalesce-window}, so a burst of writes to one product goes out
+ * once, in its latest state. Sends run on a small pool of sender threads, at most one
+ * per subscriber at a time; a subscriber that cannot keep up accumulates at most
+ * {@code catalog.live.max-pending} products and is then told to {@code resync} and
+ * disconnected (see {@link Subscriber}).
+ *
+ * <p>Follows {@link ProductChangedEvent}s, so only writes made through this instance
+ * are pushed; clients of other instances catch up on their next page load.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ProductUpdateBroadcaster {
+
+    private final Duration coalesceWindow;
+    private final Duration heartbeatInterval;
+    private final Duration timeout;
+    private final int maxPending;
+    private final int maxKeys;
+
+    private final Map<Long, Set<Subscriber>> byProduct = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byCategory = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, ProductPriceStock> pending = new ConcurrentHashMap<>();
+
+    private final Counter published;
+    private final Counter coalesced;
+    private final Counter dropped;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "live-update-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService senders;
+
+    public ProductUpdateBroadcaster(MeterRegistry meterRegistry,
+                                    @Value("${catalog.live.coalesce-window:250ms}") Duration coalesceWindow,
+                                    @Value("${catalog.live.heartbeat-interval:25s}") Duration heartbeatInterval,
+                                    @Value("${catalog.live.timeout:30m}") Duration timeout,
+                                    @Value("${catalog.live.max-pending:256}") int maxPending,
+                                    @Value("${catalog.live.max-keys:100}") int maxKeys,
+                                    @Value("${catalog.live.sender-threads:4}") int senderThreads) {
+        this.coalesceWindow = coalesceWindow;
+        this.heartbeatInterval = heartbeatInterval;
+        this.timeout = timeout;
+        this.maxPending = maxPending;
+        this.maxKeys = maxKeys;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-update-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("catalog.live.subscribers", subscribers, Set::size)
+                .description("Open live update streams")
+                .register(meterRegistry);
+        this.published = Counter.builder("catalog.live.updates")
+                .description("Price and stock updates sent to subscribers")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("catalog.live.coalesced")
+                .description("Updates superseded by a later update of the same product before being sent")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("catalog.live.dropped")
+                .description("Subscribers disconnected for falling too far behind")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        long flushMillis = coalesceWindow.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.emitter().complete();
+        }
+    }
+
+    // ===================== SUBSCRIPTIONS =====================
+
+    public SseEmitter subscribe(Collection<Long> productIds, Collection<String> categories) {
+        Set<Long> ids = productIds == null ? Set.of() : new LinkedHashSet<>(productIds);
+        Set<String> names = categories == null ? Set.of() : new LinkedHashSet<>(categories);
+        if (ids.isEmpty() && names.isEmpty()) {
+            throw new BadRequestException("Subscribe to at least one id or category");
+        }
+        if (ids.size() + names.size() > maxKeys) {
+            throw new BadRequestException("At most " + maxKeys + " ids and categories per subscription");
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeout.toMillis()), ids, names, maxPending);
+        SseEmitter emitter = subscriber.emitter();
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(ex -> unregister(subscriber));
+        register(subscriber);
+        return emitter;
+    }
+
+    void register(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        for (Long id : subscriber.productIds()) {
+            add(byProduct, id, subscriber);
+        }
+        for (String category : subscriber.categories()) {
+            add(byCategory, category, subscriber);
+        }
+    }
+
+    /** Returns {@code false} when the subscriber was already gone. */
+    boolean unregister(Subscriber subscriber) {
+        subscriber.close();
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        for (Long id : subscriber.productIds()) {
+            remove(byProduct, id, subscriber);
+        }
+        for (String category : subscriber.categories()) {
+            remove(byCategory, category, subscriber);
+        }
+        return true;
+    }
+
+    // Both go through compute, so dropping a key with its last subscriber cannot lose a concurrent add
+    private static <K> void add(Map<K, Set<Subscriber>> index, K key, Subscriber subscriber) {
+        index.compute(key, (k, set) -> {
+            Set<Subscriber> subscribed = set == null ? ConcurrentHashMap.newKeySet() : set;
+            subscribed.add(subscriber);
+            return subscribed;
+        });
+    }
+
+    private static <K> void remove(Map<K, Set<Subscriber>> index, K key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // ===================== PUBLISHING =====================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() != ProductChangedEvent.Type.SAVED || subscribers.isEmpty()) {
+            return;
+        }
+        ProductDTO product = event.getProduct();
+        ProductDTO previous = event.getPrevious();
+        if (previous != null && samePrice(previous, product)
+                && Objects.equals(previous.getStockQuantity(), product.getStockQuantity())) {
+            return;
+        }
+        if (!byProduct.containsKey(product.getId()) && !byCategory.containsKey(product.getCategory())) {
+            return;
+        }
+        if (pending.put(product.getId(), ProductPriceStock.of(product)) != null) {
+            coalesced.increment();
+        }
+    }
+
+    private static boolean samePrice(ProductDTO a, ProductDTO b) {
+        return a.getPrice() == null ? b.getPrice() == null
+                : b.getPrice() != null && a.getPrice().compareTo(b.getPrice()) == 0;
+    }
+
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // Removing entry by entry keeps an update that races the drain for the next flush
+        Map<Long, ProductPriceStock> batch = new HashMap<>();
+        for (Long id : List.copyOf(pending.keySet())) {
+            ProductPriceStock update = pending.remove(id);
+            if (update != null) {
+                batch.put(id, update);
+            }
+        }
+
+        for (ProductPriceStock update : batch.values()) {
+            Set<Subscriber> forCategory = byCategory.getOrDefault(update.getCategory(), Set.of());
+            for (Subscriber subscriber : forCategory) {
+                deliver(subscriber, update);
+            }
+            for (Subscriber subscriber : byProduct.getOrDefault(update.getId(), Set.of())) {
+                if (!forCategory.contains(subscriber)) {
+                    deliver(subscriber, update);
+                }
+            }
+        }
+    }
+
+    void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offerHeartbeat()) {
+                send(subscriber);
+            }
+        }
+    }
+
+    private void deliver(Subscriber subscriber, ProductPriceStock update) {
+        if (subscriber.offer(update)) {
+            send(subscriber);
+        }
+        if (subscriber.isClosed() && unregister(subscriber) && subscriber.isOverflowed()) {
+            dropped.increment();
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            senders.execute(() -> published.increment(subscriber.drain()));
+        } catch (RejectedExecutionException ex) {
+            // Shutting down
+            subscriber.close();
+        }
+    }
+}
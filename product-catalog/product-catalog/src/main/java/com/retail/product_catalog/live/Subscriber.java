@@ -0,0 +1,148 @@
+package com.retail.product_catalog.live;
+
+import com.retail.product_catalog.dto.ProductPriceStock;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One SSE connection and what it subscribed to. Updates wait in a map keyed by product,
+ * so a client that falls behind holds at most the latest update of each product; once
+ * more than {@code maxPending} products are waiting it is sent {@code resync} and
+ * disconnected. At most one sender thread drains a subscriber at a time, so a slow
+ * client ties up one sender and nobody else's updates.
+ */
+final class Subscriber {
+
+    static final String UPDATE_EVENT = "product";
+    static final String RESYNC_EVENT = "resync";
+
+    private final SseEmitter emitter;
+    private final Set<Long> productIds;
+    private final Set<String> categories;
+    private final int maxPending;
+
+    // Guarded by this
+    private final Map<Long, ProductPriceStock> pending = new LinkedHashMap<>();
+    private boolean heartbeatDue;
+    private boolean draining;
+    private boolean overflowed;
+    private boolean resyncDue;
+    private boolean closed;
+
+    Subscriber(SseEmitter emitter, Set<Long> productIds, Set<String> categories, int maxPending) {
+        this.emitter = emitter;
+        this.productIds = productIds;
+        this.categories = categories;
+        this.maxPending = maxPending;
+    }
+
+    SseEmitter emitter() { return emitter; }
+    Set<Long> productIds() { return productIds; }
+    Set<String> categories() { return categories; }
+
+    // ===================== QUEUEING =====================
+
+    /** Queues {@code update}; {@code true} when the caller has to schedule {@link #drain()}. */
+    synchronized boolean offer(ProductPriceStock update) {
+        if (closed) {
+            return false;
+        }
+        pending.put(update.getId(), update);
+        if (pending.size() > maxPending) {
+            pending.clear();
+            overflowed = true;
+            resyncDue = true;
+            closed = true;
+        }
+        return schedule();
+    }
+
+    /** Asks for a comment line if nothing else is sent, to keep proxies from timing the stream out. */
+    synchronized boolean offerHeartbeat() {
+        if (closed) {
+            return false;
+        }
+        heartbeatDue = true;
+        return schedule();
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /** Whether it was closed for falling more than {@code maxPending} products behind. */
+    synchronized boolean isOverflowed() {
+        return overflowed;
+    }
+
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+        heartbeatDue = false;
+    }
+
+    private boolean schedule() {
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    // ===================== SENDING =====================
+
+    /** Sends everything queued, including what arrives meanwhile; returns the number of updates sent. */
+    int drain() {
+        int sent = 0;
+        while (true) {
+            List<ProductPriceStock> batch;
+            boolean heartbeat;
+            boolean resync;
+            synchronized (this) {
+                if (!closed && pending.isEmpty() && !heartbeatDue) {
+                    draining = false;
+                    return sent;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                heartbeat = heartbeatDue && batch.isEmpty();
+                heartbeatDue = false;
+                resync = resyncDue;
+                resyncDue = false;
+                if (closed) {
+                    draining = false;
+                }
+            }
+            if (batch.isEmpty() && !heartbeat && !resync) {
+                // Closed: the emitter has been completed or errored already
+                return sent;
+            }
+
+            try {
+                for (ProductPriceStock update : batch) {
+                    emitter.send(SseEmitter.event().name(UPDATE_EVENT).data(update));
+                    sent++;
+                }
+                if (heartbeat) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                if (resync) {
+                    emitter.send(SseEmitter.event().name(RESYNC_EVENT).data("too far behind; reload and resubscribe"));
+                    emitter.complete();
+                    return sent;
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // The client went away, or the emitter already completed
+                close();
+                emitter.completeWithError(ex);
+                return sent;
+            }
+        }
+    }
+}
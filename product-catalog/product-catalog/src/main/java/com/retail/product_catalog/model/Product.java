@@ -1,14 +1,38 @@
 package com.retail.product_catalog.model;
 
+import com.retail.product_catalog.config.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import java.math.BigDecimal;
+import java.time.Instant;
 
+// One index per ProductSort ordering, with and without the category filter, each
+// ending in id so pages come off the index in (key, id) order without a filesort.
+// Created by migration V4; declared here so test schemas generated from the entity
+// match.
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_id", columnList = "category, id"),
+        @Index(name = "idx_products_category_name", columnList = "category, name, id"),
+        @Index(name = "idx_products_category_price", columnList = "category, price, id"),
+        @Index(name = "idx_products_category_stock", columnList = "category, stock_quantity, id"),
+        @Index(name = "idx_products_name", columnList = "name, id"),
+        @Index(name = "idx_products_price", columnList = "price, id"),
+        @Index(name = "idx_products_stock", columnList = "stock_quantity, id"),
+        @Index(name = "idx_products_updated", columnList = "updated_at, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PRODUCT)
 public class Product {
 
+    // Pooled sequence (a table on MySQL) instead of IDENTITY: Hibernate can only batch
+    // INSERTs when it knows the ids up front. One round trip reserves 50 ids.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_id")
+    @SequenceGenerator(name = "product_id", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -29,6 +53,17 @@ public class Product {
     @Column(nullable = false, length = 500)
     private String imageUrl;
 
+    // Drives the ETag of every product response and optimistic locking on update.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Last-Modified of product responses, and the position of the product in the
+    // change feed.
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt;
+
     // ===================== CONSTRUCTORS =====================
 
     public Product() {}
@@ -52,6 +87,8 @@ public class Product {
     public String getCategory() { return category; }
     public Integer getStockQuantity() { return stockQuantity; }
     public String getImageUrl() { return imageUrl; }
+    public Long getVersion() { return version; }
+    public Instant getUpdatedAt() { return updatedAt; }
 
     // ===================== SETTERS =====================
 
@@ -0,0 +1,42 @@
+package com.retail.product_catalog.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Left behind by a deleted product so the change feed can report the delete. Kept
+ * for {@code catalog.changes.tombstone-retention}, then purged.
+ */
+@Entity
+@Table(name = "product_tombstones", indexes = {
+        @Index(name = "idx_product_tombstones_deleted", columnList = "deleted_at, product_id")
+})
+public class ProductTombstone implements Persistable<Long> {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    protected ProductTombstone() {}
+
+    public ProductTombstone(Long productId, Instant deletedAt) {
+        this.productId = productId;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getProductId() { return productId; }
+    public Instant getDeletedAt() { return deletedAt; }
+
+    // Product ids are never reused, so a tombstone is always new: saved with a plain
+    // INSERT rather than a SELECT to decide between insert and merge
+    @Override
+    public Long getId() { return productId; }
+
+    @Override
+    public boolean isNew() { return true; }
+}
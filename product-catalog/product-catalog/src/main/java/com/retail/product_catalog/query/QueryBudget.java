@@ -0,0 +1,22 @@
+package com.retail.product_catalog.query;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements one request to this endpoint may issue, cold cache included.
+ * Endpoints without it get {@code catalog.query-budget.default-statements}.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    /** No budget and no N+1 check, for endpoints whose SQL grows with the request (bulk writes). */
+    int UNLIMITED = -1;
+
+    int value();
+}
@@ -0,0 +1,62 @@
+package com.retail.product_catalog.query;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL accounting, on unless {@code catalog.query-budget.mode=off}:
+ * <pre>
+ * catalog.query-budget.mode                 log | header | fail | off
+ * catalog.query-budget.default-statements   budget of endpoints without @QueryBudget
+ * catalog.query-budget.repeat-threshold     identical SELECTs in one request reported as N+1
+ * </pre>
+ */
+@Configuration
+@ConditionalOnExpression("'${catalog.query-budget.mode:log}' != 'off'")
+public class QueryBudgetConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector",
+                new QueryCountingStatementInspector());
+    }
+
+    @Bean
+    public static BeanPostProcessor queryTrackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof QueryTrackingDataSource)
+                        ? new QueryTrackingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+            @Value("${catalog.query-budget.mode:log}") String mode,
+            @Value("${catalog.query-budget.default-statements:10}") int defaultBudget,
+            @Value("${catalog.query-budget.repeat-threshold:5}") int repeatThreshold,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+
+        QueryBudgetFilter filter = new QueryBudgetFilter(mode, defaultBudget, repeatThreshold,
+                meterRegistry.getIfAvailable());
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(filter);
+        // Ahead of Spring Security, so user lookups for authentication are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,12 @@
+package com.retail.product_catalog.query;
+
+/**
+ * Thrown after a request went over its {@link QueryBudget} or repeated a SELECT,
+ * when {@code catalog.query-budget.mode=fail} (meant for tests).
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,157 @@
+package com.retail.product_catalog.query;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Measures the SQL of each request and checks it against the endpoint's
+ * {@link QueryBudget}. What happens on a violation depends on the mode:
+ * <ul>
+ *   <li>{@code log}: a warning with the counts and any repeated SELECT</li>
+ *   <li>{@code header}: the same, plus {@code X-Query-Count}, {@code X-Query-Rows} and
+ *       {@code X-Query-Time-Ms} on every response (as of the first body write)</li>
+ *   <li>{@code fail}: the warning, then {@link QueryBudgetExceededException}</li>
+ * </ul>
+ * Statements per request are also published as {@code catalog.request.statements}.
+ * Work handed to other threads (streamed exports, imports) is not counted.
+ */
+class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final String mode;
+    private final int defaultBudget;
+    private final int repeatThreshold;
+    private final MeterRegistry meterRegistry;
+
+    QueryBudgetFilter(String mode, int defaultBudget, int repeatThreshold, MeterRegistry meterRegistry) {
+        this.mode = mode;
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        QueryStats stats = QueryStats.open();
+        StatsHeaders headers = mode.equals("header") ? new StatsHeaders(response, stats) : null;
+        try {
+            filterChain.doFilter(request, headers != null ? headers : response);
+        } finally {
+            stats.close();
+        }
+        if (headers != null) {
+            headers.write();
+        }
+
+        check(request, stats);
+    }
+
+    private void check(HttpServletRequest request, QueryStats stats) {
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+
+        if (meterRegistry != null) {
+            // Unmatched URIs share one tag value, so 404 probes cannot grow the tag set
+            DistributionSummary.builder("catalog.request.statements")
+                    .tag("endpoint", pattern != null ? endpoint : request.getMethod() + " UNMATCHED")
+                    .register(meterRegistry)
+                    .record(stats.getStatements());
+        }
+
+        int budget = budgetOf(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+        if (budget == QueryBudget.UNLIMITED) {
+            return;
+        }
+        boolean overBudget = stats.getStatements() > budget;
+        Map<String, Integer> repeated = stats.getRepeatedSelects(repeatThreshold);
+        if (!overBudget && repeated.isEmpty()) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder(endpoint).append(": ").append(stats)
+                .append(" (budget ").append(budget).append(" statements)");
+        repeated.forEach((sql, count) ->
+                message.append("\n  possible N+1, ").append(count).append("x: ").append(sql));
+        log.warn(message.toString());
+
+        if (mode.equals("fail")) {
+            throw new QueryBudgetExceededException(message.toString());
+        }
+    }
+
+    private int budgetOf(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), QueryBudget.class);
+            if (budget == null) {
+                budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), QueryBudget.class);
+            }
+            if (budget != null) {
+                return budget.value();
+            }
+        }
+        return defaultBudget;
+    }
+
+    /** Adds the counts as headers just before the response body starts, while headers can still be set. */
+    private static final class StatsHeaders extends HttpServletResponseWrapper {
+
+        private final QueryStats stats;
+        private boolean written;
+
+        StatsHeaders(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            write();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            write();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            write();
+            super.flushBuffer();
+        }
+
+        void write() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader("X-Query-Count", String.valueOf(stats.getStatements()));
+            setHeader("X-Query-Rows", String.valueOf(stats.getRowsFetched()));
+            setHeader("X-Query-Time-Ms", String.valueOf(stats.getDbTime().toMillis()));
+        }
+    }
+}
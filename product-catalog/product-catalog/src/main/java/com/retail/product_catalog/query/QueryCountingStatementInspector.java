@@ -0,0 +1,16 @@
+package com.retail.product_catalog.query;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Sees every SQL string Hibernate prepares, before it reaches the driver, and
+ * counts it against the open {@link QueryStats} scope. The SQL is not changed.
+ */
+class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats.statementPrepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,112 @@
+package com.retail.product_catalog.query;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL issued on the current thread between {@link #open()} and {@link #close()}:
+ * statements prepared (counted by Hibernate's statement inspector), rows read and
+ * time spent executing (counted at the JDBC level).
+ *
+ * <p>Scopes nest: what is recorded in an inner scope also counts for the outer ones,
+ * so a test can measure around a request that the request filter measures too.
+ */
+public final class QueryStats implements AutoCloseable {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats parent;
+    private final Map<String, Integer> selects = new LinkedHashMap<>();
+    private int statements;
+    private long rowsFetched;
+    private long dbNanos;
+    private boolean closed;
+
+    private QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    public static QueryStats open() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("Query stats scopes must be closed innermost first");
+        }
+        closed = true;
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+        }
+    }
+
+    // ===================== RECORDING =====================
+
+    static void statementPrepared(String sql) {
+        boolean select = sql.regionMatches(true, 0, "select", 0, 6);
+        for (QueryStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.statements++;
+            if (select) {
+                stats.selects.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    static void rowFetched() {
+        for (QueryStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.rowsFetched++;
+        }
+    }
+
+    static void executed(long nanos) {
+        for (QueryStats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.dbNanos += nanos;
+        }
+    }
+
+    // ===================== RESULTS =====================
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public Duration getDbTime() {
+        return Duration.ofNanos(dbNanos);
+    }
+
+    /**
+     * Identical SELECTs issued at least {@code threshold} times, with their counts:
+     * the signature of an N+1 (one query per row of an earlier result).
+     */
+    public Map<String, Integer> getRepeatedSelects(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        selects.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rowsFetched + " rows, " + getDbTime().toMillis() + " ms in the database";
+    }
+}
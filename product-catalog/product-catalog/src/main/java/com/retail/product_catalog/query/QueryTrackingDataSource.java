@@ -0,0 +1,93 @@
+package com.retail.product_catalog.query;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times statement execution and counts rows read for the open {@link QueryStats}
+ * scope. Connections taken outside a scope (imports, startup) are handed out
+ * unwrapped, so background work pays nothing.
+ */
+class QueryTrackingDataSource extends DelegatingDataSource {
+
+    QueryTrackingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private static Connection track(Connection connection) {
+        return QueryStats.isActive() ? wrap(Connection.class, connection) : connection;
+    }
+
+    private static <T> T wrap(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(QueryTrackingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, new Tracking(target)));
+    }
+
+    private static Statement wrapStatement(Statement statement) {
+        if (statement instanceof CallableStatement callable) {
+            return wrap(CallableStatement.class, callable);
+        }
+        if (statement instanceof PreparedStatement prepared) {
+            return wrap(PreparedStatement.class, prepared);
+        }
+        return wrap(Statement.class, statement);
+    }
+
+    private record Tracking(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+
+            boolean execute = target instanceof Statement && name.startsWith("execute");
+            long started = execute ? System.nanoTime() : 0;
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            } finally {
+                if (execute) {
+                    QueryStats.executed(System.nanoTime() - started);
+                }
+            }
+
+            if (target instanceof ResultSet && name.equals("next") && Boolean.TRUE.equals(result)) {
+                QueryStats.rowFetched();
+            } else if (target instanceof Connection && result instanceof Statement statement) {
+                return wrapStatement(statement);
+            } else if (target instanceof Statement && result instanceof ResultSet resultSet
+                    && !name.equals("getGeneratedKeys")) {
+                return wrap(ResultSet.class, resultSet);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.retail.product_catalog.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.time.Duration;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Read-only WebFlux stack for catalog read nodes, active when the application runs as
+ * a reactive web application (the {@code reactive} profile). Writes, imports and the
+ * admin API are only served by servlet deployments.
+ *
+ * <p>Connections come from an R2DBC pool of their own; Spring Boot's R2DBC
+ * auto-configuration is excluded so servlet deployments never open one.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig implements DisposableBean {
+
+    // ===================== ROUTES =====================
+
+    @Bean
+    public RouterFunction<ServerResponse> productReadRoutes(ReactiveProductHandler handler) {
+        return route()
+                .path("/api/products", builder -> builder
+                        .GET("", handler::getAllProducts)
+                        .GET("/search", handler::searchProducts)
+                        .GET("/category/{category}", handler::getByCategory)
+                        .GET("/{id}", handler::getProductById))
+                .onError(ex -> true, handler::handleError)
+                .build();
+    }
+
+    // ===================== R2DBC =====================
+
+    // The pool is deliberately not a ConnectionFactory bean: DataSourceAutoConfiguration
+    // backs off when one exists, and JPA still needs its DataSource on read nodes.
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient(
+            @Value("${catalog.reactive.r2dbc.url:r2dbc:mysql://localhost:3306/product_catalog}") String url,
+            @Value("${catalog.reactive.r2dbc.username:${spring.datasource.username:root}}") String username,
+            @Value("${catalog.reactive.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${catalog.reactive.r2dbc.pool-size:20}") int poolSize,
+            @Value("${catalog.reactive.r2dbc.acquire-timeout:5s}") Duration acquireTimeout) {
+
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("catalog-reactive")
+                .initialSize(Math.min(poolSize, 2))
+                .maxSize(poolSize)
+                .maxAcquireTime(acquireTimeout)
+                .build());
+
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    // ===================== SERVER =====================
+
+    // Tomcat is on the classpath for servlet deployments and would otherwise be
+    // picked ahead of Netty for the reactive server too.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,157 @@
+package com.retail.product_catalog.reactive;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.exception.ErrorResponse;
+import com.retail.product_catalog.exception.ResourceNotFoundException;
+import com.retail.product_catalog.service.ProductCursor;
+import com.retail.product_catalog.service.ProductSort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterparts of the {@code GET} handlers in {@code ProductController},
+ * with the same parameters and the same JSON. Asking for {@code application/x-ndjson}
+ * streams every matching product instead of one page.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductHandler {
+
+    private final ReactiveProductRepository repository;
+
+    public ReactiveProductHandler(ReactiveProductRepository repository) {
+        this.repository = repository;
+    }
+
+    // ===================== LISTINGS =====================
+
+    public Mono<ServerResponse> getAllProducts(ServerRequest request) {
+        return Mono.defer(() -> list(request, null, null));
+    }
+
+    public Mono<ServerResponse> searchProducts(ServerRequest request) {
+        return Mono.defer(() -> list(request, null, requiredParam(request, "keyword")));
+    }
+
+    public Mono<ServerResponse> getByCategory(ServerRequest request) {
+        return Mono.defer(() -> list(request, request.pathVariable("category"), null));
+    }
+
+    private Mono<ServerResponse> list(ServerRequest request, String category, String keyword) {
+        String sortBy = request.queryParam("sortBy").orElse("id");
+        ProductSort sort = ProductSort.fromProperty(sortBy);
+
+        if (wantsStream(request)) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(repository.stream(category, keyword, sort), ProductDTO.class);
+        }
+
+        int size = intParam(request, "size", 5);
+        if (size < 1) {
+            throw new BadRequestException("size must be at least 1");
+        }
+
+        String after = request.queryParam("after").orElse(null);
+        if (after != null) {
+            ProductCursor cursor = ProductCursor.decode(after, sort);
+            return repository.findSlice(category, keyword, sort, cursor, size + 1)
+                    .collectList()
+                    .flatMap(rows -> ServerResponse.ok().bodyValue(ProductCursor.toPage(rows, sort, size)));
+        }
+
+        int page = intParam(request, "page", 0);
+        if (page < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+        PageRequest pageable = PageRequest.of(page, size, sort.toSort());
+
+        return Mono.zip(
+                        repository.findPage(category, keyword, sort, pageable.getOffset(), size).collectList(),
+                        repository.count(category, keyword))
+                .flatMap(result -> ServerResponse.ok()
+                        .bodyValue(new PageImpl<>(result.getT1(), pageable, result.getT2())));
+    }
+
+    // ===================== GET BY ID =====================
+
+    public Mono<ServerResponse> getProductById(ServerRequest request) {
+        return Mono.defer(() -> {
+            long id = longValue(request.pathVariable("id"), "id");
+
+            return repository.findById(id)
+                    .switchIfEmpty(Mono.error(
+                            new ResourceNotFoundException("Product not found with id: " + id)))
+                    .flatMap(product -> {
+                        String eTag = "\"" + product.getVersion() + "\"";
+                        return request.checkNotModified(product.getUpdatedAt(), eTag)
+                                .switchIfEmpty(ServerResponse.ok()
+                                        .eTag(eTag)
+                                        .lastModified(product.getUpdatedAt())
+                                        .bodyValue(product));
+                    });
+        });
+    }
+
+    // ===================== ERRORS =====================
+
+    // Same status codes and ErrorResponse body as GlobalExceptionHandler
+
+    public Mono<ServerResponse> handleError(Throwable error, ServerRequest request) {
+        if (error instanceof ResourceNotFoundException) {
+            return error(HttpStatus.NOT_FOUND, error.getMessage());
+        }
+        if (error instanceof BadRequestException) {
+            return error(HttpStatus.BAD_REQUEST, error.getMessage());
+        }
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(status.value(), message, LocalDateTime.now()));
+    }
+
+    // ===================== PARAMETERS =====================
+
+    private static boolean wantsStream(ServerRequest request) {
+        return request.headers().accept().stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
+
+    private static String requiredParam(ServerRequest request, String name) {
+        return request.queryParam(name)
+                .orElseThrow(() -> new BadRequestException("Missing request parameter: " + name));
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name)
+                .map(raw -> {
+                    try {
+                        return Integer.parseInt(raw);
+                    } catch (NumberFormatException ex) {
+                        throw new BadRequestException("Invalid " + name + ": " + raw);
+                    }
+                })
+                .orElse(defaultValue);
+    }
+
+    private static long longValue(String raw, String name) {
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid " + name + ": " + raw);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.retail.product_catalog.reactive;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.service.ProductCursor;
+import com.retail.product_catalog.service.ProductSort;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The product reads of {@code ProductRepository}, over R2DBC. Rows are mapped straight
+ * into {@link ProductDTO} as they arrive, so a {@link Flux} returned here can be
+ * written to the response one row at a time under the subscriber's demand.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS = "id, name, description, price, category, stock_quantity, "
+            + "image_url, version, updated_at";
+
+    // '!' rather than '\': a backslash literal reads differently on MySQL and H2
+    private static final char LIKE_ESCAPE = '!';
+
+    private final DatabaseClient client;
+    private final int fetchSize;
+
+    public ReactiveProductRepository(DatabaseClient client,
+                                     @Value("${catalog.reactive.fetch-size:500}") int fetchSize) {
+        this.client = client;
+        this.fetchSize = fetchSize;
+    }
+
+    // ===================== BY ID =====================
+
+    public Mono<ProductDTO> findById(long id) {
+        return client.sql("SELECT " + COLUMNS + " FROM products WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toDTO)
+                .one();
+    }
+
+    // ===================== PAGES =====================
+
+    public Flux<ProductDTO> findPage(String category, String nameContains,
+                                     ProductSort sort, long offset, int limit) {
+        Filter filter = new Filter(category, nameContains, null, sort);
+        filter.binds.put("limit", limit);
+        filter.binds.put("offset", offset);
+
+        return select(filter, " LIMIT :limit OFFSET :offset")
+                .map(ReactiveProductRepository::toDTO)
+                .all();
+    }
+
+    public Mono<Long> count(String category, String nameContains) {
+        Filter filter = new Filter(category, nameContains, null, null);
+
+        return sql("SELECT COUNT(*) FROM products" + filter.where, filter)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    // ===================== KEYSET SLICES =====================
+
+    /** Same contract as {@code ProductKeysetRepository.findSlice}. */
+    public Flux<ProductDTO> findSlice(String category, String nameContains,
+                                      ProductSort sort, ProductCursor after, int limit) {
+        Filter filter = new Filter(category, nameContains, after, sort);
+        filter.binds.put("limit", limit);
+
+        return select(filter, " LIMIT :limit")
+                .map(ReactiveProductRepository::toDTO)
+                .all();
+    }
+
+    // ===================== STREAMS =====================
+
+    /**
+     * Every matching row in sort order. Rows are fetched {@code fetch-size} at a time
+     * and only as fast as the subscriber requests them.
+     */
+    public Flux<ProductDTO> stream(String category, String nameContains, ProductSort sort) {
+        return select(new Filter(category, nameContains, null, sort), "")
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map(ReactiveProductRepository::toDTO)
+                .all();
+    }
+
+    // ===================== SQL =====================
+
+    private DatabaseClient.GenericExecuteSpec select(Filter filter, String limit) {
+        return sql("SELECT " + COLUMNS + " FROM products" + filter.where + filter.orderBy + limit, filter);
+    }
+
+    private DatabaseClient.GenericExecuteSpec sql(String sql, Filter filter) {
+        DatabaseClient.GenericExecuteSpec spec = client.sql(sql);
+        for (Map.Entry<String, Object> bind : filter.binds.entrySet()) {
+            spec = spec.bind(bind.getKey(), bind.getValue());
+        }
+        return spec;
+    }
+
+    /** WHERE and ORDER BY clauses with their named bind values. */
+    private static final class Filter {
+
+        private final Map<String, Object> binds = new LinkedHashMap<>();
+        private final String where;
+        private final String orderBy;
+
+        Filter(String category, String nameContains, ProductCursor after, ProductSort sort) {
+            StringBuilder sql = new StringBuilder();
+
+            if (category != null) {
+                and(sql, "category = :category");
+                binds.put("category", category);
+            }
+            if (nameContains != null) {
+                and(sql, "LOWER(name) LIKE :name ESCAPE '" + LIKE_ESCAPE + "'");
+                binds.put("name", "%" + escapeLike(nameContains.toLowerCase(Locale.ROOT)) + "%");
+            }
+            if (after != null) {
+                if (sort == ProductSort.ID) {
+                    and(sql, "id > :afterId");
+                } else {
+                    String key = column(sort);
+                    and(sql, "(" + key + " > :afterValue OR (" + key + " = :afterValue AND id > :afterId))");
+                    binds.put("afterValue", after.getValue());
+                }
+                binds.put("afterId", after.getId());
+            }
+
+            this.where = sql.toString();
+            if (sort == null) {
+                this.orderBy = "";
+            } else if (sort == ProductSort.ID) {
+                this.orderBy = " ORDER BY id";
+            } else {
+                this.orderBy = " ORDER BY " + column(sort) + ", id";
+            }
+        }
+
+        private static void and(StringBuilder sql, String condition) {
+            sql.append(sql.length() == 0 ? " WHERE " : " AND ").append(condition);
+        }
+    }
+
+    private static String column(ProductSort sort) {
+        return switch (sort) {
+            case ID -> "id";
+            case NAME -> "name";
+            case PRICE -> "price";
+            case CATEGORY -> "category";
+            case STOCK_QUANTITY -> "stock_quantity";
+        };
+    }
+
+    private static String escapeLike(String term) {
+        String escape = String.valueOf(LIKE_ESCAPE);
+        return term.replace(escape, escape + escape)
+                .replace("%", escape + "%")
+                .replace("_", escape + "_");
+    }
+
+    // ===================== MAPPING =====================
+
+    private static ProductDTO toDTO(Readable row) {
+        return new ProductDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("category", String.class),
+                row.get("stock_quantity", Integer.class),
+                row.get("image_url", String.class),
+                row.get("version", Long.class),
+                toInstant(row.get("updated_at"))
+        );
+    }
+
+    // Hibernate writes updated_at in UTC; drivers hand it back as whichever
+    // temporal type matches the column (DATETIME on MySQL, TIMESTAMP WITH TIME ZONE on H2).
+    private static Instant toInstant(Object value) {
+        if (value instanceof Instant instant) {
+            return instant;
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.toInstant(ZoneOffset.UTC);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.model.Product;
+
+import java.util.List;
+
+/**
+ * Rows read through the {@code Product} second-level cache region, so a page of ids
+ * from the query cache only goes to the database for the entries that are missing.
+ */
+public interface ProductCacheRepository {
+
+    /** Products in the order of {@code ids}, from the cache where present; missing ids are left out. */
+    List<Product> findAllCachedById(List<Long> ids);
+}
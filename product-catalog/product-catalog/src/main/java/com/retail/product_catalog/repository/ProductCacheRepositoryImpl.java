@@ -0,0 +1,31 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import java.util.List;
+import java.util.Objects;
+
+class ProductCacheRepositoryImpl implements ProductCacheRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Product> findAllCachedById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Cache misses are loaded together in one IN query, not one SELECT each
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .with(CacheMode.NORMAL)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,20 @@
+package com.retail.product_catalog.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Facet counts as SQL: the {@code jpa} facet engine, and what the counters engine
+ * answers with until its counters are built.
+ */
+public interface ProductFacetRepository {
+
+    /**
+     * Product counts per category and price bucket, where bucket {@code i} holds prices
+     * from {@code edges[i-1]} (inclusive) to {@code edges[i]} (exclusive). Restricted to
+     * {@code category} and to names containing {@code nameContains} when they are non-null.
+     */
+    List<FacetRow> countByCategoryAndPriceBucket(List<BigDecimal> edges, String category, String nameContains);
+
+    record FacetRow(String category, int bucket, long count) {}
+}
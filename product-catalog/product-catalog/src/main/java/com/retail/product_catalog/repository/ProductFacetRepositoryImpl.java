@@ -0,0 +1,50 @@
+package com.retail.product_catalog.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+class ProductFacetRepositoryImpl implements ProductFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FacetRow> countByCategoryAndPriceBucket(List<BigDecimal> edges, String category, String nameContains) {
+        // The edges are inlined rather than bound: the CASE must render identically in
+        // SELECT and GROUP BY, and they come from configuration, not from the request.
+        StringBuilder bucket = new StringBuilder("case");
+        for (int i = 0; i < edges.size(); i++) {
+            bucket.append(" when p.price < ").append(edges.get(i).toPlainString()).append(" then ").append(i);
+        }
+        bucket.append(" else ").append(edges.size()).append(" end");
+
+        StringBuilder jpql = new StringBuilder("select new ")
+                .append(FacetRow.class.getName())
+                .append("(p.category, ").append(bucket).append(", count(p)) from Product p where 1 = 1");
+        if (category != null) {
+            jpql.append(" and p.category = :category");
+        }
+        if (nameContains != null) {
+            jpql.append(" and lower(p.name) like :name escape '\\'");
+        }
+        jpql.append(" group by p.category, ").append(bucket);
+
+        TypedQuery<FacetRow> query = entityManager.createQuery(jpql.toString(), FacetRow.class);
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        if (nameContains != null) {
+            query.setParameter("name", "%" + escapeLike(nameContains.toLowerCase(Locale.ROOT)) + "%");
+        }
+        return query.getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,16 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.filter.ProductFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Multi-attribute filter as SQL: the {@code jpa} filter engine, and what the bitmap
+ * engine answers with until its index is built.
+ */
+public interface ProductFilterRepository {
+
+    /** Matching products in id order, projected into {@link ProductDTO}; the sort of {@code pageable} is ignored. */
+    Page<ProductDTO> findFiltered(ProductFilter filter, Pageable pageable);
+}
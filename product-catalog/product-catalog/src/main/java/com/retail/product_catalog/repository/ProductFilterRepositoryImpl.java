@@ -0,0 +1,66 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.filter.ProductFilter;
+import com.retail.product_catalog.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ProductFilterRepositoryImpl implements ProductFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProductDTO> findFiltered(ProductFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<ProductDTO> query = cb.createQuery(ProductDTO.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductDTO.class,
+                        root.get("id"), root.get("name"), root.get("description"), root.get("price"),
+                        root.get("category"), root.get("stockQuantity"), root.get("imageUrl"),
+                        root.get("version"), root.get("updatedAt")))
+                .where(predicates(cb, root, filter))
+                .orderBy(cb.asc(root.get("id")));
+
+        List<ProductDTO> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<Product> counted = count.from(Product.class);
+            count.select(cb.count(counted)).where(predicates(cb, counted, filter));
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder cb, Root<Product> root, ProductFilter filter) {
+        List<Predicate> where = new ArrayList<>();
+        if (!filter.categories().isEmpty()) {
+            where.add(cb.lower(cb.trim(root.get("category"))).in(filter.categories()));
+        }
+        if (filter.minPrice() != null) {
+            where.add(cb.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            where.add(cb.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+        }
+        if (filter.inStock()) {
+            where.add(cb.greaterThan(root.get("stockQuantity"), 0));
+        }
+        return where.toArray(new Predicate[0]);
+    }
+}
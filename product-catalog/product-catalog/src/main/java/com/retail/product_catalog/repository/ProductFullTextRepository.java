@@ -0,0 +1,21 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.search.FullTextMode;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * MySQL FULLTEXT search over {@code products(name, description)}, backed by the
+ * {@code ft_products_name_description} index (migration V3).
+ */
+public interface ProductFullTextRepository {
+
+    /**
+     * Ids of the matching products on the requested page, best match first, mapped
+     * to their relevance score. Ties are broken by id so pages never overlap. The
+     * sort of {@code pageable} is ignored.
+     */
+    Page<RelevanceHit> findIdsByRelevance(String terms, FullTextMode mode, Pageable pageable);
+
+    record RelevanceHit(Long id, double score) {}
+}
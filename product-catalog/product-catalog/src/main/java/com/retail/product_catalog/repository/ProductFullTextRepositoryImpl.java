@@ -0,0 +1,42 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.search.FullTextMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+class ProductFullTextRepositoryImpl implements ProductFullTextRepository {
+
+    // MySQL evaluates the MATCH once per row even though it appears twice
+    private static final String MATCH = "MATCH (p.name, p.description) AGAINST (:terms %s)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<RelevanceHit> findIdsByRelevance(String terms, FullTextMode mode, Pageable pageable) {
+        String match = MATCH.formatted(mode.getModifier());
+
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "SELECT p.id, " + match + " AS score FROM products p WHERE " + match
+                                + " ORDER BY score DESC, p.id ASC")
+                .setParameter("terms", terms)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        List<RelevanceHit> hits = rows.stream()
+                .map(row -> new RelevanceHit(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue()))
+                .toList();
+
+        return PageableExecutionUtils.getPage(hits, pageable, () -> ((Number) entityManager
+                .createNativeQuery("SELECT COUNT(*) FROM products p WHERE " + match)
+                .setParameter("terms", terms)
+                .getSingleResult()).longValue());
+    }
+}
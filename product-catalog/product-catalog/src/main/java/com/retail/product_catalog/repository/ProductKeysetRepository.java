@@ -0,0 +1,41 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.service.ProductCursor;
+import com.retail.product_catalog.service.ProductSort;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keyset ("seek") queries: {@code WHERE (sortKey, id) > (:value, :id) ORDER BY sortKey, id LIMIT n}.
+ * Unlike {@code OFFSET} paging the cost does not grow with page depth, and no count is run.
+ * Rows are projected straight into {@link ProductDTO}.
+ */
+public interface ProductKeysetRepository {
+
+    /**
+     * @param category     exact category to filter on, or {@code null}
+     * @param nameContains case-insensitive name substring, or {@code null}
+     * @param after        position to continue from, or {@code null} for the first slice
+     */
+    List<ProductDTO> findSlice(ProductSort sort, ProductCursor after,
+                            String category, String nameContains, int limit);
+
+    /**
+     * Feeds every product to {@code action} in id order, {@code batchSize} rows per
+     * query; the bootstrap of the in-memory engines. Paging by id cannot skip a live
+     * row when rows before it are deleted meanwhile, as {@code OFFSET} paging would.
+     */
+    default void forEachProduct(int batchSize, Consumer<ProductDTO> action) {
+        ProductCursor after = null;
+        List<ProductDTO> slice;
+        do {
+            slice = findSlice(ProductSort.ID, after, null, null, batchSize);
+            slice.forEach(action);
+            if (!slice.isEmpty()) {
+                after = ProductCursor.after(ProductSort.ID, slice.get(slice.size() - 1));
+            }
+        } while (slice.size() == batchSize);
+    }
+}
@@ -0,0 +1,75 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.service.ProductCursor;
+import com.retail.product_catalog.service.ProductSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+class ProductKeysetRepositoryImpl implements ProductKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<ProductDTO> findSlice(ProductSort sort, ProductCursor after,
+                                   String category, String nameContains, int limit) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductDTO> query = cb.createQuery(ProductDTO.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.construct(ProductDTO.class,
+                root.get("id"), root.get("name"), root.get("description"), root.get("price"),
+                root.get("category"), root.get("stockQuantity"), root.get("imageUrl"),
+                root.get("version"), root.get("updatedAt")));
+
+        Path<Long> id = root.get("id");
+        Path<Comparable> key = root.get(sort.getProperty());
+
+        List<Predicate> where = new ArrayList<>();
+        if (category != null) {
+            where.add(cb.equal(root.get("category"), category));
+        }
+        if (nameContains != null) {
+            where.add(cb.like(cb.lower(root.get("name")),
+                    "%" + escapeLike(nameContains.toLowerCase(Locale.ROOT)) + "%", '\\'));
+        }
+        if (after != null) {
+            if (sort == ProductSort.ID) {
+                where.add(cb.greaterThan(id, after.getId()));
+            } else {
+                Comparable value = after.getValue();
+                where.add(cb.or(
+                        cb.greaterThan(key, value),
+                        cb.and(cb.equal(key, value), cb.greaterThan(id, after.getId()))
+                ));
+            }
+        }
+
+        query.where(where.toArray(new Predicate[0]));
+        if (sort == ProductSort.ID) {
+            query.orderBy(cb.asc(id));
+        } else {
+            query.orderBy(cb.asc(key), cb.asc(id));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,13 +1,96 @@
 package com.retail.product_catalog.repository;
 
+import com.retail.product_catalog.config.CacheRegions;
+import com.retail.product_catalog.dto.ProductDTO;
 import com.retail.product_catalog.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
-    Page<Product> findByCategory(String category, Pageable pageable);
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductKeysetRepository,
+        ProductFullTextRepository, ProductFilterRepository, ProductFacetRepository, ProductCacheRepository {
 
-    Page<Product> findByNameContainingIgnoreCase(String searchTerm, Pageable pageable);
+    // ===================== DTO PROJECTIONS =====================
+    // List pages select straight into ProductDTO: no managed entities, no dirty-checking
+    // snapshots and nothing for the flush to inspect.
+
+    String SELECT_DTO = "select new com.retail.product_catalog.dto.ProductDTO("
+            + "p.id, p.name, p.description, p.price, p.category, p.stockQuantity, p.imageUrl, "
+            + "p.version, p.updatedAt) ";
+
+    @Query(value = SELECT_DTO + "from Product p",
+            countQuery = "select count(p) from Product p")
+    Page<ProductDTO> findAllProjected(Pageable pageable);
+
+    @Query(value = SELECT_DTO + "from Product p where p.category = :category",
+            countQuery = "select count(p) from Product p where p.category = :category")
+    Page<ProductDTO> findProjectedByCategory(@Param("category") String category, Pageable pageable);
+
+    // Both the id query and its count query are cached; Hibernate invalidates them
+    // through the update-timestamps region whenever the products table is written
+    // through JPA. Rows are read from the product region (findAllCachedById), so a
+    // stock move only has to evict its own product.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.PRODUCT_CATEGORY_PAGES)
+    })
+    @Query(value = "select p.id from Product p where p.category = :category",
+            countQuery = "select count(p) from Product p where p.category = :category")
+    Page<Long> findIdsByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query(value = SELECT_DTO + "from Product p "
+            + "where lower(p.name) like lower(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()}",
+            countQuery = "select count(p) from Product p "
+            + "where lower(p.name) like lower(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()}")
+    Page<ProductDTO> findProjectedByNameContaining(String searchTerm, Pageable pageable);
+
+    @Query("select p.id from Product p "
+            + "where lower(p.name) like lower(concat('%', ?#{escape([0])}, '%')) escape ?#{escapeCharacter()} "
+            + "order by p.id")
+    List<Long> findIdsByNameContaining(String searchTerm);
+
+    @Query(SELECT_DTO + "from Product p where p.id in :ids")
+    List<ProductDTO> findProjectedByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ===================== CHANGE FEED =====================
+
+    /** Products written after ({@code updatedAt}, {@code id}) and no later than {@code until}, in that order. */
+    @Query(SELECT_DTO + "from Product p "
+            + "where (p.updatedAt > :at or (p.updatedAt = :at and p.id > :id)) and p.updatedAt <= :until "
+            + "order by p.updatedAt, p.id")
+    List<ProductDTO> findChangedAfter(@Param("at") Instant at, @Param("id") long id,
+                                      @Param("until") Instant until, Limit limit);
+
+    // ===================== EXPORT STREAMS =====================
+    // Forward-only cursors for the catalog export. Rows arrive in fetch-size batches,
+    // are loaded read-only (no dirty-checking snapshots) and bypass the second-level
+    // cache so a full scan does not evict the hot entries. Callers must close the
+    // stream inside a transaction and clear the persistence context as they go.
+
+    String EXPORT_FETCH_SIZE = "1000";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Product> streamAllByOrderByIdAsc();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    Stream<Product> streamByCategoryOrderByIdAsc(String category);
 }
@@ -0,0 +1,131 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.model.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.Optional;
+import java.util.TimeZone;
+
+/**
+ * Single-statement stock changes. Each one is an atomic {@code UPDATE} on the row, so
+ * concurrent callers never lose each other's writes and nobody holds the row lock
+ * longer than one statement.
+ *
+ * <p>These go through JDBC rather than a JPQL bulk update: Hibernate answers a bulk
+ * update by dropping the whole {@code Product} cache region, whereas here only the
+ * touched entry is evicted.
+ *
+ * <p>{@code updated_at} is bound from the application clock in UTC, as Hibernate stamps
+ * entity writes, rather than taken from the database clock: the change feed orders
+ * both kinds of write by it, and a server in another time zone would misplace them.
+ */
+@Repository
+public class ProductStockRepository {
+
+    // Each change is tried first in a form that cannot cross zero, so the common case is
+    // still one statement and the caller learns when stock may have run out or come back
+    private static final String DECREMENT_STAYING_IN_STOCK =
+            "UPDATE products SET stock_quantity = stock_quantity - ?, version = version + 1, "
+            + "updated_at = ? WHERE id = ? AND stock_quantity > ?";
+
+    private static final String DECREMENT =
+            "UPDATE products SET stock_quantity = stock_quantity - ?, version = version + 1, "
+            + "updated_at = ? WHERE id = ? AND stock_quantity >= ?";
+
+    private static final String INCREMENT_IN_STOCK =
+            "UPDATE products SET stock_quantity = stock_quantity + ?, version = version + 1, "
+            + "updated_at = ? WHERE id = ? AND stock_quantity > 0";
+
+    private static final String INCREMENT =
+            "UPDATE products SET stock_quantity = stock_quantity + ?, version = version + 1, "
+            + "updated_at = ? WHERE id = ?";
+
+    /** Outcome of a stock change. */
+    public enum StockUpdate {
+        NOT_APPLIED,
+        APPLIED,
+        /** Applied, and the product may have gone out of stock or come back into it. */
+        NEAR_ZERO;
+
+        public boolean applied() {
+            return this != NOT_APPLIED;
+        }
+    }
+
+    public record StockLevel(int quantity, long version) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ProductStockRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /** Takes {@code quantity} units if at least that many are in stock. */
+    public StockUpdate decrement(long productId, int quantity) {
+        StockUpdate result = StockUpdate.NOT_APPLIED;
+        if (update(DECREMENT_STAYING_IN_STOCK, quantity, productId, quantity)) {
+            result = StockUpdate.APPLIED;
+        } else if (update(DECREMENT, quantity, productId, quantity)) {
+            result = StockUpdate.NEAR_ZERO;
+        }
+        if (result.applied()) {
+            evict(productId);
+        }
+        return result;
+    }
+
+    /** Returns {@code quantity} units; {@code NOT_APPLIED} when the product does not exist. */
+    public StockUpdate increment(long productId, int quantity) {
+        StockUpdate result = StockUpdate.NOT_APPLIED;
+        if (update(INCREMENT_IN_STOCK, quantity, productId, null)) {
+            result = StockUpdate.APPLIED;
+        } else if (update(INCREMENT, quantity, productId, null)) {
+            result = StockUpdate.NEAR_ZERO;
+        }
+        if (result.applied()) {
+            evict(productId);
+        }
+        return result;
+    }
+
+    public Optional<StockLevel> findStockLevel(long productId) {
+        return jdbcTemplate.query("SELECT stock_quantity, version FROM products WHERE id = ?",
+                (rs, row) -> new StockLevel(rs.getInt(1), rs.getLong(2)), productId).stream().findFirst();
+    }
+
+    public boolean exists(long productId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM products WHERE id = ?", Integer.class, productId);
+        return count != null && count > 0;
+    }
+
+    /** Runs one of the statements above; {@code bound} is the last parameter, when it has one. */
+    private boolean update(String sql, int quantity, long productId, Integer bound) {
+        return jdbcTemplate.update(sql, ps -> {
+            ps.setInt(1, quantity);
+            setNow(ps, 2);
+            ps.setLong(3, productId);
+            if (bound != null) {
+                ps.setInt(4, bound);
+            }
+        }) == 1;
+    }
+
+    private static void setNow(PreparedStatement ps, int index) throws SQLException {
+        ps.setTimestamp(index, Timestamp.from(Instant.now()), Calendar.getInstance(TimeZone.getTimeZone("UTC")));
+    }
+
+    // Cached category pages hold ids only and read rows through this region
+    private void evict(long productId) {
+        entityManagerFactory.getCache().evict(Product.class, productId);
+    }
+}
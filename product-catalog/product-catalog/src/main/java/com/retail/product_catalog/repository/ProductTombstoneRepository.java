@@ -0,0 +1,27 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.model.ProductTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Long> {
+
+    /** Tombstones after ({@code deletedAt}, {@code productId}) and no later than {@code until}, in that order. */
+    @Query("select t from ProductTombstone t "
+            + "where (t.deletedAt > :at or (t.deletedAt = :at and t.productId > :id)) and t.deletedAt <= :until "
+            + "order by t.deletedAt, t.productId")
+    List<ProductTombstone> findChangedAfter(@Param("at") Instant at, @Param("id") long id,
+                                            @Param("until") Instant until, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ProductTombstone t where t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
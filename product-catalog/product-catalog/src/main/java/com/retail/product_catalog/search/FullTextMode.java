@@ -0,0 +1,34 @@
+package com.retail.product_catalog.search;
+
+import com.retail.product_catalog.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * The {@code mode} values of {@code GET /api/products/search}, mapped to MySQL's
+ * {@code MATCH ... AGAINST} search modifiers.
+ */
+public enum FullTextMode {
+
+    /** Free text, ranked by relevance; words in more than half the rows count for little. */
+    NATURAL("IN NATURAL LANGUAGE MODE"),
+
+    /** {@code +required -excluded prefix* "exact phrase"} operators. */
+    BOOLEAN("IN BOOLEAN MODE");
+
+    private final String modifier;
+
+    FullTextMode(String modifier) {
+        this.modifier = modifier;
+    }
+
+    public String getModifier() { return modifier; }
+
+    public static FullTextMode fromParam(String mode) {
+        try {
+            return valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unsupported search mode: " + mode + " (use natural, boolean or fuzzy)");
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.retail.product_catalog.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the index tokens within a few edits of a query token without comparing it to
+ * every token. Each token is split into the bigrams of {@code ^token$} and listed under
+ * every one of them, by bigram, position and token length. A lookup takes its
+ * candidates from the shortest few of the query's lists for each nearby length, counts
+ * how many of the query's bigrams each shares, and compares only the ones sharing
+ * enough with {@link #distance}.
+ *
+ * <p>An edit, including a swap of two neighbouring letters, changes at most three
+ * bigrams and shifts the others by at most one position. A token {@code d} edits away
+ * therefore has all but at most {@code 3d} of the query's bigrams within {@code d}
+ * positions of where the query has them, and is on one of any {@code 3d + 1} of the
+ * query's lists. Only tokens
+ * of {@value #MIN_LENGTH} to {@value #MAX_LENGTH} letters are listed; anything else
+ * (short words, model numbers, SKUs) is only ever matched exactly.
+ * Not thread-safe; {@link InvertedIndexSearchEngine} guards it with its lock.
+ */
+final class FuzzyTermIndex {
+
+    static final int MIN_LENGTH = 4;
+    static final int MAX_LENGTH = 32;
+
+    // Tokens are numbered densely, reusing the numbers of removed ones, so a lookup can
+    // count shared bigrams in an array instead of a map
+    private final Map<Long, PostingList> byGram = new HashMap<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+
+    /**
+     * Edits allowed for a query token of this length: one from 4 letters, two from 8.
+     * Below 8 letters two edits would leave too few bigrams in common to narrow anything.
+     */
+    static int maxEdits(int length) {
+        return length < MIN_LENGTH ? 0 : length < 8 ? 1 : 2;
+    }
+
+    static boolean isFuzzy(String token) {
+        if (token.length() < MIN_LENGTH || token.length() > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isLetter(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ===================== UPDATES =====================
+
+    void add(String token) {
+        if (!isFuzzy(token) || ids.containsKey(token)) {
+            return;
+        }
+        int id;
+        if (freeIds.isEmpty()) {
+            id = tokens.size();
+            tokens.add(token);
+        } else {
+            id = freeIds.pop();
+            tokens.set(id, token);
+        }
+        ids.put(token, id);
+        int[] grams = grams(token);
+        for (int position = 0; position < grams.length; position++) {
+            byGram.computeIfAbsent(key(grams[position], position, token.length()), k -> new PostingList()).add(id);
+        }
+    }
+
+    void remove(String token) {
+        Integer id = ids.remove(token);
+        if (id == null) {
+            return;
+        }
+        int[] grams = grams(token);
+        for (int position = 0; position < grams.length; position++) {
+            Long key = key(grams[position], position, token.length());
+            PostingList list = byGram.get(key);
+            list.remove(id);
+            if (list.isEmpty()) {
+                byGram.remove(key);
+            }
+        }
+        tokens.set(id, null);
+        freeIds.push(id);
+    }
+
+    int tokenCount() {
+        return ids.size();
+    }
+
+    // ===================== LOOKUP =====================
+
+    /** Listed tokens within {@link #maxEdits} of {@code query}, each with its distance. */
+    Map<String, Integer> within(String query) {
+        if (!isFuzzy(query)) {
+            return Map.of();
+        }
+        int maxEdits = maxEdits(query.length());
+        int[] grams = grams(query);
+
+        // A token sharing at least `shared` of the query's bigrams lacks at most
+        // grams - shared of them, so it is listed under one of any grams - shared + 1
+        // bigrams. Only the rarest lists admit candidates; the others just count for the
+        // candidates already admitted, and only those sharing enough are compared.
+        int shared = grams.length - 3 * maxEdits;
+        int admitting = grams.length - shared + 1;
+
+        byte[] counts = new byte[tokens.size()];
+        int[] candidates = new int[16];
+        int candidateCount = 0;
+        for (int length = Math.max(MIN_LENGTH, query.length() - maxEdits);
+             length <= Math.min(MAX_LENGTH, query.length() + maxEdits); length++) {
+            // The lists a bigram of the query can be on: the same bigram up to maxEdits
+            // positions away
+            List<List<PostingList>> lists = new ArrayList<>(grams.length);
+            for (int position = 0; position < grams.length; position++) {
+                List<PostingList> near = new ArrayList<>(2 * maxEdits + 1);
+                for (int at = Math.max(0, position - maxEdits); at <= Math.min(length, position + maxEdits); at++) {
+                    PostingList list = byGram.get(key(grams[position], at, length));
+                    if (list != null) {
+                        near.add(list);
+                    }
+                }
+                lists.add(near);
+            }
+            lists.sort(Comparator.comparingInt(FuzzyTermIndex::totalSize));
+
+            for (int i = 0; i < lists.size(); i++) {
+                for (PostingList list : lists.get(i)) {
+                    for (int j = 0; j < list.size(); j++) {
+                        int id = (int) list.get(j);
+                        if (i < admitting && counts[id] == 0) {
+                            if (candidateCount == candidates.length) {
+                                candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                            }
+                            candidates[candidateCount++] = id;
+                            counts[id] = 1;
+                        } else if (counts[id] > 0 && counts[id] < Byte.MAX_VALUE) {
+                            counts[id]++;
+                        }
+                    }
+                }
+            }
+        }
+
+        Map<String, Integer> matches = new HashMap<>();
+        for (int i = 0; i < candidateCount; i++) {
+            int id = candidates[i];
+            if (counts[id] >= shared) {
+                String token = tokens.get(id);
+                int edits = distance(query, token, maxEdits);
+                if (edits <= maxEdits) {
+                    matches.put(token, edits);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Edits (insert, delete, substitute, swap neighbours) between {@code a} and {@code b},
+     * or {@code max + 1} as soon as it is known to exceed {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        // Optimal string alignment over three rolling rows. Only the band of cells within
+        // max of the diagonal can stay within max; the cells either side of it read as max + 1.
+        int outside = max + 1;
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j <= max ? j : outside;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(b.length(), i + max);
+            current[from - 1] = from == 1 ? i : outside;
+            if (to < b.length()) {
+                current[to + 1] = outside;
+            }
+            int rowMin = outside;
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int best = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    best = Math.min(best, previous2[j - 2] + 1);
+                }
+                current[j] = best;
+                rowMin = Math.min(rowMin, best);
+            }
+            if (rowMin > max) {
+                return outside;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], outside);
+    }
+
+    // ===================== BIGRAMS =====================
+
+    /** The bigrams of {@code ^token$}, by position. */
+    private static int[] grams(String token) {
+        String padded = '^' + token + '$';
+        int[] grams = new int[padded.length() - 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = padded.charAt(i) << 16 | padded.charAt(i + 1);
+        }
+        return grams;
+    }
+
+    /** Packs the three into one long, scrambled so that Long.hashCode spreads similar keys. */
+    private static Long key(int gram, int position, int length) {
+        return ((long) length << 40 | (long) position << 32 | gram & 0xFFFFFFFFL) * 0x9E3779B97F4A7C15L;
+    }
+
+    private static int totalSize(List<PostingList> lists) {
+        int size = 0;
+        for (PostingList list : lists) {
+            size += list.size();
+        }
+        return size;
+    }
+}
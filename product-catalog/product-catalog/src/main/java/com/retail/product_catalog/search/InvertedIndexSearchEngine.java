@@ -0,0 +1,418 @@
+package com.retail.product_catalog.search;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.ScoredProductDTO;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import com.retail.product_catalog.service.ProductCursor;
+import com.retail.product_catalog.service.ProductSort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Token-level inverted index over product name and description.
+ *
+ * <p>Every query token must match a document token; the last query token is matched as a
+ * prefix so results keep up with a user who is still typing. The index is built from the
+ * table once the application is ready and then follows {@link ProductChangedEvent}s.
+ * Until the first build finishes, searches fall back to the JPA query.
+ *
+ * <p>Fuzzy search tolerates typos per query token by matching any indexed token within
+ * a few edits of it, found through a {@link FuzzyTermIndex} over the token vocabulary.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.search.engine", havingValue = "index", matchIfMissing = true)
+public class InvertedIndexSearchEngine implements ProductSearchEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(InvertedIndexSearchEngine.class);
+
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, IndexedProduct> documents = new HashMap<>();
+    private final FuzzyTermIndex fuzzyTerms = new FuzzyTermIndex();
+
+    private volatile boolean ready;
+
+    public InvertedIndexSearchEngine(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    // ===================== INDEX MAINTENANCE =====================
+
+    // The write lock is held for the whole rebuild: changes committed meanwhile wait
+    // and are applied on top, instead of being overwritten by a page read before them.
+    // Pages are read by id, so a delete meanwhile cannot make one skip a live product.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            productRepository.forEachProduct(BOOTSTRAP_BATCH_SIZE, product -> index(IndexedProduct.of(product)));
+
+            ready = true;
+            log.info("Search index built: {} products, {} tokens ({} typo-tolerant) in {} ms",
+                    documentCount(), tokenCount(), fuzzyTokenCount(), System.currentTimeMillis() - started);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getType() == ProductChangedEvent.Type.DELETED) {
+            remove(event.getProductId());
+        } else {
+            index(IndexedProduct.of(event.getProduct()));
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            IndexedProduct previous = documents.remove(id);
+            if (previous != null) {
+                unlinkTokens(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(IndexedProduct product) {
+        lock.writeLock().lock();
+        try {
+            IndexedProduct previous = documents.put(product.id(), product);
+            if (previous != null) {
+                unlinkTokens(previous);
+            }
+            for (String token : product.tokens()) {
+                postings.computeIfAbsent(token, t -> {
+                    fuzzyTerms.add(t);
+                    return new PostingList();
+                }).add(product.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlinkTokens(IndexedProduct product) {
+        for (String token : product.tokens()) {
+            PostingList list = postings.get(token);
+            if (list != null) {
+                list.remove(product.id());
+                if (list.isEmpty()) {
+                    postings.remove(token);
+                    fuzzyTerms.remove(token);
+                }
+            }
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tokenCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int fuzzyTokenCount() {
+        lock.readLock().lock();
+        try {
+            return fuzzyTerms.tokenCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===================== SEARCH =====================
+
+    @Override
+    public Page<ProductDTO> search(String searchTerm, Pageable pageable) {
+        if (!ready) {
+            return productRepository.findProjectedByNameContaining(searchTerm, pageable);
+        }
+
+        List<IndexedProduct> hits = matchingDocuments(searchTerm);
+        hits.sort(comparator(pageable.getSort()));
+
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+
+        return new PageImpl<>(load(hits.subList(from, to)), pageable, hits.size());
+    }
+
+    @Override
+    public List<ProductDTO> searchSlice(String searchTerm, ProductSort sort, ProductCursor after, int limit) {
+        if (!ready) {
+            return productRepository.findSlice(sort, after, null, searchTerm, limit);
+        }
+
+        List<IndexedProduct> hits = matchingDocuments(searchTerm);
+        Comparator<IndexedProduct> comparator = comparator(sort.toSort());
+        hits.sort(comparator);
+
+        int from = 0;
+        if (after != null) {
+            IndexedProduct probe = IndexedProduct.probe(sort, after.getValue(), after.getId());
+            int pos = Collections.binarySearch(hits, probe, comparator);
+            from = pos >= 0 ? pos + 1 : -pos - 1;
+        }
+        int to = Math.min(from + limit, hits.size());
+
+        return load(hits.subList(from, to));
+    }
+
+    @Override
+    public long[] matchingIds(String searchTerm) {
+        if (!ready) {
+            return productRepository.findIdsByNameContaining(searchTerm).stream().mapToLong(Long::longValue).toArray();
+        }
+
+        lock.readLock().lock();
+        try {
+            return match(Tokenizer.tokenize(searchTerm));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===================== FUZZY SEARCH =====================
+
+    /**
+     * Products where every query token matches some token within
+     * {@link FuzzyTermIndex#maxEdits} of it, fewest edits in total first, then by id.
+     * The score is {@code 1 / (1 + edits)}, so an exact match scores 1. Before the
+     * first build this is the plain name search, every match scoring 1.
+     */
+    @Override
+    public Page<ScoredProductDTO> fuzzySearch(String searchTerm, Pageable pageable) {
+        if (!ready) {
+            return productRepository.findProjectedByNameContaining(searchTerm, pageable)
+                    .map(product -> new ScoredProductDTO(product, 1.0));
+        }
+
+        List<FuzzyHit> hits;
+        lock.readLock().lock();
+        try {
+            hits = fuzzyMatch(new LinkedHashSet<>(Tokenizer.tokenize(searchTerm)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingInt(FuzzyHit::edits).thenComparingLong(FuzzyHit::id));
+
+        int from = (int) Math.min(pageable.getOffset(), hits.size());
+        int to = Math.min(from + pageable.getPageSize(), hits.size());
+        List<FuzzyHit> page = hits.subList(from, to);
+
+        Map<Long, Integer> edits = page.stream().collect(Collectors.toMap(FuzzyHit::id, FuzzyHit::edits));
+        List<ScoredProductDTO> content = loadIds(page.stream().map(FuzzyHit::id).toList()).stream()
+                .map(product -> new ScoredProductDTO(product, 1.0 / (1 + edits.get(product.getId()))))
+                .toList();
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+
+    /** Must be called with the read lock held. */
+    List<FuzzyHit> fuzzyMatch(Set<String> queryTokens) {
+        List<Map<String, Integer>> termsPerToken = new ArrayList<>(queryTokens.size());
+        for (String token : queryTokens) {
+            Map<String, Integer> terms = new HashMap<>(fuzzyTerms.within(token));
+            if (postings.containsKey(token)) {
+                terms.put(token, 0);
+            }
+            termsPerToken.add(terms);
+        }
+        // The rarest token first: the products matching it are collected, and every
+        // later token only probes its posting lists for those
+        termsPerToken.sort(Comparator.comparingLong(this::postingCount));
+
+        // Product id -> fewest edits in total over the tokens so far
+        Map<Long, Integer> edits = null;
+        for (Map<String, Integer> terms : termsPerToken) {
+            Map<Long, Integer> next = new HashMap<>();
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                PostingList list = postings.get(term.getKey());
+                if (edits == null) {
+                    for (int i = 0; i < list.size(); i++) {
+                        next.merge(list.get(i), term.getValue(), Math::min);
+                    }
+                } else {
+                    for (Map.Entry<Long, Integer> hit : edits.entrySet()) {
+                        if (list.contains(hit.getKey())) {
+                            next.merge(hit.getKey(), hit.getValue() + term.getValue(), Math::min);
+                        }
+                    }
+                }
+            }
+            edits = next;
+            if (edits.isEmpty()) {
+                break;
+            }
+        }
+
+        List<FuzzyHit> hits = new ArrayList<>(edits == null ? 0 : edits.size());
+        if (edits != null) {
+            edits.forEach((id, total) -> hits.add(new FuzzyHit(id, total)));
+        }
+        return hits;
+    }
+
+    private long postingCount(Map<String, Integer> terms) {
+        long count = 0;
+        for (String term : terms.keySet()) {
+            count += postings.get(term).size();
+        }
+        return count;
+    }
+
+    record FuzzyHit(long id, int edits) {}
+
+    private List<IndexedProduct> matchingDocuments(String searchTerm) {
+        lock.readLock().lock();
+        try {
+            long[] ids = match(Tokenizer.tokenize(searchTerm));
+            List<IndexedProduct> hits = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                hits.add(documents.get(id));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Loads a page of hits as DTOs, preserving the hit order. */
+    private List<ProductDTO> load(List<IndexedProduct> hits) {
+        return loadIds(hits.stream().map(IndexedProduct::id).toList());
+    }
+
+    private List<ProductDTO> loadIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductDTO> loaded = productRepository.findProjectedByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+        return ids.stream()
+                .map(loaded::get)
+                .filter(product -> product != null)
+                .toList();
+    }
+
+    /** Must be called with the read lock held. */
+    long[] match(List<String> queryTokens) {
+        if (queryTokens.isEmpty()) {
+            long[] all = documents.keySet().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(all);
+            return all;
+        }
+
+        long[] result = null;
+        for (int i = 0; i < queryTokens.size(); i++) {
+            String token = queryTokens.get(i);
+            long[] ids;
+            if (i == queryTokens.size() - 1) {
+                ids = PostingList.union(
+                        postings.subMap(token, true, token + Character.MAX_VALUE, true).values());
+            } else {
+                PostingList list = postings.get(token);
+                ids = list == null ? new long[0] : list.toArray();
+            }
+            result = result == null ? ids : PostingList.intersect(result, ids);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static Comparator<IndexedProduct> comparator(Sort sort) {
+        Comparator<IndexedProduct> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<IndexedProduct> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(IndexedProduct::id);
+                case "name" -> Comparator.comparing(IndexedProduct::name, String.CASE_INSENSITIVE_ORDER);
+                case "price" -> Comparator.comparing(IndexedProduct::price);
+                case "category" -> Comparator.comparing(IndexedProduct::category, String.CASE_INSENSITIVE_ORDER);
+                case "stockQuantity" -> Comparator.comparing(IndexedProduct::stockQuantity);
+                default -> throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+
+        Comparator<IndexedProduct> byId = Comparator.comparing(IndexedProduct::id);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    // ===================== DOCUMENT =====================
+
+    /** Sort keys and tokens kept per product; descriptions themselves are not retained. */
+    private record IndexedProduct(Long id, String name, BigDecimal price, String category,
+                                  Integer stockQuantity, String[] tokens) {
+
+        static IndexedProduct of(ProductDTO product) {
+            return of(product.getId(), product.getName(), product.getDescription(),
+                    product.getPrice(), product.getCategory(), product.getStockQuantity());
+        }
+
+        /** A key-only document positioned at a cursor, for binary search over sorted hits. */
+        static IndexedProduct probe(ProductSort sort, Comparable<?> value, Long id) {
+            return new IndexedProduct(id,
+                    sort == ProductSort.NAME ? (String) value : null,
+                    sort == ProductSort.PRICE ? (BigDecimal) value : null,
+                    sort == ProductSort.CATEGORY ? (String) value : null,
+                    sort == ProductSort.STOCK_QUANTITY ? (Integer) value : null,
+                    new String[0]);
+        }
+
+        private static IndexedProduct of(Long id, String name, String description, BigDecimal price,
+                                         String category, Integer stockQuantity) {
+            Set<String> tokens = Tokenizer.distinctTokens(name, description);
+            return new IndexedProduct(id, name, price, category, stockQuantity,
+                    tokens.toArray(new String[0]));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.retail.product_catalog.search;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.ScoredProductDTO;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.service.ProductCursor;
+import com.retail.product_catalog.service.ProductSort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fallback engine: the original {@code LIKE %term%} query on the product name.
+ * It has no typo tolerance, so fuzzy search is the same query with every match scoring 1.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.search.engine", havingValue = "jpa")
+public class JpaProductSearchEngine implements ProductSearchEngine {
+
+    private final ProductRepository productRepository;
+
+    public JpaProductSearchEngine(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public Page<ProductDTO> search(String searchTerm, Pageable pageable) {
+        return productRepository.findProjectedByNameContaining(searchTerm, pageable);
+    }
+
+    @Override
+    public List<ProductDTO> searchSlice(String searchTerm, ProductSort sort, ProductCursor after, int limit) {
+        return productRepository.findSlice(sort, after, null, searchTerm, limit);
+    }
+
+    @Override
+    public long[] matchingIds(String searchTerm) {
+        return productRepository.findIdsByNameContaining(searchTerm).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Override
+    public Page<ScoredProductDTO> fuzzySearch(String searchTerm, Pageable pageable) {
+        return productRepository.findProjectedByNameContaining(searchTerm, pageable)
+                .map(product -> new ScoredProductDTO(product, 1.0));
+    }
+}
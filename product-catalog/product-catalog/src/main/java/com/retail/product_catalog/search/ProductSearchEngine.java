@@ -0,0 +1,31 @@
+package com.retail.product_catalog.search;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.ScoredProductDTO;
+import com.retail.product_catalog.service.ProductCursor;
+import com.retail.product_catalog.service.ProductSort;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Backs {@code ProductService.searchProducts}. The implementation is chosen with
+ * {@code catalog.search.engine}: {@code index} (default) or {@code jpa}.
+ */
+public interface ProductSearchEngine {
+
+    Page<ProductDTO> search(String searchTerm, Pageable pageable);
+
+    /**
+     * Keyset variant: up to {@code limit} matches ordered by {@code sort} then id,
+     * strictly after {@code after} (or from the start when it is {@code null}).
+     */
+    List<ProductDTO> searchSlice(String searchTerm, ProductSort sort, ProductCursor after, int limit);
+
+    /** Ids of every product {@link #search} would return for {@code searchTerm}, ascending. */
+    long[] matchingIds(String searchTerm);
+
+    /** Typo-tolerant search, closest matches first; see the implementations for what counts as close. */
+    Page<ScoredProductDTO> fuzzySearch(String searchTerm, Pageable pageable);
+}
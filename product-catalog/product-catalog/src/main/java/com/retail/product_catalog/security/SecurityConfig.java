@@ -1,6 +1,8 @@
 package com.retail.product_catalog.security;
 
 import com.retail.product_catalog.auth.UserRepository;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -24,6 +26,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.List;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 public class SecurityConfig {
 
@@ -41,11 +44,23 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Streamed responses finish on an async dispatch of a request already authorized
+                // above; the JWT is not re-read there, so it would otherwise count as anonymous
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                // Scraped by Prometheus without credentials; keep the port off the public network
+                .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                // Full-catalog streaming scan for downstream feeds, not a shopper endpoint
+                .requestMatchers(HttpMethod.GET, "/api/products/export").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/products/**").permitAll()
-                .requestMatchers(HttpMethod.POST, "/api/products/**").hasRole("Admin")
-                .requestMatchers(HttpMethod.PUT, "/api/products/**").hasRole("Admin")
-                .requestMatchers(HttpMethod.DELETE, "/api/products/**").hasRole("Admin")
+                // Release is not tied to a reservation, so only the order side (admins) may return stock
+                .requestMatchers(HttpMethod.POST, "/api/products/*/stock/release").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/products/*/stock/**").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/products/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.PUT, "/api/products/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.DELETE, "/api/products/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(session ->
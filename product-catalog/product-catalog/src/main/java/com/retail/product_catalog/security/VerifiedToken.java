@@ -0,0 +1,31 @@
+package com.retail.product_catalog.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What the filter needs from a JWT whose signature has already been checked.
+ */
+public class VerifiedToken {
+
+    private final String subject;
+    private final List<String> roles;
+    private final Instant expiresAt;
+
+    public VerifiedToken(String subject, List<String> roles, Instant expiresAt) {
+        this.subject = subject;
+        this.roles = roles;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getSubject() { return subject; }
+
+    /** Granted authorities embedded at issue time, or {@code null} for tokens issued without them. */
+    public List<String> getRoles() { return roles; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
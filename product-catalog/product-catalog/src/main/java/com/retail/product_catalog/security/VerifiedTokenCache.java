@@ -0,0 +1,104 @@
+package com.retail.product_catalog.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of tokens that already passed signature verification, keyed by the
+ * SHA-256 digest of the token so raw tokens are never held in memory. An entry is
+ * never returned past the token's own {@code exp}.
+ *
+ * <p>Entries live in {@value #SEGMENTS} access-ordered segments, each locked on its own;
+ * a full segment drops its least recently used token in O(1) to make room, so new
+ * tokens are always cached. Tokens that expire without being used again fall out the
+ * same way.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        // Rounded up, so the cache holds at most maxEntries + SEGMENTS - 1 tokens
+        int perSegment = (maxEntries + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    public VerifiedToken get(String token) {
+        String key = digest(token);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            VerifiedToken cached = segment.get(key);
+            if (cached != null && cached.isExpired(Instant.now())) {
+                segment.remove(key);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (verified.getExpiresAt() == null) {
+            return;
+        }
+        String key = digest(token);
+        Segment segment = segmentFor(key);
+        if (segment.capacity == 0) {
+            return;
+        }
+        synchronized (segment) {
+            segment.put(key, verified);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String key) {
+        return segments[Math.floorMod(key.hashCode(), SEGMENTS)];
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /** LRU map: access order, evicting the eldest entry once over capacity. */
+    private static final class Segment extends LinkedHashMap<String, VerifiedToken> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+            return size() > capacity;
+        }
+    }
+}
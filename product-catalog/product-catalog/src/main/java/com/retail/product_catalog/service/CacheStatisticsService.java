@@ -0,0 +1,64 @@
+package com.retail.product_catalog.service;
+
+import com.retail.product_catalog.config.CacheConfig;
+import com.retail.product_catalog.config.CacheRegions;
+import com.retail.product_catalog.config.RegionEventCounter;
+import com.retail.product_catalog.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheConfig cacheConfig;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory, CacheConfig cacheConfig) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheConfig = cacheConfig;
+    }
+
+    public List<CacheRegionStats> getRegionStats() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<CacheRegionStats> result = new ArrayList<>();
+        for (Map.Entry<String, RegionEventCounter> entry : cacheConfig.getEventCounters().entrySet()) {
+            String region = entry.getKey();
+            CacheRegionStatistics regionStatistics;
+            if (region.equals(CacheRegions.PRODUCT)) {
+                regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            } else if (sessionFactory.getCache().getQueryResultsCacheStrictly(region) != null) {
+                regionStatistics = statistics.getQueryRegionStatistics(region);
+            } else {
+                // Not used by a query yet. Hibernate remembers a lookup before then as "no such
+                // region" and would fail the first query that uses it
+                regionStatistics = null;
+            }
+
+            RegionEventCounter events = entry.getValue();
+            if (regionStatistics == null) {
+                result.add(new CacheRegionStats(region, 0, 0, 0,
+                        events.getEvictions(), events.getExpirations(), 0));
+                continue;
+            }
+            result.add(new CacheRegionStats(
+                    region,
+                    regionStatistics.getHitCount(),
+                    regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount(),
+                    events.getEvictions(),
+                    events.getExpirations(),
+                    regionStatistics.getElementCountInMemory()
+            ));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,231 @@
+package com.retail.product_catalog.service;
+
+import com.retail.product_catalog.dto.BulkItemResult;
+import com.retail.product_catalog.dto.BulkResponse;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk create and update. Every item is validated on its own, and valid items are
+ * written in chunks of {@code catalog.bulk.chunk-size}, one transaction per chunk.
+ * If a chunk fails, its items are retried one by one so a single bad row only
+ * fails itself.
+ */
+@Service
+public class ProductBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductBulkService.class);
+
+    private final ProductRepository productRepository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${catalog.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${catalog.bulk.max-items:10000}")
+    private int maxItems;
+
+    public ProductBulkService(ProductRepository productRepository,
+                              Validator validator,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher) {
+        this.productRepository = productRepository;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // ===================== BULK CREATE =====================
+
+    public BulkResponse createProducts(List<ProductDTO> items) {
+        requireWithinLimit(items);
+
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        List<Integer> valid = validate(items, results, false);
+
+        for (List<Integer> chunk : chunks(valid)) {
+            persistCreates(items, chunk, results);
+        }
+        return new BulkResponse(Arrays.asList(results));
+    }
+
+    /**
+     * Creates items that the caller has already validated (the catalog import pipeline
+     * validates in its own stage). Results are in the order of {@code items}.
+     */
+    public BulkResponse createValidatedProducts(List<ProductDTO> items) {
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        List<Integer> all = IntStream.range(0, items.size()).boxed().toList();
+
+        for (List<Integer> chunk : chunks(all)) {
+            persistCreates(items, chunk, results);
+        }
+        return new BulkResponse(Arrays.asList(results));
+    }
+
+    private void persistCreates(List<ProductDTO> items, List<Integer> chunk, BulkItemResult[] results) {
+        List<Product> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<Product> entities = chunk.stream()
+                        .map(index -> ProductService.mapToEntity(items.get(index)))
+                        .toList();
+                List<Product> persisted = productRepository.saveAll(entities);
+                entityManager.flush();
+                entityManager.clear();
+                return persisted;
+            });
+        } catch (RuntimeException ex) {
+            retryIndividually(chunk, results, ex, index -> null,
+                    index -> persistCreates(items, List.of(index), results));
+            return;
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            Product product = saved.get(i);
+            results[chunk.get(i)] = BulkItemResult.success(chunk.get(i), product.getId(), BulkItemResult.Status.CREATED);
+            eventPublisher.publishEvent(ProductChangedEvent.saved(ProductService.mapToDTO(product)));
+        }
+    }
+
+    // ===================== BULK UPDATE =====================
+
+    public BulkResponse updateProducts(List<ProductDTO> items) {
+        requireWithinLimit(items);
+
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        List<Integer> valid = validate(items, results, true);
+
+        for (List<Integer> chunk : chunks(valid)) {
+            persistUpdates(items, chunk, results);
+        }
+        return new BulkResponse(Arrays.asList(results));
+    }
+
+    private void persistUpdates(List<ProductDTO> items, List<Integer> chunk, BulkItemResult[] results) {
+        Map<Integer, Product> updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                Set<Long> ids = chunk.stream().map(index -> items.get(index).getId()).collect(Collectors.toSet());
+                Map<Long, Product> found = productRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+                Map<Integer, Product> written = new HashMap<>();
+                for (Integer index : chunk) {
+                    Product product = found.get(items.get(index).getId());
+                    if (product != null) {
+                        ProductService.applyChanges(product, items.get(index));
+                        written.put(index, product);
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return written;
+            });
+        } catch (RuntimeException ex) {
+            retryIndividually(chunk, results, ex, index -> items.get(index).getId(),
+                    index -> persistUpdates(items, List.of(index), results));
+            return;
+        }
+
+        for (Integer index : chunk) {
+            Long id = items.get(index).getId();
+            Product product = updated.get(index);
+            if (product == null) {
+                results[index] = BulkItemResult.failure(index, id, BulkItemResult.Status.NOT_FOUND,
+                        Map.of("id", "Product not found with id: " + id));
+                continue;
+            }
+            results[index] = BulkItemResult.success(index, id, BulkItemResult.Status.UPDATED);
+            eventPublisher.publishEvent(ProductChangedEvent.saved(ProductService.mapToDTO(product)));
+        }
+    }
+
+    // ===================== HELPERS =====================
+
+    private void requireWithinLimit(List<ProductDTO> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("At least one product is required");
+        }
+        if (items.size() > maxItems) {
+            throw new BadRequestException("A bulk request can hold at most " + maxItems + " products");
+        }
+    }
+
+    private List<Integer> validate(List<ProductDTO> items, BulkItemResult[] results, boolean requireId) {
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            ProductDTO dto = items.get(i);
+            Map<String, String> errors = new TreeMap<>();
+
+            if (dto == null) {
+                errors.put("item", "Product is required");
+            } else {
+                for (ConstraintViolation<ProductDTO> violation : validator.validate(dto)) {
+                    errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+                }
+                if (requireId && dto.getId() == null) {
+                    errors.put("id", "Product id is required");
+                }
+            }
+
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = BulkItemResult.failure(i, dto == null ? null : dto.getId(),
+                        BulkItemResult.Status.INVALID, errors);
+            }
+        }
+        return valid;
+    }
+
+    private List<List<Integer>> chunks(List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += chunkSize) {
+            chunks.add(indexes.subList(from, Math.min(from + chunkSize, indexes.size())));
+        }
+        return chunks;
+    }
+
+    private void retryIndividually(List<Integer> chunk, BulkItemResult[] results, RuntimeException ex,
+                                   Function<Integer, Long> idOf, Consumer<Integer> retry) {
+        if (chunk.size() == 1) {
+            Integer index = chunk.get(0);
+            log.warn("Bulk item {} failed: {}", index, ex.getMessage());
+            results[index] = BulkItemResult.failure(index, idOf.apply(index), BulkItemResult.Status.FAILED,
+                    Map.of("error", String.valueOf(ex.getMessage())));
+            return;
+        }
+        log.warn("Bulk chunk of {} items failed, retrying one by one: {}", chunk.size(), ex.getMessage());
+        chunk.forEach(retry);
+    }
+}
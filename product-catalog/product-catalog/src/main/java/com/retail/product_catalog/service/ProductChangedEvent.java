@@ -0,0 +1,47 @@
+package com.retail.product_catalog.service;
+
+import com.retail.product_catalog.dto.ProductDTO;
+
+/**
+ * Published by {@link ProductService} after a product is created, updated or deleted,
+ * so in-memory indexes can follow the catalog without re-reading the table.
+ */
+public class ProductChangedEvent {
+
+    public enum Type {
+        SAVED, DELETED
+    }
+
+    private final Type type;
+    private final Long productId;
+    private final ProductDTO product;
+    private final ProductDTO previous;
+
+    private ProductChangedEvent(Type type, Long productId, ProductDTO product, ProductDTO previous) {
+        this.type = type;
+        this.productId = productId;
+        this.product = product;
+        this.previous = previous;
+    }
+
+    public static ProductChangedEvent saved(ProductDTO product) {
+        return new ProductChangedEvent(Type.SAVED, product.getId(), product, null);
+    }
+
+    public static ProductChangedEvent updated(ProductDTO previous, ProductDTO product) {
+        return new ProductChangedEvent(Type.SAVED, product.getId(), product, previous);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(Type.DELETED, productId, null, null);
+    }
+
+    public Type getType() { return type; }
+    public Long getProductId() { return productId; }
+
+    /** Current state of the product, or {@code null} for {@link Type#DELETED}. */
+    public ProductDTO getProduct() { return product; }
+
+    /** State before a single-product update, or {@code null} when not known (creates, bulk writes). */
+    public ProductDTO getPrevious() { return previous; }
+}
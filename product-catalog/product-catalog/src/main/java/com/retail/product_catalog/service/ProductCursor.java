@@ -0,0 +1,87 @@
+package com.retail.product_catalog.service;
+
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.dto.CursorPage;
+import com.retail.product_catalog.dto.ProductDTO;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset position: the sort key and id of the last row a client has seen.
+ * Encoded as URL-safe Base64 of {@code sortBy \n id \n value}.
+ */
+public class ProductCursor {
+
+    private final ProductSort sort;
+    private final Comparable<?> value;
+    private final Long id;
+
+    public ProductCursor(ProductSort sort, Comparable<?> value, Long id) {
+        this.sort = sort;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static ProductCursor after(ProductSort sort, ProductDTO product) {
+        return new ProductCursor(sort, sort.valueOf(product), product.getId());
+    }
+
+    public ProductSort getSort() { return sort; }
+    public Comparable<?> getValue() { return value; }
+    public Long getId() { return id; }
+
+    // ===================== ENCODING =====================
+
+    public String encode() {
+        String raw = value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value);
+        String plain = sort.getProperty() + "\n" + id + "\n" + raw;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@code null} for a blank token, which asks for the first slice.
+     */
+    public static ProductCursor decode(String token, ProductSort expectedSort) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = plain.split("\n", 3);
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            if (!expectedSort.getProperty().equals(parts[0])) {
+                throw new BadRequestException("Cursor was issued for sortBy=" + parts[0]);
+            }
+            return new ProductCursor(expectedSort, expectedSort.parse(parts[2]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // ===================== SLICES =====================
+
+    /** {@code rows} holds one extra row beyond {@code size}, if there is one, to detect a next slice. */
+    public static CursorPage<ProductDTO> toPage(List<ProductDTO> rows, ProductSort sort, int size) {
+        boolean hasNext = rows.size() > size;
+        List<ProductDTO> slice = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext
+                ? after(sort, slice.get(slice.size() - 1)).encode()
+                : null;
+
+        return new CursorPage<>(
+                new ArrayList<>(slice),
+                size,
+                hasNext,
+                nextCursor
+        );
+    }
+}
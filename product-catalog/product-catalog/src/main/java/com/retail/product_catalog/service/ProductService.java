@@ -1,111 +1,293 @@
 package com.retail.product_catalog.service;
 
+import com.retail.product_catalog.dto.CursorPage;
+import com.retail.product_catalog.dto.FacetCounts;
 import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.ScoredProductDTO;
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.exception.PreconditionFailedException;
 import com.retail.product_catalog.exception.ResourceNotFoundException;
+import com.retail.product_catalog.facet.ProductFacetEngine;
+import com.retail.product_catalog.filter.ProductFilter;
+import com.retail.product_catalog.filter.ProductFilterEngine;
 import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.model.ProductTombstone;
+import com.retail.product_catalog.repository.ProductFullTextRepository;
 import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.repository.ProductTombstoneRepository;
+import com.retail.product_catalog.search.FullTextMode;
+import com.retail.product_catalog.search.ProductSearchEngine;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-
-import java.util.List;
-import java.util.stream.Collectors;
+import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads run in read-only transactions: list pages are projected straight into
+ * {@link ProductDTO}, and the by-id read stays on the entity so it is served from
+ * the second-level cache, loaded read-only without a dirty-checking snapshot.
+ *
+ * <p>Every public method is timed as {@code catalog.product.service}, tagged by method.
+ */
 @Service
+@Timed("catalog.product.service")
 public class ProductService {
 
     private final ProductRepository productRepository;
-
-    public ProductService(ProductRepository productRepository) {
+    private final ProductSearchEngine searchEngine;
+    private final ProductFilterEngine filterEngine;
+    private final ProductFacetEngine facetEngine;
+    private final ProductTombstoneRepository tombstoneRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductService(ProductRepository productRepository,
+                          ProductSearchEngine searchEngine,
+                          ProductFilterEngine filterEngine,
+                          ProductFacetEngine facetEngine,
+                          ProductTombstoneRepository tombstoneRepository,
+                          ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
+        this.searchEngine = searchEngine;
+        this.filterEngine = filterEngine;
+        this.facetEngine = facetEngine;
+        this.tombstoneRepository = tombstoneRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     // ===================== GET ALL (PAGINATED) =====================
 
+    @Transactional(readOnly = true)
     public Page<ProductDTO> getAllProducts(int page, int size, String sortBy) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
-
-        Page<Product> productPage = productRepository.findAll(pageable);
+        Pageable pageable = PageRequest.of(page, size, ProductSort.fromProperty(sortBy).toSort());
 
-        return productPage.map(this::mapToDTO);
+        return productRepository.findAllProjected(pageable);
     }
 
     // ===================== GET BY ID =====================
 
+    @Transactional(readOnly = true)
     public ProductDTO getProductById(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
 
+        eventPublisher.publishEvent(new ProductViewedEvent(id));
         return mapToDTO(product);
     }
 
     // ===================== CREATE =====================
 
+    // Flushed before mapping, so the result carries the id, version and timestamp as stored
+    @Transactional
     public ProductDTO createProduct(ProductDTO dto) {
         Product product = mapToEntity(dto);
-        Product saved = productRepository.save(product);
-        return mapToDTO(saved);
+        Product saved = productRepository.saveAndFlush(product);
+
+        ProductDTO result = mapToDTO(saved);
+        eventPublisher.publishEvent(ProductChangedEvent.saved(result));
+        return result;
     }
 
     // ===================== UPDATE =====================
 
+    @Transactional
     public ProductDTO updateProduct(Long id, ProductDTO dto) {
+        return updateProduct(id, dto, null);
+    }
+
+    /**
+     * Reads, checks and writes in one transaction on the primary, so the version is
+     * compared against the stored row and never against a lagging replica.
+     *
+     * @param requiredVersion version the caller last saw (from {@code If-Match}), or
+     *                        {@code null} for an unconditional update
+     */
+    @Transactional
+    public ProductDTO updateProduct(Long id, ProductDTO dto, Long requiredVersion) {
 
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
 
-        product.setName(dto.getName());
-        product.setDescription(dto.getDescription());
-        product.setPrice(dto.getPrice());
-        product.setCategory(dto.getCategory());
-        product.setStockQuantity(dto.getStockQuantity());
-        product.setImageUrl(dto.getImageUrl());
+        if (requiredVersion != null && !requiredVersion.equals(product.getVersion())) {
+            throw new PreconditionFailedException("Product " + id + " is at version " + product.getVersion()
+                    + ", not " + requiredVersion);
+        }
+
+        ProductDTO previous = mapToDTO(product);
+        applyChanges(product, dto);
 
-        Product updated = productRepository.save(product);
+        Product updated = productRepository.saveAndFlush(product);
 
-        return mapToDTO(updated);
+        ProductDTO result = mapToDTO(updated);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(previous, result));
+        return result;
     }
 
     // ===================== DELETE =====================
 
+    /** Leaves a tombstone in the same transaction, for the change feed. */
+    @Transactional
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
 
         productRepository.delete(product);
+        tombstoneRepository.save(new ProductTombstone(id, Instant.now()));
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
     }
 
     // ===================== SEARCH (PAGINATED) =====================
 
+    @Transactional(readOnly = true)
     public Page<ProductDTO> searchProducts(String searchTerm, int page, int size, String sortBy) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
+        Pageable pageable = PageRequest.of(page, size, ProductSort.fromProperty(sortBy).toSort());
+
+        return searchEngine.search(searchTerm, pageable);
+    }
+
+    // ===================== SEARCH (RELEVANCE, MYSQL FULLTEXT) =====================
+
+    /**
+     * Matches name and description through the FULLTEXT index, best match first. The
+     * page of ids and scores is one query; the rows are then loaded like any other page.
+     */
+    @Transactional(readOnly = true)
+    public Page<ScoredProductDTO> searchProductsByRelevance(String searchTerm, FullTextMode mode, int page, int size) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            throw new BadRequestException("keyword must not be blank");
+        }
+        requirePositiveSize(size);
+
+        Page<ProductFullTextRepository.RelevanceHit> hits =
+                productRepository.findIdsByRelevance(searchTerm, mode, PageRequest.of(page, size));
+        if (!hits.hasContent()) {
+            return new PageImpl<>(List.of(), hits.getPageable(), hits.getTotalElements());
+        }
+
+        Map<Long, ProductDTO> products = productRepository.findProjectedByIdIn(
+                        hits.map(ProductFullTextRepository.RelevanceHit::id).getContent()).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+
+        // A row deleted between the two queries drops out of the page
+        List<ScoredProductDTO> content = hits.getContent().stream()
+                .filter(hit -> products.containsKey(hit.id()))
+                .map(hit -> new ScoredProductDTO(products.get(hit.id()), hit.score()))
+                .toList();
+        return new PageImpl<>(content, hits.getPageable(), hits.getTotalElements());
+    }
+
+    // ===================== SEARCH (FUZZY) =====================
 
-        Page<Product> productPage =
-                productRepository.findByNameContainingIgnoreCase(searchTerm, pageable);
+    /**
+     * Typo-tolerant search over name and description tokens: "samsnug" finds Samsung.
+     * Served from memory by the search engine; only the page of rows is loaded.
+     */
+    @Transactional(readOnly = true)
+    public Page<ScoredProductDTO> searchProductsFuzzy(String searchTerm, int page, int size) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            throw new BadRequestException("keyword must not be blank");
+        }
+        requirePositiveSize(size);
 
-        return productPage.map(this::mapToDTO);
+        return searchEngine.fuzzySearch(searchTerm, PageRequest.of(page, size));
     }
 
     // ===================== FILTER BY CATEGORY (PAGINATED) =====================
 
+    /**
+     * Ids of the page come from the query cache and rows from the product cache, so
+     * stock moves, which evict single products, leave cached pages in place. Sorted by
+     * stock, a move can reorder the page itself; those pages are always queried.
+     */
+    @Transactional(readOnly = true)
     public Page<ProductDTO> getProductsByCategory(String category, int page, int size, String sortBy) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
+        ProductSort sort = ProductSort.fromProperty(sortBy);
+        Pageable pageable = PageRequest.of(page, size, sort.toSort());
+
+        if (sort == ProductSort.STOCK_QUANTITY) {
+            return productRepository.findProjectedByCategory(category, pageable);
+        }
+        Page<Long> ids = productRepository.findIdsByCategory(category, pageable);
+        List<ProductDTO> products = productRepository.findAllCachedById(ids.getContent()).stream()
+                .map(ProductService::mapToDTO)
+                .toList();
+        return new PageImpl<>(products, pageable, ids.getTotalElements());
+    }
+
+    // ===================== MULTI-ATTRIBUTE FILTER (PAGINATED) =====================
+
+    /** Any of the filter's categories, within its price range, optionally in stock; in id order. */
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> filterProducts(ProductFilter filter, int page, int size) {
+        requirePositiveSize(size);
+
+        return filterEngine.filter(filter, PageRequest.of(page, size));
+    }
+
+    // ===================== FACETS =====================
 
-        Page<Product> productPage =
-                productRepository.findByCategory(category, pageable);
+    /** Category counts and price histogram of the catalog, a category, a search, or a search within a category. */
+    @Transactional(readOnly = true)
+    public FacetCounts getFacets(String category, String searchTerm) {
+        return facetEngine.facets(blankToNull(category), blankToNull(searchTerm));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
 
-        return productPage.map(this::mapToDTO);
+    // ===================== KEYSET (CURSOR) PAGINATION =====================
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDTO> getAllProductsAfter(String after, int size, String sortBy) {
+        requirePositiveSize(size);
+        ProductSort sort = ProductSort.fromProperty(sortBy);
+        ProductCursor cursor = ProductCursor.decode(after, sort);
+
+        return ProductCursor.toPage(productRepository.findSlice(sort, cursor, null, null, size + 1), sort, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDTO> searchProductsAfter(String searchTerm, String after, int size, String sortBy) {
+        requirePositiveSize(size);
+        ProductSort sort = ProductSort.fromProperty(sortBy);
+        ProductCursor cursor = ProductCursor.decode(after, sort);
+
+        return ProductCursor.toPage(searchEngine.searchSlice(searchTerm, sort, cursor, size + 1), sort, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDTO> getProductsByCategoryAfter(String category, String after, int size, String sortBy) {
+        requirePositiveSize(size);
+        ProductSort sort = ProductSort.fromProperty(sortBy);
+        ProductCursor cursor = ProductCursor.decode(after, sort);
+
+        return ProductCursor.toPage(productRepository.findSlice(sort, cursor, category, null, size + 1), sort, size);
+    }
+
+    private static void requirePositiveSize(int size) {
+        if (size < 1) {
+            throw new BadRequestException("size must be at least 1");
+        }
     }
 
     // ===================== MAPPERS =====================
 
-    private ProductDTO mapToDTO(Product product) {
+    // Shared with the bulk writer and the catalog export, so all of them serialise products alike
+    public static ProductDTO mapToDTO(Product product) {
         return new ProductDTO(
                 product.getId(),
                 product.getName(),
@@ -113,20 +295,24 @@ public class ProductService {
                 product.getPrice(),
                 product.getCategory(),
                 product.getStockQuantity(),
-                product.getImageUrl()
+                product.getImageUrl(),
+                product.getVersion(),
+                product.getUpdatedAt()
         );
     }
 
-    private Product mapToEntity(ProductDTO dto) {
+    static Product mapToEntity(ProductDTO dto) {
         Product product = new Product();
+        applyChanges(product, dto);
+        return product;
+    }
 
+    static void applyChanges(Product product, ProductDTO dto) {
         product.setName(dto.getName());
         product.setDescription(dto.getDescription());
         product.setPrice(dto.getPrice());
         product.setCategory(dto.getCategory());
         product.setStockQuantity(dto.getStockQuantity());
         product.setImageUrl(dto.getImageUrl());
-
-        return product;
     }
 }
@@ -0,0 +1,63 @@
+package com.retail.product_catalog.service;
+
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.dto.ProductDTO;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * The {@code sortBy} values accepted by the listing endpoints, with enough type
+ * information to round-trip a sort key through a keyset cursor.
+ *
+ * <p>This is the whitelist of orderings the schema has an index for: every value is
+ * read in {@code (key, id)} order, with or without a category filter, straight from
+ * an index declared on {@link com.retail.product_catalog.model.Product} (and in the
+ * {@code V4} migration). Anything else is rejected instead of sorting in memory.
+ */
+public enum ProductSort {
+
+    ID("id", ProductDTO::getId, Long::valueOf),
+    NAME("name", ProductDTO::getName, raw -> raw),
+    PRICE("price", ProductDTO::getPrice, BigDecimal::new),
+    CATEGORY("category", ProductDTO::getCategory, raw -> raw),
+    STOCK_QUANTITY("stockQuantity", ProductDTO::getStockQuantity, Integer::valueOf);
+
+    private final String property;
+    private final Function<ProductDTO, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    ProductSort(String property,
+                Function<ProductDTO, Comparable<?>> extractor,
+                Function<String, Comparable<?>> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String getProperty() { return property; }
+
+    /** The ordering pages are read in: the key, then id so equal keys page stably. */
+    public Sort toSort() {
+        Sort byId = Sort.by(ID.property);
+        return this == ID ? byId : Sort.by(property).and(byId);
+    }
+
+    public Comparable<?> valueOf(ProductDTO product) {
+        return extractor.apply(product);
+    }
+
+    public Comparable<?> parse(String raw) {
+        return parser.apply(raw);
+    }
+
+    public static ProductSort fromProperty(String sortBy) {
+        for (ProductSort sort : values()) {
+            if (sort.property.equals(sortBy)) {
+                return sort;
+            }
+        }
+        throw new BadRequestException("Unsupported sortBy: " + sortBy);
+    }
+}
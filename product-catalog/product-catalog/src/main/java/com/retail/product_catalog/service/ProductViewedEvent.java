@@ -0,0 +1,16 @@
+package com.retail.product_catalog.service;
+
+/**
+ * Published by {@link ProductService} each time a product is read by id, whether or
+ * not the row came from the cache. Typeahead ranks completions by these views.
+ */
+public class ProductViewedEvent {
+
+    private final Long productId;
+
+    public ProductViewedEvent(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getProductId() { return productId; }
+}
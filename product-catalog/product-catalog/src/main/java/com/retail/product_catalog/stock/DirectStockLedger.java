@@ -0,0 +1,58 @@
+package com.retail.product_catalog.stock;
+
+import com.retail.product_catalog.exception.ResourceNotFoundException;
+import com.retail.product_catalog.repository.ProductStockRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * One conditional {@code UPDATE ... WHERE stock_quantity >= n} per call.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.stock.mode", havingValue = "direct", matchIfMissing = true)
+public class DirectStockLedger implements StockLedger {
+
+    private final ProductStockRepository stockRepository;
+    private final StockMetrics metrics;
+    private final StockLevelPublisher levels;
+
+    public DirectStockLedger(ProductStockRepository stockRepository, StockMetrics metrics,
+                             StockLevelPublisher levels) {
+        this.stockRepository = stockRepository;
+        this.metrics = metrics;
+        this.levels = levels;
+    }
+
+    @Override
+    public boolean reserve(long productId, int quantity) {
+        if (levels.afterWrite(productId, stockRepository.decrement(productId, quantity)).applied()) {
+            metrics.rowUpdated();
+            metrics.reserved(quantity);
+            return true;
+        }
+
+        requireExists(productId);
+        metrics.rowConflict();
+        metrics.rejected();
+        return false;
+    }
+
+    @Override
+    public void release(long productId, int quantity) {
+        if (!levels.afterWrite(productId, stockRepository.increment(productId, quantity)).applied()) {
+            throw notFound(productId);
+        }
+        metrics.rowUpdated();
+        metrics.released();
+    }
+
+    private void requireExists(long productId) {
+        if (!stockRepository.exists(productId)) {
+            throw notFound(productId);
+        }
+    }
+
+    private static ResourceNotFoundException notFound(long productId) {
+        return new ResourceNotFoundException("Product not found with id: " + productId);
+    }
+}
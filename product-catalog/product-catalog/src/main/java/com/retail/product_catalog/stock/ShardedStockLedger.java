@@ -0,0 +1,297 @@
+package com.retail.product_catalog.stock;
+
+import com.retail.product_catalog.exception.ResourceNotFoundException;
+import com.retail.product_catalog.repository.ProductStockRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Absorbs hot-SKU contention in memory. Units are leased from the row in blocks of
+ * {@code catalog.stock.lease-size} with the same conditional decrement the direct
+ * ledger uses, so the database can never be oversold, even across instances. The
+ * leased units sit in a striped allowance that reservations take from with a CAS on
+ * their own stripe; only a refill touches the row. Allowances that see no traffic for
+ * {@code catalog.stock.flush-interval} hand their leftover units back to the row.
+ *
+ * <p>While units are leased, {@code stockQuantity} on the row reads lower than the
+ * sellable stock by at most one lease per product and instance. Setting an absolute
+ * stock through {@code PUT /api/products/{id}} during that window does not account
+ * for leased units, which are added back when the lease is returned. Out-of-stock
+ * events follow the row too, so a product whose last units are leased reads as sold
+ * out until they are returned (as it does to the SQL filter).
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.stock.mode", havingValue = "sharded")
+public class ShardedStockLedger implements StockLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedStockLedger.class);
+
+    private final ProductStockRepository stockRepository;
+    private final StockMetrics metrics;
+    private final StockLevelPublisher levels;
+    private final Map<Long, Allowance> allowances = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> pendingReturns = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-lease-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${catalog.stock.stripes:8}")
+    private int stripes;
+
+    @Value("${catalog.stock.lease-size:50}")
+    private int leaseSize;
+
+    @Value("${catalog.stock.flush-interval:1s}")
+    private Duration flushInterval;
+
+    public ShardedStockLedger(ProductStockRepository stockRepository, StockMetrics metrics,
+                              StockLevelPublisher levels) {
+        this.stockRepository = stockRepository;
+        this.metrics = metrics;
+        this.levels = levels;
+    }
+
+    @PostConstruct
+    void start() {
+        long millis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::returnIdleLeases, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        try {
+            returnAllLeases();
+        } catch (RuntimeException ex) {
+            log.error("Could not return stock leases on shutdown: {}", ex.getMessage());
+        }
+    }
+
+    // ===================== RESERVE / RELEASE =====================
+
+    @Override
+    public boolean reserve(long productId, int quantity) {
+        while (true) {
+            Allowance allowance = allowances.computeIfAbsent(productId, id -> new Allowance(stripes));
+            if (allowance.tryTake(quantity)) {
+                metrics.reserved(quantity);
+                return true;
+            }
+
+            allowance.lock.lock();
+            try {
+                if (allowance.retired) {
+                    continue;
+                }
+                return refillAndTake(productId, allowance, quantity);
+            } finally {
+                allowance.lock.unlock();
+            }
+        }
+    }
+
+    /** Slow path, called with the allowance locked: pool the stripes, then lease more if needed. */
+    private boolean refillAndTake(long productId, Allowance allowance, int quantity) {
+        int pooled = allowance.drain();
+        if (pooled >= quantity) {
+            allowance.add(pooled - quantity);
+            metrics.reserved(quantity);
+            return true;
+        }
+
+        int missing = quantity - pooled;
+        if (lease(productId, missing + leaseSize)) {
+            allowance.add(leaseSize);
+            metrics.reserved(quantity);
+            return true;
+        }
+        if (leaseSize > 0 && lease(productId, missing)) {
+            metrics.reserved(quantity);
+            return true;
+        }
+
+        allowance.add(pooled);
+        if (!stockRepository.exists(productId)) {
+            allowance.retired = true;
+            allowances.remove(productId, allowance);
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        metrics.rejected();
+        return false;
+    }
+
+    @Override
+    public void release(long productId, int quantity) {
+        while (true) {
+            Allowance allowance = allowances.get(productId);
+            if (allowance == null) {
+                if (!levels.afterWrite(productId, stockRepository.increment(productId, quantity)).applied()) {
+                    throw new ResourceNotFoundException("Product not found with id: " + productId);
+                }
+                metrics.rowUpdated();
+                metrics.released();
+                return;
+            }
+
+            allowance.lock.lock();
+            try {
+                if (!allowance.retired) {
+                    allowance.add(quantity);
+                    metrics.released();
+                    return;
+                }
+            } finally {
+                allowance.lock.unlock();
+            }
+        }
+    }
+
+    private boolean lease(long productId, int quantity) {
+        if (levels.afterWrite(productId, stockRepository.decrement(productId, quantity)).applied()) {
+            metrics.rowUpdated();
+            return true;
+        }
+        metrics.rowConflict();
+        return false;
+    }
+
+    // ===================== RETURNING LEASES =====================
+
+    /** Returns the leftover units of every allowance that was not used since the last run. */
+    void returnIdleLeases() {
+        try {
+            for (Map.Entry<Long, Allowance> entry : allowances.entrySet()) {
+                Allowance allowance = entry.getValue();
+                long activity = allowance.activity.sum();
+                if (activity != allowance.lastSeenActivity) {
+                    allowance.lastSeenActivity = activity;
+                    continue;
+                }
+                retire(entry.getKey(), allowance);
+            }
+            retryPendingReturns();
+        } catch (RuntimeException ex) {
+            log.warn("Returning idle stock leases failed: {}", ex.getMessage());
+        }
+    }
+
+    void returnAllLeases() {
+        allowances.forEach(this::retire);
+        retryPendingReturns();
+    }
+
+    private void retire(Long productId, Allowance allowance) {
+        int leftover;
+        allowance.lock.lock();
+        try {
+            allowance.retired = true;
+            allowances.remove(productId, allowance);
+            leftover = allowance.drain();
+        } finally {
+            allowance.lock.unlock();
+        }
+        if (leftover > 0) {
+            pendingReturns.merge(productId, leftover, Integer::sum);
+        }
+    }
+
+    /** Units stay queued here if the write fails, and are retried on the next run. */
+    private void retryPendingReturns() {
+        for (Long productId : pendingReturns.keySet()) {
+            Integer units = pendingReturns.remove(productId);
+            if (units == null) {
+                continue;
+            }
+            try {
+                if (levels.afterWrite(productId, stockRepository.increment(productId, units)).applied()) {
+                    metrics.rowUpdated();
+                } else {
+                    log.warn("Dropping {} leased units of deleted product {}", units, productId);
+                }
+            } catch (RuntimeException ex) {
+                pendingReturns.merge(productId, units, Integer::sum);
+                throw ex;
+            }
+        }
+    }
+
+    // ===================== ALLOWANCE =====================
+
+    /**
+     * Leased units spread over stripes that sit on separate cache lines, so threads
+     * reserving the same product mostly CAS different memory.
+     */
+    private static final class Allowance {
+
+        private static final int SPACING = 16;
+
+        private final AtomicIntegerArray units;
+        private final int stripes;
+        private final LongAdder activity = new LongAdder();
+
+        // A lock rather than synchronized: the refill runs a JDBC statement while holding
+        // it, which would pin the carrier thread in the virtual-threads profile.
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private long lastSeenActivity;  // flusher thread only
+        private boolean retired;        // guarded by lock
+
+        Allowance(int stripes) {
+            this.stripes = stripes;
+            this.units = new AtomicIntegerArray(stripes * SPACING);
+        }
+
+        boolean tryTake(int quantity) {
+            activity.increment();
+            int home = homeStripe();
+            for (int i = 0; i < stripes; i++) {
+                int slot = ((home + i) % stripes) * SPACING;
+                int current;
+                while ((current = units.get(slot)) >= quantity) {
+                    if (units.compareAndSet(slot, current, current - quantity)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void add(int quantity) {
+            if (quantity > 0) {
+                units.addAndGet(homeStripe() * SPACING, quantity);
+            }
+        }
+
+        int drain() {
+            int total = 0;
+            for (int i = 0; i < stripes; i++) {
+                total += units.getAndSet(i * SPACING, 0);
+            }
+            return total;
+        }
+
+        // A random start rather than a thread id: Thread.getId() is deprecated on 21, and
+        // virtual threads are too short-lived for a fixed home to stay warm anyway
+        private int homeStripe() {
+            return ThreadLocalRandom.current().nextInt(stripes);
+        }
+    }
+}
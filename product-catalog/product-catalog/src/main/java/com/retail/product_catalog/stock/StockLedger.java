@@ -0,0 +1,24 @@
+package com.retail.product_catalog.stock;
+
+/**
+ * Reserve/release of product stock. The implementation is chosen with
+ * {@code catalog.stock.mode}: {@code direct} (default) writes every call to the
+ * row, {@code sharded} absorbs hot-SKU traffic in memory.
+ */
+public interface StockLedger {
+
+    /**
+     * Takes {@code quantity} units.
+     *
+     * @return {@code false} when fewer than {@code quantity} units are available
+     * @throws com.retail.product_catalog.exception.ResourceNotFoundException if the product does not exist
+     */
+    boolean reserve(long productId, int quantity);
+
+    /**
+     * Gives back {@code quantity} previously reserved units.
+     *
+     * @throws com.retail.product_catalog.exception.ResourceNotFoundException if the product does not exist
+     */
+    void release(long productId, int quantity);
+}
@@ -0,0 +1,24 @@
+package com.retail.product_catalog.stock;
+
+/**
+ * Published by the {@link StockLedger} when a reservation or release may have taken a
+ * product out of stock or brought it back, with the row's state read after the write.
+ * Concurrent writes can publish out of order; a listener keeps the highest
+ * {@code version} it has seen for a product.
+ */
+public class StockLevelChangedEvent {
+
+    private final long productId;
+    private final boolean inStock;
+    private final long version;
+
+    public StockLevelChangedEvent(long productId, boolean inStock, long version) {
+        this.productId = productId;
+        this.inStock = inStock;
+        this.version = version;
+    }
+
+    public long getProductId() { return productId; }
+    public boolean isInStock() { return inStock; }
+    public long getVersion() { return version; }
+}
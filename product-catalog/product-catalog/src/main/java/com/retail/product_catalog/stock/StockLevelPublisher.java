@@ -0,0 +1,33 @@
+package com.retail.product_catalog.stock;
+
+import com.retail.product_catalog.repository.ProductStockRepository;
+import com.retail.product_catalog.repository.ProductStockRepository.StockUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns row writes near zero into {@link StockLevelChangedEvent}s. Every write that can
+ * change whether a product is in stock reads the row back afterwards, so the event with
+ * the highest version always carries the current state; writes that cannot cross zero
+ * cost nothing extra.
+ */
+@Component
+class StockLevelPublisher {
+
+    private final ProductStockRepository stockRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    StockLevelPublisher(ProductStockRepository stockRepository, ApplicationEventPublisher eventPublisher) {
+        this.stockRepository = stockRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** Returns {@code update}, after publishing the product's stock level if it may have crossed zero. */
+    StockUpdate afterWrite(long productId, StockUpdate update) {
+        if (update == StockUpdate.NEAR_ZERO) {
+            stockRepository.findStockLevel(productId).ifPresent(level -> eventPublisher.publishEvent(
+                    new StockLevelChangedEvent(productId, level.quantity() > 0, level.version())));
+        }
+        return update;
+    }
+}
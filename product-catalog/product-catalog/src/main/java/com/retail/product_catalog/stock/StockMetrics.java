@@ -0,0 +1,72 @@
+package com.retail.product_catalog.stock;
+
+import com.retail.product_catalog.dto.StockStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the stock endpoints. LongAdder keeps recording cheap while many
+ * threads hit the same product. The same counters are published to Micrometer.
+ */
+@Component
+public class StockMetrics implements MeterBinder {
+
+    private final Instant startedAt = Instant.now();
+
+    private final LongAdder reservations = new LongAdder();
+    private final LongAdder reservedUnits = new LongAdder();
+    private final LongAdder releases = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder rowUpdates = new LongAdder();
+    private final LongAdder rowConflicts = new LongAdder();
+
+    void reserved(int quantity) {
+        reservations.increment();
+        reservedUnits.add(quantity);
+    }
+
+    void released() {
+        releases.increment();
+    }
+
+    void rejected() {
+        rejections.increment();
+    }
+
+    /** A conditional UPDATE that changed the row. */
+    void rowUpdated() {
+        rowUpdates.increment();
+    }
+
+    /** A conditional UPDATE that matched no row because stock was too low. */
+    void rowConflict() {
+        rowConflicts.increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "catalog.stock.reservations", reservations);
+        counter(registry, "catalog.stock.reserved.units", reservedUnits);
+        counter(registry, "catalog.stock.releases", releases);
+        counter(registry, "catalog.stock.rejections", rejections);
+        counter(registry, "catalog.stock.row.updates", rowUpdates);
+        counter(registry, "catalog.stock.row.conflicts", rowConflicts);
+    }
+
+    private static void counter(MeterRegistry registry, String name, LongAdder adder) {
+        FunctionCounter.builder(name, adder, LongAdder::sum).register(registry);
+    }
+
+    public StockStats snapshot(String mode) {
+        double seconds = Math.max(1, Duration.between(startedAt, Instant.now()).toMillis()) / 1000.0;
+        long reserved = reservations.sum();
+        return new StockStats(mode, reserved, reservedUnits.sum(), releases.sum(), rejections.sum(),
+                rowUpdates.sum(), rowConflicts.sum(), reserved / seconds);
+    }
+}
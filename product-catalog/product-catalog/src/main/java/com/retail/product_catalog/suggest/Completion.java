@@ -0,0 +1,32 @@
+package com.retail.product_catalog.suggest;
+
+import java.util.Comparator;
+
+/**
+ * One suggestable string: a product name or a category. {@code key} is its normalized
+ * form (see {@link SuggestKeys}); {@code score} is its popularity.
+ */
+final class Completion {
+
+    /** Most popular first; then shorter, then alphabetical, then categories before products. */
+    static final Comparator<Completion> BEST = Comparator.comparingLong((Completion c) -> -c.score)
+            .thenComparingInt(c -> c.text.length())
+            .thenComparing(c -> c.text, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(c -> c.productId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    final String text;
+    final Long productId;
+    final String key;
+    long score;
+
+    Completion(String text, Long productId, long score) {
+        this.text = text;
+        this.productId = productId;
+        this.key = SuggestKeys.key(text);
+        this.score = score;
+    }
+
+    boolean isCategory() {
+        return productId == null;
+    }
+}
@@ -0,0 +1,349 @@
+package com.retail.product_catalog.suggest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Radix tree over completion keys: each edge carries a whole run of characters, so
+ * there is one node per branching point rather than per character. Every node also
+ * keeps the best {@code k} completions of its subtree, which makes a lookup a walk
+ * down the typed prefix followed by a copy, however many keys share the prefix.
+ *
+ * <p>Adding a completion or raising its score offers it to the nodes on its paths.
+ * Removing one recomputes only the nodes on its paths that listed it, from their
+ * children's lists. Not thread-safe; {@link SuggestIndex} guards it with a lock.
+ */
+final class PrefixTree {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Completion[] NONE = new Completion[0];
+
+    private final int k;
+    private final Node root = new Node("", 0, 0);
+    private int nodeCount = 1;
+
+    PrefixTree(int k) {
+        this.k = k;
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    // ===================== LOOKUP =====================
+
+    /** Up to {@code limit} (at most {@code k}) completions with a key starting with {@code prefix}, best first. */
+    List<Completion> complete(String prefix, int limit) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int slot = childSlot(node, prefix.charAt(i));
+            if (slot < 0) {
+                return List.of();
+            }
+            Node child = node.children[slot];
+            int common = commonLength(child, prefix, i);
+            if (i + common == prefix.length()) {
+                node = child;
+                break;
+            }
+            if (common < child.length()) {
+                return List.of();
+            }
+            node = child;
+            i += common;
+        }
+        Completion[] top = topOf(node);
+        return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+    }
+
+    // ===================== UPDATES =====================
+
+    // A completion is stored under its key and under every suffix of the key that
+    // starts a word; a suffix is the key plus a start offset, never a copy.
+
+    void add(Completion completion) {
+        for (int start = 0; start >= 0; start = nextWord(completion.key, start)) {
+            insert(completion.key, start, completion);
+        }
+    }
+
+    void remove(Completion completion) {
+        for (int start = 0; start >= 0; start = nextWord(completion.key, start)) {
+            delete(completion.key, start, completion);
+        }
+    }
+
+    /** Call after raising {@code completion.score}; lowering it needs {@link #remove} and {@link #add}. */
+    void promote(Completion completion) {
+        for (int start = 0; start >= 0; start = nextWord(completion.key, start)) {
+            for (Node node : path(completion.key, start)) {
+                offer(node, completion);
+            }
+        }
+    }
+
+    private static int nextWord(String key, int from) {
+        int space = key.indexOf(' ', from);
+        return space < 0 ? -1 : space + 1;
+    }
+
+    private void insert(String key, int start, Completion completion) {
+        if (start == key.length()) {
+            return;
+        }
+        Node node = root;
+        int i = start;
+        while (i < key.length()) {
+            offer(node, completion);
+            int slot = childSlot(node, key.charAt(i));
+            if (slot < 0) {
+                Node leaf = new Node(key, i, key.length());
+                if (node.children.length == 0) {
+                    node.top = topOf(node);
+                }
+                node.children = insertAt(node.children, -slot - 1, leaf);
+                offer(node, completion);
+                nodeCount++;
+                node = leaf;
+                break;
+            }
+
+            Node child = node.children[slot];
+            int common = commonLength(child, key, i);
+            if (common < child.length()) {
+                Node split = new Node(child.source, child.from, child.from + common);
+                child.from += common;
+                split.children = new Node[]{child};
+                split.top = topOf(child);
+                node.children[slot] = split;
+                nodeCount++;
+                child = split;
+            }
+            node = child;
+            i += common;
+        }
+        offer(node, completion);
+        node.terminals = append(node.terminals, completion);
+    }
+
+    private void delete(String key, int start, Completion completion) {
+        List<Node> path = path(key, start);
+        Node end = path.get(path.size() - 1);
+        if (!spells(path, key.length() - start) || indexOf(end.terminals, completion) < 0) {
+            return;
+        }
+        end.terminals = without(end.terminals, completion);
+
+        for (int j = path.size() - 1; j >= 0; j--) {
+            Node node = path.get(j);
+            if (j > 0 && node.terminals.length == 0 && node.children.length <= 1) {
+                Node parent = path.get(j - 1);
+                int slot = childSlot(parent, node.source.charAt(node.from));
+                if (node.children.length == 0) {
+                    parent.children = removeAt(parent.children, slot);
+                } else {
+                    Node only = node.children[0];
+                    only.source = node.label() + only.label();
+                    only.from = 0;
+                    only.to = only.source.length();
+                    parent.children[slot] = only;
+                }
+                nodeCount--;
+                continue;
+            }
+            if (node.children.length == 0) {
+                node.top = null;
+            } else if (indexOf(node.top, completion) >= 0) {
+                node.top = recompute(node);
+            }
+        }
+    }
+
+    /** The root and the nodes whose labels spell out {@code key} from {@code start}, as far as it matches. */
+    private List<Node> path(String key, int start) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = start;
+        while (i < key.length()) {
+            int slot = childSlot(node, key.charAt(i));
+            if (slot < 0) {
+                break;
+            }
+            Node child = node.children[slot];
+            if (!key.regionMatches(i, child.source, child.from, child.length())) {
+                break;
+            }
+            node = child;
+            path.add(node);
+            i += node.length();
+        }
+        return path;
+    }
+
+    /** Whether the labels along {@code path} add up to {@code length} characters. */
+    private static boolean spells(List<Node> path, int length) {
+        int spelled = 0;
+        for (Node node : path) {
+            spelled += node.length();
+        }
+        return spelled == length;
+    }
+
+    // ===================== TOP-K LISTS =====================
+    // Only nodes with children store their list; a leaf's is its own terminals, which
+    // are sorted when asked for. Most nodes are leaves, so this halves the tree's size.
+
+    private Completion[] topOf(Node node) {
+        if (node.top != null) {
+            return node.top;
+        }
+        Completion[] sorted = node.terminals.clone();
+        Arrays.sort(sorted, Completion.BEST);
+        return sorted.length > k ? Arrays.copyOf(sorted, k) : sorted;
+    }
+
+    private void offer(Node node, Completion completion) {
+        Completion[] top = node.top;
+        if (top == null) {
+            return;
+        }
+        int at = indexOf(top, completion);
+        if (at < 0 && top.length == k && Completion.BEST.compare(completion, top[k - 1]) >= 0) {
+            return;
+        }
+        Completion[] others = at < 0 ? top : without(top, completion);
+        int pos = 0;
+        while (pos < others.length && Completion.BEST.compare(others[pos], completion) < 0) {
+            pos++;
+        }
+        Completion[] next = insertAt(others, pos, completion);
+        node.top = next.length > k ? Arrays.copyOf(next, k) : next;
+    }
+
+    private Completion[] recompute(Node node) {
+        Map<Completion, Boolean> seen = new IdentityHashMap<>();
+        List<Completion> candidates = new ArrayList<>();
+        for (Completion completion : node.terminals) {
+            if (seen.put(completion, Boolean.TRUE) == null) {
+                candidates.add(completion);
+            }
+        }
+        for (Node child : node.children) {
+            for (Completion completion : topOf(child)) {
+                if (seen.put(completion, Boolean.TRUE) == null) {
+                    candidates.add(completion);
+                }
+            }
+        }
+        candidates.sort(Completion.BEST);
+        return candidates.subList(0, Math.min(k, candidates.size())).toArray(NONE);
+    }
+
+    // ===================== ARRAYS =====================
+
+    private static int childSlot(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char c = node.children[mid].first();
+            if (c < first) {
+                low = mid + 1;
+            } else if (c > first) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static int commonLength(Node node, String key, int from) {
+        int n = Math.min(node.length(), key.length() - from);
+        int i = 0;
+        while (i < n && node.source.charAt(node.from + i) == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int indexOf(Completion[] completions, Completion completion) {
+        for (int i = 0; i < completions.length; i++) {
+            if (completions[i] == completion) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Completion[] append(Completion[] completions, Completion completion) {
+        Completion[] next = Arrays.copyOf(completions, completions.length + 1);
+        next[completions.length] = completion;
+        return next;
+    }
+
+    private static Completion[] without(Completion[] completions, Completion completion) {
+        int at = indexOf(completions, completion);
+        if (at < 0) {
+            return completions;
+        }
+        Completion[] next = new Completion[completions.length - 1];
+        System.arraycopy(completions, 0, next, 0, at);
+        System.arraycopy(completions, at + 1, next, at, next.length - at);
+        return next;
+    }
+
+    private static <T> T[] insertAt(T[] array, int at, T element) {
+        T[] next = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, at, next, at + 1, array.length - at);
+        next[at] = element;
+        return next;
+    }
+
+    private static Node[] removeAt(Node[] nodes, int at) {
+        if (nodes.length == 1) {
+            return NO_CHILDREN;
+        }
+        Node[] next = new Node[nodes.length - 1];
+        System.arraycopy(nodes, 0, next, 0, at);
+        System.arraycopy(nodes, at + 1, next, at, next.length - at);
+        return next;
+    }
+
+    /**
+     * The label is {@code source[from, to)}: a slice of the key that created the node,
+     * so labels cost no strings of their own. {@code top} is null on leaves.
+     */
+    private static final class Node {
+
+        String source;
+        int from;
+        int to;
+        Node[] children = NO_CHILDREN;
+        Completion[] terminals = NONE;
+        Completion[] top;
+
+        Node(String source, int from, int to) {
+            this.source = source;
+            this.from = from;
+            this.to = to;
+        }
+
+        int length() {
+            return to - from;
+        }
+
+        char first() {
+            return source.charAt(from);
+        }
+
+        String label() {
+            return source.substring(from, to);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.retail.product_catalog.suggest;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.Suggestion;
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import com.retail.product_catalog.service.ProductViewedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over product names and categories, served from a {@link PrefixTree}.
+ * A name is completed from its start or from the start of any later word; a
+ * category is a completion of its own. Completions are ranked by popularity: a
+ * product by its views ({@link ProductViewedEvent}), a category by the views of
+ * all its products.
+ *
+ * <p>The tree is built from the table once the application is ready (until then there
+ * is nothing to suggest) and then follows {@link ProductChangedEvent}s. Views are only
+ * counted on the request thread; they reach the ranking every
+ * {@code catalog.suggest.refresh-interval}. Views are kept in memory per instance and
+ * start from zero after a restart or a rebuild.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestIndex.class);
+
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final int maxResults;
+    private final Duration refreshInterval;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private PrefixTree tree;
+    private final Map<Long, Indexed> products = new HashMap<>();
+    private final Map<String, Category> categories = new HashMap<>();
+    private final Map<Long, Long> pendingViews = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "suggest-view-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SuggestIndex(ProductRepository productRepository,
+                        @Value("${catalog.suggest.max-results:10}") int maxResults,
+                        @Value("${catalog.suggest.refresh-interval:1s}") Duration refreshInterval) {
+        this.productRepository = productRepository;
+        this.maxResults = maxResults;
+        this.refreshInterval = refreshInterval;
+        this.tree = new PrefixTree(maxResults);
+    }
+
+    @PostConstruct
+    void start() {
+        long millis = refreshInterval.toMillis();
+        refresher.scheduleWithFixedDelay(this::applyViews, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    // ===================== INDEX MAINTENANCE =====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            tree = new PrefixTree(maxResults);
+            products.clear();
+            categories.clear();
+            pendingViews.clear();
+
+            productRepository.forEachProduct(BOOTSTRAP_BATCH_SIZE, product -> index(product, 0));
+
+            log.info("Suggest index built: {} products, {} categories, {} nodes in {} ms",
+                    products.size(), categories.size(), tree.nodeCount(), System.currentTimeMillis() - started);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Indexed previous = products.remove(event.getProductId());
+            long views = previous == null ? 0 : previous.product().score;
+            if (previous != null) {
+                unindex(previous);
+            }
+            if (event.getType() == ProductChangedEvent.Type.SAVED) {
+                index(event.getProduct(), views);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onProductViewed(ProductViewedEvent event) {
+        pendingViews.merge(event.getProductId(), 1L, Long::sum);
+    }
+
+    /** Moves the views counted since the last call into the ranking. */
+    void applyViews() {
+        if (pendingViews.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Long id : pendingViews.keySet()) {
+                Long views = pendingViews.remove(id);
+                Indexed indexed = products.get(id);
+                if (views != null && indexed != null) {
+                    rescore(indexed.product(), indexed.product().score + views);
+                    rescore(indexed.category().completion, indexed.category().completion.score + views);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Could not apply product views to the suggest index", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Must be called with the write lock held. */
+    private void index(ProductDTO dto, long views) {
+        Completion product = new Completion(dto.getName(), dto.getId(), views);
+        tree.add(product);
+
+        String key = SuggestKeys.key(dto.getCategory());
+        Category category = categories.get(key);
+        if (category == null) {
+            category = new Category(new Completion(dto.getCategory(), null, views));
+            categories.put(key, category);
+            tree.add(category.completion);
+        } else if (views > 0) {
+            rescore(category.completion, category.completion.score + views);
+        }
+        category.products++;
+        products.put(dto.getId(), new Indexed(product, category, key));
+    }
+
+    /** Must be called with the write lock held. */
+    private void unindex(Indexed indexed) {
+        tree.remove(indexed.product());
+        Category category = indexed.category();
+        if (--category.products == 0) {
+            tree.remove(category.completion);
+            categories.remove(indexed.categoryKey());
+        } else if (indexed.product().score > 0) {
+            rescore(category.completion, category.completion.score - indexed.product().score);
+        }
+    }
+
+    private void rescore(Completion completion, long score) {
+        if (score >= completion.score) {
+            completion.score = score;
+            tree.promote(completion);
+        } else {
+            tree.remove(completion);
+            completion.score = score;
+            tree.add(completion);
+        }
+    }
+
+    // ===================== SUGGEST =====================
+
+    /** Up to {@code limit} (capped at {@code catalog.suggest.max-results}) completions of {@code prefix}, best first. */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("limit must be at least 1");
+        }
+        String key = SuggestKeys.prefix(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return tree.complete(key, Math.min(limit, maxResults)).stream()
+                    .map(c -> new Suggestion(c.text, c.isCategory() ? "category" : "product", c.productId, c.score))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int productCount() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===================== ENTRIES =====================
+
+    private record Indexed(Completion product, Category category, String categoryKey) {}
+
+    private static final class Category {
+
+        private final Completion completion;
+        private int products;
+
+        Category(Completion completion) {
+            this.completion = completion;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.retail.product_catalog.suggest;
+
+import java.util.Locale;
+
+/**
+ * Normalizes names and typed prefixes the same way: lower case, runs of anything
+ * that is not a letter or digit collapsed to one space. "Sony WH-1000XM5" becomes
+ * {@code "sony wh 1000xm5"}, so typing {@code "wh-1000"} still completes it.
+ */
+final class SuggestKeys {
+
+    private SuggestKeys() {}
+
+    static String key(String text) {
+        return normalize(text, false);
+    }
+
+    /**
+     * A typed prefix. A trailing separator is kept as one space, so {@code "usb "}
+     * completes to "usb hub" but no longer to "usbc".
+     */
+    static String prefix(String typed) {
+        return normalize(typed, true);
+    }
+
+    private static String normalize(String text, boolean keepTrailingSpace) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(lower.length());
+        boolean gap = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char ch = lower.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                if (gap && out.length() > 0) {
+                    out.append(' ');
+                }
+                out.append(ch);
+                gap = false;
+            } else {
+                gap = true;
+            }
+        }
+        if (gap && keepTrailingSpace && out.length() > 0) {
+            out.append(' ');
+        }
+        return out.toString();
+    }
+}
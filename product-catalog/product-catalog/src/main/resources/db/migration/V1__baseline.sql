@@ -0,0 +1,24 @@
+-- Schema as Hibernate generated it before migrations were introduced. Databases
+-- that already have it are baselined at version 1 (spring.flyway.baseline-on-migrate)
+-- and start from V2.
+
+CREATE TABLE products (
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    name           VARCHAR(255)   NOT NULL,
+    description    VARCHAR(1000)  NOT NULL,
+    price          DECIMAL(10, 2) NOT NULL,
+    category       VARCHAR(255)   NOT NULL,
+    stock_quantity INT            NOT NULL,
+    image_url      VARCHAR(500)   NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE users (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    name     VARCHAR(255) NOT NULL,
+    role     ENUM ('ADMIN', 'USER'),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
@@ -0,0 +1,19 @@
+-- Optimistic locking, Last-Modified and batched inserts on products. Existing rows
+-- start at version 0, last modified now.
+
+ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+ALTER TABLE products ALTER COLUMN version DROP DEFAULT;
+ALTER TABLE products ALTER COLUMN updated_at DROP DEFAULT;
+
+-- Ids come from the pooled product_seq generator (allocation size 50) instead of
+-- AUTO_INCREMENT; MySQL has no sequences, so it is a table. Hibernate hands out the
+-- 50 ids up to the value it reads, so the seed leaves the first block just above the
+-- highest existing id; an empty table starts at 1.
+ALTER TABLE products MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE product_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO product_seq (next_val) SELECT COALESCE(MAX(id) + 50, 1) FROM products;
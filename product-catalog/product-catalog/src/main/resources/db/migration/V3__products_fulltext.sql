@@ -0,0 +1,3 @@
+-- Relevance-ranked search (GET /api/products/search?mode=natural|boolean).
+-- MATCH (name, description) must name exactly the columns of this index.
+CREATE FULLTEXT INDEX ft_products_name_description ON products (name, description);
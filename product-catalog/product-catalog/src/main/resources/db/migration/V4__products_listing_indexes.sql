@@ -0,0 +1,13 @@
+-- Listing orderings (service.ProductSort): each (category?, key, id) combination is
+-- read straight off an index, so ORDER BY ... LIMIT stops after one page instead
+-- of sorting the whole table or category. Sorting by id alone uses the primary key.
+-- The names match the @Index declarations on model.Product.
+
+CREATE INDEX idx_products_category_id    ON products (category, id);
+CREATE INDEX idx_products_category_name  ON products (category, name, id);
+CREATE INDEX idx_products_category_price ON products (category, price, id);
+CREATE INDEX idx_products_category_stock ON products (category, stock_quantity, id);
+
+CREATE INDEX idx_products_name  ON products (name, id);
+CREATE INDEX idx_products_price ON products (price, id);
+CREATE INDEX idx_products_stock ON products (stock_quantity, id);
@@ -0,0 +1,12 @@
+-- Change feed (GET /api/products/changes): products are read in (updated_at, id)
+-- order after the client's token, deletes from the tombstones in the same order.
+-- The names match the @Index declarations on model.Product and model.ProductTombstone.
+
+CREATE INDEX idx_products_updated ON products (updated_at, id);
+
+CREATE TABLE product_tombstones (
+    product_id BIGINT      NOT NULL,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (product_id),
+    INDEX idx_product_tombstones_deleted (deleted_at, product_id)
+) ENGINE = InnoDB;
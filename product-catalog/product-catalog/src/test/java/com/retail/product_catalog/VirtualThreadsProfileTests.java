@@ -0,0 +1,30 @@
+package com.retail.product_catalog;
+
+import com.retail.product_catalog.config.VirtualThreadPinningMonitor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("virtual-threads")
+@DisplayName("virtual-threads profile Tests")
+class VirtualThreadsProfileTests {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Test
+    @DisplayName("Profile should enable virtual threads and start with no pinning recorded")
+    void profile_ShouldEnableVirtualThreads() {
+        assertThat(environment.getProperty("spring.threads.virtual.enabled", Boolean.class)).isTrue();
+        assertThat(pinningMonitor.getPinnedCount()).isZero();
+    }
+}
@@ -0,0 +1,74 @@
+package com.retail.product_catalog.config;
+
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@DisplayName("Metrics Integration Tests")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("Prometheus endpoint should be public and expose endpoint, service, repository, JWT, pool and Hibernate metrics")
+    void prometheus_ShouldExposeCatalogMetrics() throws Exception {
+        Product product = productRepository.save(new Product("Desk Lamp", "Brass desk lamp",
+                new BigDecimal("39.90"), "Lighting", 5, "https://example.com/lamp.jpg"));
+
+        mockMvc.perform(get("/api/products/{id}", product.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"nobody@catalog.com\",\"password\":\"wrong\"}"));
+        mockMvc.perform(get("/api/products").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("http_server_requests_seconds_bucket{")
+                .contains("uri=\"/api/products/{id}\"")
+                .contains("catalog_product_service_seconds_count{")
+                .contains("method=\"getProductById\"")
+                .contains("catalog_auth_seconds_count{")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .contains("catalog_jwt_verify_seconds_count{result=\"rejected\",}")
+                .contains("hikaricp_connections_active{")
+                .contains("hibernate_query_executions_total{")
+                .contains("hibernate_entities_loads_total{")
+                .contains("hibernate_flushes_total{")
+                .contains("catalog_stock_reservations_total")
+                .contains("catalog_cache_evictions_total{");
+    }
+
+    @Test
+    @DisplayName("Other actuator endpoints should require the ADMIN role")
+    void actuator_ShouldRequireAdminOutsideScrapeAndHealth() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,13 +1,26 @@
 package com.retail.product_catalog.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.retail.product_catalog.auth.UserRepository;
+import com.retail.product_catalog.dto.BulkItemResult;
+import com.retail.product_catalog.dto.BulkResponse;
+import com.retail.product_catalog.dto.CursorPage;
+import com.retail.product_catalog.dto.FacetCounts;
+import com.retail.product_catalog.dto.PriceBucketCount;
 import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.ScoredProductDTO;
+import com.retail.product_catalog.exception.PreconditionFailedException;
 import com.retail.product_catalog.exception.ResourceNotFoundException;
+import com.retail.product_catalog.filter.ProductFilter;
+import com.retail.product_catalog.search.FullTextMode;
+import com.retail.product_catalog.security.JwtService;
+import com.retail.product_catalog.service.ProductBulkService;
 import com.retail.product_catalog.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
@@ -16,7 +29,9 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +39,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductController.class)
+@AutoConfigureMockMvc(addFilters = false)
 @DisplayName("ProductController Unit Tests")
 class ProductControllerTest {
 
@@ -33,6 +49,15 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductBulkService productBulkService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserRepository userRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -47,7 +72,9 @@ class ProductControllerTest {
                 new BigDecimal("999.99"),
                 "Electronics",
                 10,
-                "https://example.com/iphone.jpg"
+                "https://example.com/iphone.jpg",
+                4L,
+                Instant.parse("2026-01-15T10:00:00Z")
         );
     }
 
@@ -66,6 +93,20 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(1));
     }
 
+    @Test
+    @DisplayName("GET /api/products?after= - Should return 200 with a cursor slice")
+    void getAllProductsAfter_ShouldReturn200() throws Exception {
+        CursorPage<ProductDTO> slice = new CursorPage<>(List.of(sampleProductDTO), 5, true, "next");
+        when(productService.getAllProductsAfter(eq(""), anyInt(), anyString())).thenReturn(slice);
+
+        mockMvc.perform(get("/api/products").param("after", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("iPhone 15"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
     // ===================== GET BY ID =====================
 
     @Test
@@ -90,6 +131,66 @@ class ProductControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    // ===================== CONDITIONAL REQUESTS =====================
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Should send the version as ETag and updatedAt as Last-Modified")
+    void getProductById_ShouldSendValidators() throws Exception {
+        when(productService.getProductById(1L)).thenReturn(sampleProductDTO);
+
+        mockMvc.perform(get("/api/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(header().string("Last-Modified", "Thu, 15 Jan 2026 10:00:00 GMT"));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Should return 304 without a body when the ETag matches")
+    void getProductById_ShouldReturn304_WhenETagMatches() throws Exception {
+        when(productService.getProductById(1L)).thenReturn(sampleProductDTO);
+
+        mockMvc.perform(get("/api/products/1").header("If-None-Match", "\"4\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /api/products - Should return 304 when the page ETag matches")
+    void getAllProducts_ShouldReturn304_WhenPageUnchanged() throws Exception {
+        when(productService.getAllProducts(anyInt(), anyInt(), anyString()))
+                .thenReturn(new PageImpl<>(List.of(sampleProductDTO)));
+
+        String etag = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/products").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        sampleProductDTO.setVersion(5L);
+        mockMvc.perform(get("/api/products").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("PUT /api/products/{id} - Should pass the If-Match version and return 412 when stale")
+    void updateProduct_ShouldReturn412_WhenIfMatchIsStale() throws Exception {
+        when(productService.updateProduct(eq(1L), any(ProductDTO.class), eq(3L)))
+                .thenThrow(new PreconditionFailedException("Product 1 is at version 4, not 3"));
+
+        mockMvc.perform(put("/api/products/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleProductDTO)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/api/products/1")
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleProductDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     // ===================== CREATE =====================
 
     @Test
@@ -119,12 +220,34 @@ class ProductControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    // ===================== BULK =====================
+
+    @Test
+    @DisplayName("POST /api/products/bulk - Should return 200 with per-item outcomes")
+    void createProducts_ShouldReturn200_WithItemResults() throws Exception {
+        BulkResponse response = new BulkResponse(List.of(
+                BulkItemResult.success(0, 1L, BulkItemResult.Status.CREATED),
+                BulkItemResult.failure(1, null, BulkItemResult.Status.INVALID,
+                        Map.of("name", "Product name is required"))
+        ));
+        when(productBulkService.createProducts(anyList())).thenReturn(response);
+
+        mockMvc.perform(post("/api/products/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(sampleProductDTO, new ProductDTO()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"))
+                .andExpect(jsonPath("$.results[1].errors.name").value("Product name is required"));
+    }
+
     // ===================== UPDATE =====================
 
     @Test
     @DisplayName("PUT /api/products/{id} - Should return 200 with updated product")
     void updateProduct_ShouldReturn200_WhenValidRequest() throws Exception {
-        when(productService.updateProduct(eq(1L), any(ProductDTO.class)))
+        when(productService.updateProduct(eq(1L), any(ProductDTO.class), isNull()))
                 .thenReturn(sampleProductDTO);
 
         mockMvc.perform(put("/api/products/1")
@@ -137,7 +260,7 @@ class ProductControllerTest {
     @Test
     @DisplayName("PUT /api/products/{id} - Should return 404 when product not found")
     void updateProduct_ShouldReturn404_WhenProductNotFound() throws Exception {
-        when(productService.updateProduct(eq(99L), any(ProductDTO.class)))
+        when(productService.updateProduct(eq(99L), any(ProductDTO.class), isNull()))
                 .thenThrow(new ResourceNotFoundException("Product not found with id: 99"));
 
         mockMvc.perform(put("/api/products/99")
@@ -180,4 +303,82 @@ class ProductControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].name").value("iPhone 15"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /api/products/search?mode=boolean - Should return 200 with relevance scores")
+    void searchProductsByRelevance_ShouldReturnScores() throws Exception {
+        Page<ScoredProductDTO> page = new PageImpl<>(List.of(new ScoredProductDTO(sampleProductDTO, 2.5)));
+        when(productService.searchProductsByRelevance(eq("+iphone -case"), eq(FullTextMode.BOOLEAN), anyInt(), anyInt()))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/products/search").param("keyword", "+iphone -case").param("mode", "boolean"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("iPhone 15"))
+                .andExpect(jsonPath("$.content[0].score").value(2.5));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search?mode=fuzzy - Should return 200 from the typo-tolerant search")
+    void searchProductsFuzzy_ShouldReturnScores() throws Exception {
+        Page<ScoredProductDTO> page = new PageImpl<>(List.of(new ScoredProductDTO(sampleProductDTO, 0.5)));
+        when(productService.searchProductsFuzzy(eq("iphnoe"), anyInt(), anyInt())).thenReturn(page);
+
+        mockMvc.perform(get("/api/products/search").param("keyword", "iphnoe").param("mode", "Fuzzy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("iPhone 15"))
+                .andExpect(jsonPath("$.content[0].score").value(0.5));
+        verify(productService, never()).searchProductsByRelevance(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/search - Should return 400 for an unknown mode or a mode with a cursor")
+    void searchProductsByRelevance_ShouldReturn400_WhenModeInvalid() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("keyword", "iphone").param("mode", "phonetic"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/search").param("keyword", "iphone").param("mode", "natural")
+                        .param("after", ""))
+                .andExpect(status().isBadRequest());
+        verify(productService, never()).searchProductsByRelevance(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/filter - Should combine repeated categories, price range and stock")
+    void filterProducts_ShouldPassCombinedFilter() throws Exception {
+        when(productService.filterProducts(any(), anyInt(), anyInt())).thenReturn(new PageImpl<>(List.of(sampleProductDTO)));
+
+        mockMvc.perform(get("/api/products/filter")
+                        .param("category", "Electronics", "Phones")
+                        .param("minPrice", "500")
+                        .param("maxPrice", "1000")
+                        .param("inStock", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("iPhone 15"));
+
+        verify(productService).filterProducts(eq(ProductFilter.of(List.of("electronics", "phones"),
+                new BigDecimal("500"), new BigDecimal("1000"), true)), eq(0), eq(5));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/filter - Should return 400 when minPrice exceeds maxPrice")
+    void filterProducts_ShouldReturn400_WhenPriceRangeInverted() throws Exception {
+        mockMvc.perform(get("/api/products/filter").param("minPrice", "50").param("maxPrice", "10"))
+                .andExpect(status().isBadRequest());
+        verify(productService, never()).filterProducts(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/facets - Should return category counts and the price histogram")
+    void getFacets_ShouldReturnCounts() throws Exception {
+        FacetCounts facets = new FacetCounts(3, Map.of("Electronics", 3L), List.of(
+                new PriceBucketCount(BigDecimal.ZERO, new BigDecimal("500"), 1),
+                new PriceBucketCount(new BigDecimal("500"), null, 2)));
+        when(productService.getFacets("Electronics", "phone")).thenReturn(facets);
+
+        mockMvc.perform(get("/api/products/facets").param("category", "Electronics").param("keyword", "phone"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.categories.Electronics").value(3))
+                .andExpect(jsonPath("$.priceHistogram[1].from").value(500))
+                .andExpect(jsonPath("$.priceHistogram[1].count").value(2));
+    }
+}
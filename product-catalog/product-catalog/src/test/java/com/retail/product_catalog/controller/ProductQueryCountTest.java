@@ -0,0 +1,207 @@
+package com.retail.product_catalog.controller;
+
+import com.retail.product_catalog.auth.User;
+import com.retail.product_catalog.facet.CountingFacetEngine;
+import com.retail.product_catalog.filter.BitmapFilterEngine;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.search.InvertedIndexSearchEngine;
+import com.retail.product_catalog.security.JwtService;
+import com.retail.product_catalog.suggest.SuggestIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.retail.product_catalog.support.QueryAssertions.assertQueries;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Pins the SQL each product endpoint issues with a cold second-level cache. The test
+ * profile runs with {@code catalog.query-budget.mode=fail}, so every request made by
+ * a Spring Boot test is also held to its endpoint's {@code @QueryBudget}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Product endpoint query count Tests")
+class ProductQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InvertedIndexSearchEngine searchEngine;
+
+    @Autowired
+    private BitmapFilterEngine filterEngine;
+
+    @Autowired
+    private CountingFacetEngine facetEngine;
+
+    @Autowired
+    private SuggestIndex suggestIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private List<Product> products;
+    private String searchWord;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        searchWord = "lamp" + System.nanoTime();
+        products = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            products.add(productRepository.save(new Product("Query " + searchWord + " " + i, "Lamp number " + i,
+                    new BigDecimal("19.99"), "Lighting", 10, "https://example.com/lamp.jpg")));
+        }
+        searchEngine.rebuild();
+        filterEngine.rebuild();
+        facetEngine.rebuild();
+        suggestIndex.rebuild();
+        entityManagerFactory.getCache().evictAll();
+
+        adminToken = "Bearer " + jwtService.generateToken(
+                new User("admin@catalog.com", "", "Admin", User.Role.ADMIN));
+    }
+
+    @Test
+    @DisplayName("GET by id should issue one SELECT cold and none once cached")
+    void getById_ShouldUseOneStatementThenCache() throws Exception {
+        Long id = products.get(0).getId();
+
+        assertQueries(() -> mockMvc.perform(get("/api/products/{id}", id)).andExpect(status().isOk()))
+                .hasStatements(1)
+                .hasRowsFetched(1);
+        assertQueries(() -> mockMvc.perform(get("/api/products/{id}", id)).andExpect(status().isOk()))
+                .hasStatements(0);
+    }
+
+    @Test
+    @DisplayName("Page reads should issue a page SELECT and a count")
+    void pages_ShouldUseSelectAndCount() throws Exception {
+        assertQueries(() -> mockMvc.perform(get("/api/products").param("size", "5")).andExpect(status().isOk()))
+                .hasStatements(2)
+                .hasNoRepeatedSelects();
+    }
+
+    @Test
+    @DisplayName("Category pages should read ids, count and rows cold, and nothing once cached")
+    void categoryPages_ShouldUseThreeStatementsThenCache() throws Exception {
+        assertQueries(() -> mockMvc.perform(get("/api/products/category/{category}", "Lighting").param("size", "5"))
+                .andExpect(status().isOk()))
+                .hasStatements(3)
+                .hasNoRepeatedSelects();
+        assertQueries(() -> mockMvc.perform(get("/api/products/category/{category}", "Lighting").param("size", "5"))
+                .andExpect(status().isOk()))
+                .hasStatements(0);
+    }
+
+    @Test
+    @DisplayName("Cursor reads should issue a single SELECT and no count")
+    void cursor_ShouldUseOneStatement() throws Exception {
+        assertQueries(() -> mockMvc.perform(get("/api/products").param("after", "").param("size", "3"))
+                .andExpect(status().isOk()))
+                .hasStatements(1);
+    }
+
+    @Test
+    @DisplayName("Search should load only the matching page")
+    void search_ShouldUseOneStatement() throws Exception {
+        assertQueries(() -> mockMvc.perform(get("/api/products/search").param("keyword", searchWord).param("size", "5"))
+                .andExpect(status().isOk()))
+                .hasStatements(1)
+                .hasRowsFetched(5);
+    }
+
+    @Test
+    @DisplayName("Fuzzy search should load only the matching page")
+    void fuzzySearch_ShouldUseOneStatement() throws Exception {
+        assertQueries(() -> mockMvc.perform(get("/api/products/search").param("keyword", "numbr " + searchWord)
+                        .param("mode", "fuzzy").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(8))
+                .andExpect(jsonPath("$.content[0].score").value(0.5)))
+                .hasStatements(1)
+                .hasRowsFetched(5);
+    }
+
+    @Test
+    @DisplayName("Filter should load only the matching page")
+    void filter_ShouldUseOneStatement() throws Exception {
+        assertQueries(() -> mockMvc.perform(get("/api/products/filter").param("category", "Lighting")
+                        .param("minPrice", "19.99").param("inStock", "true").param("size", "5"))
+                .andExpect(status().isOk()))
+                .hasStatements(1)
+                .hasRowsFetched(5);
+    }
+
+    @Test
+    @DisplayName("Facets should be answered from memory")
+    void facets_ShouldIssueNoStatements() throws Exception {
+        assertQueries(() -> mockMvc.perform(get("/api/products/facets")).andExpect(status().isOk()))
+                .hasStatements(0);
+        assertQueries(() -> mockMvc.perform(get("/api/products/facets").param("category", "Lighting")
+                        .param("keyword", searchWord))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(8)))
+                .hasStatements(0);
+    }
+
+    @Test
+    @DisplayName("Suggest should be answered from memory")
+    void suggest_ShouldIssueNoStatements() throws Exception {
+        assertQueries(() -> mockMvc.perform(get("/api/products/suggest").param("keyword", searchWord.substring(0, 6)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(8)))
+                .hasStatements(0);
+    }
+
+    @Test
+    @DisplayName("Change feed should read products and tombstones once each")
+    void changes_ShouldUseTwoStatements() throws Exception {
+        assertQueries(() -> mockMvc.perform(get("/api/products/changes").param("size", "5"))
+                .andExpect(status().isOk()))
+                .hasStatements(2)
+                .hasNoRepeatedSelects();
+    }
+
+    @Test
+    @DisplayName("Update and delete should load the row once and write it once, delete also leaving a tombstone")
+    void writes_ShouldLoadOnceAndWriteOnce() throws Exception {
+        Product product = products.get(1);
+        String body = """
+                {"name":"Query Lamp 1b","description":"Brass desk lamp","price":24.99,"category":"Lighting",
+                 "stockQuantity":3,"imageUrl":"https://example.com/lamp.jpg"}""";
+
+        assertQueries(() -> mockMvc.perform(put("/api/products/{id}", product.getId())
+                        .header("Authorization", adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk()))
+                .hasStatements(2);
+
+        entityManagerFactory.getCache().evictAll();
+        assertQueries(() -> mockMvc.perform(delete("/api/products/{id}", product.getId())
+                        .header("Authorization", adminToken))
+                .andExpect(status().isNoContent()))
+                .hasStatements(3);
+    }
+}
@@ -0,0 +1,108 @@
+package com.retail.product_catalog.datasource;
+
+import com.retail.product_catalog.auth.User;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.security.JwtService;
+import com.retail.product_catalog.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The replica is a database of its own (schema from the migrations H2 can run), so it
+ * only holds what a test copies into it: a replica that lags the primary.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Replica lag Integration Tests")
+class ReplicaLagIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:catalog-lagging-" + UUID.randomUUID()
+            + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @DynamicPropertySource
+    static void laggingReplica(DynamicPropertyRegistry registry) {
+        // V3 onwards are MySQL indexes; the columns are all there by V2
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").target("2").load().migrate();
+        registry.add("catalog.datasource.replicas", () -> REPLICA_URL);
+    }
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should check If-Match against the primary, not a replica one version behind")
+    void update_ShouldReadCheckAndWriteOnPrimary() throws Exception {
+        ProductDTO created = productService.createProduct(product("Lagging Lamp", 5));
+        ProductDTO current = productService.updateProduct(created.getId(), product("Lagging Lamp", 4));
+        replica.update("INSERT INTO products (id, name, description, price, category, stock_quantity, image_url, "
+                        + "version, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                created.getId(), created.getName(), created.getDescription(), created.getPrice(),
+                created.getCategory(), created.getStockQuantity(), created.getImageUrl(), created.getVersion());
+        // Nothing served from the second-level cache: the update has to read a database
+        entityManagerFactory.getCache().evictAll();
+        String adminToken = "Bearer " + jwtService.generateToken(
+                new User("lag-admin@catalog.com", "", "Admin", User.Role.ADMIN));
+
+        double replicaBefore = connections("catalog-replica-0");
+        mockMvc.perform(put("/api/products/{id}", created.getId())
+                        .header("Authorization", adminToken)
+                        .header(HttpHeaders.IF_MATCH, "\"" + current.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name":"Lagging Lamp","description":"Replica lag product","price":24.90,
+                                 "category":"LagTest","stockQuantity":3,"imageUrl":"https://example.com/lag.jpg"}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stockQuantity").value(3))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (current.getVersion() + 1) + "\""));
+        assertThat(connections("catalog-replica-0")).isEqualTo(replicaBefore);
+    }
+
+    private double connections(String pool) {
+        return meterRegistry.get("catalog.datasource.connections").tag("pool", pool).counter().count();
+    }
+
+    private static ProductDTO product(String name, int stock) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName(name);
+        dto.setDescription("Replica lag product");
+        dto.setPrice(new BigDecimal("24.90"));
+        dto.setCategory("LagTest");
+        dto.setStockQuantity(stock);
+        dto.setImageUrl("https://example.com/lag.jpg");
+        return dto;
+    }
+}
@@ -0,0 +1,196 @@
+package com.retail.product_catalog.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Each pool is its own H2 database holding a single row with the pool's name, so a
+ * query shows where it was routed.
+ */
+@DisplayName("ReplicaRouter Unit Tests")
+class ReplicaRouterTest {
+
+    private final String run = UUID.randomUUID().toString();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Connection> keepAlive = new ArrayList<>();
+    private ReplicaRouter router;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate writes;
+    private TransactionTemplate reads;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SecurityContextHolder.clearContext();
+        if (router != null) {
+            router.close();
+        }
+        for (Connection connection : keepAlive) {
+            connection.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions round-robin to the replicas and everything else to the primary")
+    void shouldRouteReadsToReplicas() {
+        start(Duration.ofSeconds(5), database("primary"), database("replica-a"), database("replica-b"));
+
+        assertThat(List.of(read(), read(), read(), read()))
+                .containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+        assertThat(write()).isEqualTo("primary");
+        assertThat(jdbc.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+
+        assertThat(meterRegistry.get("catalog.datasource.connections").tag("pool", "catalog-replica-0")
+                .counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("catalog.datasource.connections").tag("pool", "catalog-replica-1")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should read from the primary while a replica's health check fails, and from the replica again once it passes")
+    void shouldSkipUnhealthyReplicas() throws Exception {
+        start(Duration.ofSeconds(5), database("primary"), database("replica-a"), url("replica-b") + ";IFEXISTS=TRUE");
+
+        router.checkHealth();
+        assertThat(router.replicaStatus()).containsExactly(
+                Map.entry("catalog-replica-0", true), Map.entry("catalog-replica-1", false));
+        assertThat(List.of(read(), read(), read())).containsOnly("replica-a");
+        assertThat(meterRegistry.get("catalog.datasource.replica.up").tag("pool", "catalog-replica-1")
+                .gauge().value()).isZero();
+
+        database("replica-b");
+        router.checkHealth();
+        assertThat(router.replicaStatus()).containsEntry("catalog-replica-1", true);
+        assertThat(List.of(read(), read())).containsExactlyInAnyOrder("replica-a", "replica-b");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when a replica connection fails")
+    void shouldFallBackWhenReplicaFails() {
+        start(Duration.ofSeconds(5), database("primary"), url("replica-a") + ";IFEXISTS=TRUE");
+
+        assertThat(read()).isEqualTo("primary");
+        assertThat(router.replicaStatus()).containsEntry("catalog-replica-0", false);
+        assertThat(read()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary for the sticky window after they write")
+    void shouldReadYourWrites() {
+        start(Duration.ofMinutes(1), database("primary"), database("replica-a"));
+
+        authenticate("admin@catalog.com");
+        assertThat(read()).isEqualTo("replica-a");
+        write();
+        assertThat(read()).isEqualTo("primary");
+
+        authenticate("someone@catalog.com");
+        assertThat(read()).isEqualTo("replica-a");
+    }
+
+    @Test
+    @DisplayName("Should read from replicas again once the sticky window has passed")
+    void shouldStopStickingAfterWindow() {
+        start(Duration.ZERO, database("primary"), database("replica-a"));
+
+        authenticate("admin@catalog.com");
+        write();
+        assertThat(read()).isEqualTo("replica-a");
+    }
+
+    @Test
+    @DisplayName("Should not stick after a rolled-back write")
+    void shouldNotStickAfterRollback() {
+        start(Duration.ofMinutes(1), database("primary"), database("replica-a"));
+
+        authenticate("admin@catalog.com");
+        writes.executeWithoutResult(status -> {
+            jdbc.update("UPDATE node SET writes = writes + 1");
+            status.setRollbackOnly();
+        });
+        assertThat(read()).isEqualTo("replica-a");
+    }
+
+    // ===================== HELPERS =====================
+
+    private void start(Duration stickyWindow, String primaryUrl, String... replicaUrls) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariDataSource replica = pool(replicaUrls[i], "catalog-replica-" + i);
+            replica.setConnectionTimeout(250);
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        router = new ReplicaRouter(pool(primaryUrl, "catalog-primary"), replicas, stickyWindow,
+                Duration.ofMinutes(1), meterRegistry);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new RoutingDataSource(router));
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    private String read() {
+        return reads.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String write() {
+        return writes.execute(status -> {
+            jdbc.update("UPDATE node SET writes = writes + 1");
+            return jdbc.queryForObject("SELECT name FROM node", String.class);
+        });
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+    }
+
+    /** Creates an in-memory database named {@code name}, kept open until the test ends. */
+    private String database(String name) {
+        String url = url(name);
+        try {
+            Connection connection = DriverManager.getConnection(url);
+            connection.createStatement().execute("CREATE TABLE node (name VARCHAR(64), writes INT)");
+            connection.createStatement().execute("INSERT INTO node VALUES ('" + name + "', 0)");
+            keepAlive.add(connection);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        return url;
+    }
+
+    private String url(String name) {
+        return "jdbc:h2:mem:" + run + "-" + name;
+    }
+
+    private static HikariDataSource pool(String url, String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+}
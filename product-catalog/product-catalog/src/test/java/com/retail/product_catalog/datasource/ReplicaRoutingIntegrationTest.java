@@ -0,0 +1,92 @@
+package com.retail.product_catalog.datasource;
+
+import com.retail.product_catalog.auth.User;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** The "replica" is the primary's own in-memory database, reached through its own pool. */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.URL,
+        "catalog.datasource.replicas=" + ReplicaRoutingIntegrationTest.URL,
+        "catalog.datasource.sticky-window=1m"
+})
+@AutoConfigureMockMvc
+@DisplayName("Replica routing Integration Tests")
+class ReplicaRoutingIntegrationTest {
+
+    static final String URL = "jdbc:h2:mem:catalog-routing;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Reads should go to the replica, and an admin's reads to the primary right after their write")
+    void shouldRouteReadsAndReadYourWrites() throws Exception {
+        Product product = productRepository.save(new Product("Routed Lamp", "Brass desk lamp",
+                new BigDecimal("39.90"), "Lighting", 5, "https://example.com/lamp.jpg"));
+        String adminToken = "Bearer " + jwtService.generateToken(
+                new User("routing-admin@catalog.com", "", "Admin", User.Role.ADMIN));
+
+        double replicaBefore = connections("catalog-replica-0");
+        mockMvc.perform(get("/api/products").param("size", "5")).andExpect(status().isOk());
+        assertThat(connections("catalog-replica-0")).isEqualTo(replicaBefore + 1);
+
+        mockMvc.perform(put("/api/products/{id}", product.getId())
+                        .header("Authorization", adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name":"Routed Lamp 2","description":"Brass desk lamp","price":39.90,
+                                 "category":"Lighting","stockQuantity":5,"imageUrl":"https://example.com/lamp.jpg"}"""))
+                .andExpect(status().isOk());
+
+        double primaryBefore = connections(ReplicaRouter.PRIMARY);
+        replicaBefore = connections("catalog-replica-0");
+        mockMvc.perform(get("/api/products/category/{category}", "Lighting").header("Authorization", adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[?(@.id == %d)].name", product.getId()).value("Routed Lamp 2"));
+        assertThat(connections(ReplicaRouter.PRIMARY)).isEqualTo(primaryBefore + 1);
+        assertThat(connections("catalog-replica-0")).isEqualTo(replicaBefore);
+
+        // Another page size, so it is not answered by the query cache
+        mockMvc.perform(get("/api/products/category/{category}", "Lighting").param("size", "3"))
+                .andExpect(status().isOk());
+        assertThat(connections("catalog-replica-0")).isEqualTo(replicaBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Each pool should report its own Hikari metrics")
+    void shouldExposePoolMetricsPerDataSource() {
+        assertThat(meterRegistry.find("hikaricp.connections.max").tag("pool", "catalog-replica-0").gauge())
+                .isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.max").tag("pool", "catalog-primary").gauge())
+                .isNotNull();
+    }
+
+    private double connections(String pool) {
+        return meterRegistry.get("catalog.datasource.connections").tag("pool", pool).counter().count();
+    }
+}
@@ -0,0 +1,193 @@
+package com.retail.product_catalog.facet;
+
+import com.retail.product_catalog.dto.FacetCounts;
+import com.retail.product_catalog.dto.PriceBucketCount;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.repository.ProductFacetRepository.FacetRow;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.search.ProductSearchEngine;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import com.retail.product_catalog.service.ProductSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CountingFacetEngine Unit Tests")
+class CountingFacetEngineTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductSearchEngine searchEngine;
+
+    private final PriceHistogram histogram = new PriceHistogram(
+            List.of(new BigDecimal("25"), new BigDecimal("100"), new BigDecimal("500")));
+
+    private CountingFacetEngine engine;
+
+    private final Map<Long, ProductDTO> table = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        addToTable(1L, "1199.99", "Electronics");
+        addToTable(2L, "24.99", "Books");
+        addToTable(3L, "25.00", "Books");
+        addToTable(4L, "499.99", "Electronics");
+        addToTable(5L, "99.99", "Toys");
+
+        when(productRepository.findSlice(eq(ProductSort.ID), isNull(), isNull(), isNull(), anyInt()))
+                .thenAnswer(inv -> new ArrayList<>(table.values()));
+        doCallRealMethod().when(productRepository).forEachProduct(anyInt(), any());
+
+        engine = new CountingFacetEngine(productRepository, searchEngine, histogram);
+        engine.rebuild();
+    }
+
+    // ===================== COUNTS =====================
+
+    @Test
+    @DisplayName("Should count the whole catalog by category, largest first, and by price bucket")
+    void facets_ShouldCountWholeCatalog() {
+        FacetCounts facets = engine.facets(null, null);
+
+        assertThat(facets.getTotal()).isEqualTo(5);
+        assertThat(facets.getCategories()).containsExactly(
+                entry("Books", 2L), entry("Electronics", 2L), entry("Toys", 1L));
+        assertThat(facets.getPriceHistogram()).extracting(PriceBucketCount::getCount).containsExactly(1L, 2L, 1L, 1L);
+        assertThat(facets.getPriceHistogram().get(1).getFrom()).isEqualByComparingTo("25");
+        assertThat(facets.getPriceHistogram().get(3).getTo()).isNull();
+        verify(productRepository, never()).countByCategoryAndPriceBucket(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should count one category, and nothing for an unknown one")
+    void facets_ShouldCountCategory() {
+        FacetCounts facets = engine.facets("Electronics", null);
+
+        assertThat(facets.getTotal()).isEqualTo(2);
+        assertThat(facets.getCategories()).containsExactly(entry("Electronics", 2L));
+        assertThat(facets.getPriceHistogram()).extracting(PriceBucketCount::getCount).containsExactly(0L, 0L, 1L, 1L);
+
+        assertThat(engine.facets("Garden", null).getTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count the hits of a search, optionally within a category")
+    void facets_ShouldCountSearchHits() {
+        when(searchEngine.matchingIds("deal")).thenReturn(new long[]{2L, 4L, 5L, 42L});
+
+        FacetCounts facets = engine.facets(null, "deal");
+        assertThat(facets.getTotal()).isEqualTo(3);
+        assertThat(facets.getCategories()).containsOnly(entry("Books", 1L), entry("Electronics", 1L), entry("Toys", 1L));
+
+        FacetCounts withinCategory = engine.facets("Toys", "deal");
+        assertThat(withinCategory.getTotal()).isEqualTo(1);
+        assertThat(withinCategory.getPriceHistogram()).extracting(PriceBucketCount::getCount)
+                .containsExactly(0L, 1L, 0L, 0L);
+    }
+
+    @Test
+    @DisplayName("Should count categories case-insensitively under their first spelling")
+    void facets_ShouldIgnoreCategoryCase() {
+        addToTable(6L, "49.99", "electronics");
+        engine.onProductChanged(ProductChangedEvent.saved(table.get(6L)));
+        when(searchEngine.matchingIds("deal")).thenReturn(new long[]{4L, 6L});
+
+        assertThat(engine.facets(null, null).getCategories())
+                .containsExactly(entry("Electronics", 3L), entry("Books", 2L), entry("Toys", 1L));
+        assertThat(engine.facets("electronics", null).getCategories()).containsExactly(entry("Electronics", 3L));
+        assertThat(engine.facets(" ELECTRONICS ", "deal").getCategories()).containsExactly(entry("Electronics", 2L));
+    }
+
+    // ===================== INCREMENTAL MAINTENANCE =====================
+
+    @Test
+    @DisplayName("Should move a product between counters when it is updated and drop it when deleted")
+    void onProductChanged_ShouldAdjustCounters() {
+        ProductDTO moved = table.get(5L);
+        moved.setCategory("Books");
+        moved.setPrice(new BigDecimal("750.00"));
+        engine.onProductChanged(ProductChangedEvent.saved(moved));
+
+        FacetCounts afterUpdate = engine.facets(null, null);
+        assertThat(afterUpdate.getTotal()).isEqualTo(5);
+        assertThat(afterUpdate.getCategories()).containsExactly(entry("Books", 3L), entry("Electronics", 2L));
+        assertThat(afterUpdate.getPriceHistogram()).extracting(PriceBucketCount::getCount)
+                .containsExactly(1L, 1L, 1L, 2L);
+
+        engine.onProductChanged(ProductChangedEvent.deleted(1L));
+        engine.onProductChanged(ProductChangedEvent.deleted(4L));
+
+        FacetCounts afterDelete = engine.facets(null, null);
+        assertThat(afterDelete.getTotal()).isEqualTo(3);
+        assertThat(afterDelete.getCategories()).containsExactly(entry("Books", 3L));
+        assertThat(engine.facets("Electronics", null).getTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should match a full recount after a random run of creates, updates and deletes")
+    void onProductChanged_ShouldMatchRecount() {
+        Random random = new Random(7);
+        List<String> categories = List.of("Books", "Electronics", "Toys", "Garden");
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                table.remove(id);
+                engine.onProductChanged(ProductChangedEvent.deleted(id));
+            } else {
+                addToTable(id, BigDecimal.valueOf(1 + random.nextInt(100_000), 2).toPlainString(),
+                        categories.get(random.nextInt(categories.size())));
+                engine.onProductChanged(ProductChangedEvent.saved(table.get(id)));
+            }
+        }
+
+        FacetCounts incremental = engine.facets(null, null);
+        engine.rebuild();
+        FacetCounts recounted = engine.facets(null, null);
+
+        assertThat(incremental.getTotal()).isEqualTo(table.size());
+        assertThat(incremental.getCategories()).isEqualTo(recounted.getCategories());
+        assertThat(incremental.getPriceHistogram()).extracting(PriceBucketCount::getCount)
+                .isEqualTo(recounted.getPriceHistogram().stream().map(PriceBucketCount::getCount).toList());
+    }
+
+    // ===================== FALLBACK =====================
+
+    @Test
+    @DisplayName("Should run a grouped SQL query until the counters are built")
+    void facets_ShouldUseSqlUntilBuilt() {
+        when(productRepository.countByCategoryAndPriceBucket(histogram.edges(), "Books", null))
+                .thenReturn(List.of(new FacetRow("Books", 0, 4), new FacetRow("Books", 3, 1)));
+
+        FacetCounts facets = new CountingFacetEngine(productRepository, searchEngine, histogram)
+                .facets("Books", null);
+
+        assertThat(facets.getTotal()).isEqualTo(5);
+        assertThat(facets.getPriceHistogram()).extracting(PriceBucketCount::getCount).containsExactly(4L, 0L, 0L, 1L);
+        verifyNoInteractions(searchEngine);
+    }
+
+    private void addToTable(Long id, String price, String category) {
+        table.put(id, new ProductDTO(id, "Product " + id, "Facet test product", new BigDecimal(price),
+                category, 5, "https://example.com/" + id + ".jpg"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.retail.product_catalog.feed;
+
+import com.retail.product_catalog.auth.User;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("CatalogExportService Integration Tests")
+class CatalogExportServiceTest {
+
+    @Autowired
+    private CatalogExportService catalogExportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        List<Product> products = new ArrayList<>();
+        // More rows than the fetch size, so the persistence context is cleared mid-stream
+        for (int i = 0; i < 1500; i++) {
+            products.add(newProduct("Export Item " + i, i % 3 == 0 ? "Books" : "Garden"));
+        }
+        products.add(newProduct("Desk, \"Oak\"", "Furniture"));
+        productRepository.saveAll(products);
+    }
+
+    @Test
+    @DisplayName("Should write every product as NDJSON in id order")
+    void export_Ndjson_ShouldWriteAllRows() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = catalogExportService.export(out, FeedFormat.NDJSON, null, false);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(1501);
+        assertThat(lines).hasSize(1501);
+        assertThat(lines[0]).contains("\"name\":\"Export Item 0\"");
+        assertThat(lines[1500]).contains("Furniture");
+    }
+
+    @Test
+    @DisplayName("Should filter by category and quote CSV fields")
+    void export_Csv_ShouldFilterByCategory() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = catalogExportService.export(out, FeedFormat.CSV, "Furniture", false);
+
+        assertThat(written).isEqualTo(1);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines[0]).isEqualTo("id,name,description,price,category,stockQuantity,imageUrl");
+        assertThat(lines[1]).contains(",\"Desk, \"\"Oak\"\"\",");
+    }
+
+    @Test
+    @DisplayName("Should gzip the export when asked")
+    void export_Gzip_ShouldCompress() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        catalogExportService.export(out, FeedFormat.NDJSON, "Books", true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(content.split("\n")).hasSize(500).allMatch(line -> line.contains("\"Books\""));
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve the gzipped export to admins as a .gz file without Content-Encoding")
+    void exportEndpoint_Gzip_ShouldSendGzipFileToAdmins() throws Exception {
+        mockMvc.perform(get("/api/products/export"))
+                .andExpect(status().isForbidden());
+        String adminToken = "Bearer " + jwtService.generateToken(
+                new User("export-admin@catalog.com", "", "Admin", User.Role.ADMIN));
+
+        MvcResult started = mockMvc.perform(get("/api/products/export")
+                        .param("category", "Furniture").param("gzip", "true")
+                        .header("Authorization", adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products.ndjson.gz\""))
+                .andReturn();
+
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("Desk, \\\"Oak\\\"");
+        }
+    }
+
+    private static Product newProduct(String name, String category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setDescription("Exported product description");
+        product.setPrice(new BigDecimal("12.50"));
+        product.setCategory(category);
+        product.setStockQuantity(7);
+        product.setImageUrl("https://example.com/p.jpg");
+        return product;
+    }
+}
@@ -0,0 +1,172 @@
+package com.retail.product_catalog.feed;
+
+import com.retail.product_catalog.dto.ImportStatus;
+import com.retail.product_catalog.exception.ResourceNotFoundException;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "catalog.import.batch-size=3",
+        "catalog.import.queue-capacity=2",
+        "catalog.import.validator-threads=2",
+        "catalog.import.retained-jobs=2"
+})
+@DisplayName("CatalogImportService Integration Tests")
+class CatalogImportServiceTest {
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should stream NDJSON through small queues and report rejected lines")
+    void importNdjson_ShouldWriteValidAndRejectInvalid() {
+        String valid = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> ndjson("Import Product " + i, 5))
+                .collect(Collectors.joining("\n"));
+        String feed = valid + "\n"
+                + "{not json\n"                  // line 11
+                + "\n"                           // blank lines are skipped
+                + ndjson("Negative Stock", -1);  // line 13
+
+        ImportStatus status = catalogImportService.importProducts(stream(feed), FeedFormat.NDJSON, "test");
+
+        assertThat(status.getState()).isEqualTo(ImportStatus.State.COMPLETED);
+        assertThat(status.getRecordsRead()).isEqualTo(12);
+        assertThat(status.getRecordsWritten()).isEqualTo(10);
+        assertThat(status.getRecordsRejected()).isEqualTo(2);
+        assertThat(status.getErrors())
+                .extracting(ImportStatus.RowError::line)
+                .containsExactlyInAnyOrder(11L, 13L);
+        assertThat(productRepository.count()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should parse quoted CSV fields and snake_case headers")
+    void importCsv_ShouldHandleQuotedFields() {
+        String feed = """
+                name,description,price,category,stock_quantity,image_url
+                "Desk, Oak","A desk with ""solid""
+                oak top",249.00,Furniture,4,https://example.com/desk.jpg
+                Chair,Ergonomic office chair,notaprice,Furniture,2,https://example.com/chair.jpg
+                """;
+
+        ImportStatus status = catalogImportService.importProducts(stream(feed), FeedFormat.CSV, "test");
+
+        assertThat(status.getRecordsWritten()).isEqualTo(1);
+        assertThat(status.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.line()).isEqualTo(4));
+
+        Product desk = productRepository.findAll().get(0);
+        assertThat(desk.getName()).isEqualTo("Desk, Oak");
+        assertThat(desk.getDescription()).isEqualTo("A desk with \"solid\"\noak top");
+    }
+
+    @Test
+    @DisplayName("Should fail the job when the CSV header is incomplete")
+    void importCsv_ShouldFailOnMissingColumns() {
+        ImportStatus status = catalogImportService.importProducts(
+                stream("name,price\nDesk,10\n"), FeedFormat.CSV, "test");
+
+        assertThat(status.getState()).isEqualTo(ImportStatus.State.FAILED);
+        assertThat(status.getFailureMessage()).contains("description");
+        assertThat(catalogImportService.getStatus(status.getId()).getState()).isEqualTo(ImportStatus.State.FAILED);
+    }
+
+    @Test
+    @DisplayName("Should fail the job on an NDJSON line longer than the record limit instead of buffering it")
+    void importNdjson_ShouldFailOnOverlongLine() {
+        // A line that never ends: reading it whole would exhaust the heap
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() {
+                return '[';
+            }
+        };
+
+        ImportStatus status = catalogImportService.importProducts(endless, FeedFormat.NDJSON, "test");
+
+        assertThat(status.getState()).isEqualTo(ImportStatus.State.FAILED);
+        assertThat(status.getFailureMessage()).contains("too long");
+    }
+
+    @Test
+    @DisplayName("Should keep a running job pollable while finished ones beyond the limit are dropped")
+    void importProducts_ShouldNotEvictRunningJob() throws Exception {
+        PipedOutputStream feed = new PipedOutputStream();
+        PipedInputStream slowInput = new PipedInputStream(feed);
+        CompletableFuture<ImportStatus> slow = CompletableFuture.supplyAsync(() ->
+                catalogImportService.importProducts(slowInput, FeedFormat.NDJSON, "slow-feed"));
+        String slowId = awaitJob("slow-feed");
+
+        List<String> finished = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            finished.add(catalogImportService.importProducts(
+                    stream(ndjson("Quick Product " + i, 1)), FeedFormat.NDJSON, "quick").getId());
+        }
+
+        assertThat(catalogImportService.getStatus(slowId).getState()).isEqualTo(ImportStatus.State.RUNNING);
+        assertThat(catalogImportService.getRecentStatuses()).extracting(ImportStatus::getId)
+                .containsExactly(finished.get(2), slowId);
+
+        feed.write(ndjson("Slow Product", 1).getBytes(StandardCharsets.UTF_8));
+        feed.close();
+        assertThat(slow.get(10, TimeUnit.SECONDS).getRecordsWritten()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should throw when import id is unknown")
+    void getStatus_ShouldThrow_WhenUnknown() {
+        assertThatThrownBy(() -> catalogImportService.getStatus("missing"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private String awaitJob(String source) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            for (ImportStatus status : catalogImportService.getRecentStatuses()) {
+                if (status.getSource().equals(source)) {
+                    return status.getId();
+                }
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("No import from " + source + " started");
+    }
+
+    private static String ndjson(String name, int stock) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Imported from a supplier feed\","
+                + "\"price\":9.99,\"category\":\"Imports\",\"stockQuantity\":" + stock + ","
+                + "\"imageUrl\":\"https://example.com/p.jpg\"}";
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,202 @@
+package com.retail.product_catalog.feed;
+
+import com.retail.product_catalog.dto.ChangeFeedPage;
+import com.retail.product_catalog.dto.ProductChange;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.exception.ChangeTokenExpiredException;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.repository.ProductTombstoneRepository;
+import com.retail.product_catalog.service.ProductService;
+import com.retail.product_catalog.stock.StockLedger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "catalog.changes.settle-time=0s")
+@AutoConfigureMockMvc
+@DisplayName("ProductChangeFeed Integration Tests")
+class ProductChangeFeedTest {
+
+    @Autowired
+    private ProductChangeFeed changeFeed;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("A first sync without a token should page through the whole catalog")
+    void changesSince_ShouldPageThroughCatalog_WithoutToken() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(productService.createProduct(newProduct("Full sync " + i)).getId());
+        }
+
+        List<ProductChange> seen = new ArrayList<>();
+        ChangeFeedPage page = changeFeed.changesSince(null, 2);
+        seen.addAll(page.getChanges());
+        while (page.isHasMore()) {
+            assertThat(page.getChanges()).hasSize(2);
+            page = changeFeed.changesSince(page.getNext(), 2);
+            seen.addAll(page.getChanges());
+        }
+
+        assertThat(seen).extracting(ProductChange::getProductId).containsAll(created).doesNotHaveDuplicates();
+        assertThat(seen).extracting(ProductChange::getChangedAt).isSorted();
+        assertThat(changeFeed.changesSince(page.getNext(), 2).getChanges()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return only the inserts, updates and deletes after the token, each product once")
+    void changesSince_ShouldReturnOnlyNewChanges() {
+        ProductDTO kept = productService.createProduct(newProduct("Kept"));
+        ProductDTO updated = productService.createProduct(newProduct("Updated"));
+        ProductDTO deleted = productService.createProduct(newProduct("Deleted"));
+        String token = caughtUp();
+
+        productService.updateProduct(updated.getId(), newProduct("Updated once"));
+        productService.updateProduct(updated.getId(), newProduct("Updated twice"));
+        productService.deleteProduct(deleted.getId());
+        ProductDTO inserted = productService.createProduct(newProduct("Inserted"));
+
+        ChangeFeedPage page = changeFeed.changesSince(token, 10);
+
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getChanges()).extracting(ProductChange::getType, ProductChange::getProductId)
+                .containsExactly(
+                        tuple(ProductChange.Type.SAVED, updated.getId()),
+                        tuple(ProductChange.Type.DELETED, deleted.getId()),
+                        tuple(ProductChange.Type.SAVED, inserted.getId()));
+        assertThat(page.getChanges().get(0).getProduct().getName()).isEqualTo("Updated twice");
+        assertThat(page.getChanges().get(1).getProduct()).isNull();
+        assertThat(page.getChanges()).extracting(ProductChange::getProductId).doesNotContain(kept.getId());
+
+        assertThat(changeFeed.changesSince(page.getNext(), 10).getChanges()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Stock moves and entity writes should interleave in the order they happened")
+    void changesSince_ShouldOrderStockMovesWithEntityWrites() throws Exception {
+        ProductDTO reserved = productService.createProduct(newProduct("Reserved"));
+        ProductDTO edited = productService.createProduct(newProduct("Edited"));
+        ProductDTO released = productService.createProduct(newProduct("Released"));
+        String token = caughtUp();
+
+        Instant before = Instant.now();
+        assertThat(stockLedger.reserve(reserved.getId(), 1)).isTrue();
+        Thread.sleep(5);
+        productService.updateProduct(edited.getId(), newProduct("Edited once"));
+        Thread.sleep(5);
+        stockLedger.release(released.getId(), 1);
+        Instant after = Instant.now();
+
+        ChangeFeedPage page = changeFeed.changesSince(token, 10);
+
+        assertThat(page.getChanges()).extracting(ProductChange::getProductId)
+                .containsExactly(reserved.getId(), edited.getId(), released.getId());
+        assertThat(page.getChanges()).extracting(ProductChange::getChangedAt)
+                .allSatisfy(at -> assertThat(at).isBetween(before, after));
+    }
+
+    @Test
+    @DisplayName("Should hold back changes younger than the settle time")
+    void changesSince_ShouldWaitForSettleTime() {
+        String token = caughtUp();
+        productService.createProduct(newProduct("Settling"));
+
+        ProductChangeFeed settling = new ProductChangeFeed(productRepository, tombstoneRepository,
+                Duration.ofMinutes(1), Duration.ofDays(30), 1000);
+
+        ChangeFeedPage page = settling.changesSince(token, 10);
+        assertThat(page.getChanges()).isEmpty();
+        assertThat(changeFeed.changesSince(page.getNext(), 10).getChanges()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a token older than the tombstone retention with 410 Gone")
+    void changesSince_ShouldRejectExpiredToken() throws Exception {
+        String expired = new ChangeToken(Instant.EPOCH, 0, Instant.now().minus(Duration.ofDays(31))).encode();
+
+        assertThatThrownBy(() -> changeFeed.changesSince(expired, 10))
+                .isInstanceOf(ChangeTokenExpiredException.class);
+        mockMvc.perform(get("/api/products/changes").param("since", expired))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    @DisplayName("Should not expire the token of a first sync paging through old products")
+    void changesSince_ShouldKeepFirstSyncTokenFresh() {
+        String token = ChangeToken.start(Instant.now()).after(Instant.EPOCH.plusSeconds(1), 1).encode();
+
+        assertThatNoException().isThrownBy(() -> changeFeed.changesSince(token, 10));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens and batch sizes out of range")
+    void changesSince_ShouldRejectBadInput() throws Exception {
+        assertThatThrownBy(() -> changeFeed.changesSince("not-a-token", 10))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> changeFeed.changesSince(null, 0))
+                .isInstanceOf(BadRequestException.class);
+        mockMvc.perform(get("/api/products/changes").param("size", "1001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should purge tombstones older than the retention")
+    void purgeTombstones_ShouldDropOldTombstones() {
+        ProductDTO product = productService.createProduct(newProduct("Purged"));
+        productService.deleteProduct(product.getId());
+        assertThat(tombstoneRepository.existsById(product.getId())).isTrue();
+
+        new ProductChangeFeed(productRepository, tombstoneRepository, Duration.ZERO, Duration.ZERO, 1000)
+                .purgeTombstones();
+
+        assertThat(tombstoneRepository.existsById(product.getId())).isFalse();
+    }
+
+    /** A token past every change so far. */
+    private String caughtUp() {
+        ChangeFeedPage page = changeFeed.changesSince(null, 1000);
+        while (page.isHasMore()) {
+            page = changeFeed.changesSince(page.getNext(), 1000);
+        }
+        return page.getNext();
+    }
+
+    private static ProductDTO newProduct(String name) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName(name);
+        dto.setDescription("Change feed product");
+        dto.setPrice(new BigDecimal("9.99"));
+        dto.setCategory("Feed");
+        dto.setStockQuantity(3);
+        dto.setImageUrl("https://example.com/feed.jpg");
+        return dto;
+    }
+}
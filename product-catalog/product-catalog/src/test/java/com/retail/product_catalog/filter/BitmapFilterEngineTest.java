@@ -0,0 +1,204 @@
+package com.retail.product_catalog.filter;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import com.retail.product_catalog.service.ProductSort;
+import com.retail.product_catalog.stock.StockLevelChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("BitmapFilterEngine Unit Tests")
+class BitmapFilterEngineTest {
+
+    private static final int PRICE_BUCKETS = 3;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private BitmapFilterEngine engine;
+
+    private final Map<Long, ProductDTO> table = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        addToTable(1L, "1199.99", "Electronics", 4);
+        addToTable(2L, "24.99", "Books", 0);
+        addToTable(3L, "34.99", "Books", 7);
+        addToTable(4L, "499.99", "Electronics", 0);
+        addToTable(5L, "50.00", "Toys", 2);
+        addToTable(6L, "500.00", "toys", 1);
+
+        when(productRepository.findSlice(eq(ProductSort.ID), isNull(), isNull(), isNull(), anyInt()))
+                .thenAnswer(inv -> new ArrayList<>(table.values()));
+        doCallRealMethod().when(productRepository).forEachProduct(anyInt(), any());
+        when(productRepository.findProjectedByIdIn(anyCollection())).thenAnswer(inv -> {
+            List<ProductDTO> found = new ArrayList<>();
+            for (Long id : inv.<Collection<Long>>getArgument(0)) {
+                if (table.containsKey(id)) {
+                    found.add(table.get(id));
+                }
+            }
+            return found;
+        });
+
+        engine = new BitmapFilterEngine(productRepository, PRICE_BUCKETS);
+        engine.rebuild();
+    }
+
+    // ===================== MATCHING =====================
+
+    @Test
+    @DisplayName("Should OR the categories and AND the stock filter, ignoring category case")
+    void filter_ShouldCombineCategoriesAndStock() {
+        ProductFilter filter = ProductFilter.of(List.of("TOYS", "books"), null, null, true);
+
+        Page<ProductDTO> result = engine.filter(filter, PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).extracting(ProductDTO::getId).containsExactly(3L, 5L, 6L);
+        verify(productRepository, never()).findFiltered(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should apply inclusive price bounds exactly, including inside edge buckets")
+    void filter_ShouldApplyExactPriceBounds() {
+        assertThat(ids(ProductFilter.of(null, new BigDecimal("34.99"), new BigDecimal("500"), false)))
+                .containsExactly(3L, 4L, 5L, 6L);
+        assertThat(ids(ProductFilter.of(null, new BigDecimal("50"), new BigDecimal("50"), false)))
+                .containsExactly(5L);
+        assertThat(ids(ProductFilter.of(null, null, new BigDecimal("49.99"), false)))
+                .containsExactly(2L, 3L);
+        assertThat(ids(ProductFilter.of(List.of("Electronics"), new BigDecimal("500.01"), null, true)))
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should page in id order with the total count")
+    void filter_ShouldPageInIdOrder() {
+        Page<ProductDTO> second = engine.filter(ProductFilter.of(null, null, null, false), PageRequest.of(1, 4));
+
+        assertThat(second.getContent()).extracting(ProductDTO::getId).containsExactly(5L, 6L);
+        assertThat(second.getTotalElements()).isEqualTo(6);
+        assertThat(engine.filter(ProductFilter.of(null, null, null, false), PageRequest.of(2, 4)).getContent())
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should agree with a row-by-row scan on a random catalog")
+    void match_ShouldAgreeWithScan() {
+        Random random = new Random(42);
+        String[] categories = {"Books", "Toys", "Garden", "Electronics"};
+        List<ProductDTO> catalog = new ArrayList<>(table.values());
+        for (long id = 10; id < 2_000; id++) {
+            ProductDTO product = new ProductDTO(id, "Product " + id, "Random product",
+                    BigDecimal.valueOf(random.nextInt(100_000), 2), categories[random.nextInt(4)],
+                    random.nextInt(3), "https://example.com/p.jpg");
+            catalog.add(product);
+            engine.index(product);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            BigDecimal min = random.nextBoolean() ? BigDecimal.valueOf(random.nextInt(60_000), 2) : null;
+            BigDecimal max = random.nextBoolean() ? BigDecimal.valueOf(60_000 + random.nextInt(40_000), 2) : null;
+            ProductFilter filter = ProductFilter.of(
+                    List.of(categories[random.nextInt(4)], categories[random.nextInt(4)]),
+                    min, max, random.nextBoolean());
+
+            List<Long> expected = catalog.stream()
+                    .filter(p -> filter.categories().contains(p.getCategory().toLowerCase()))
+                    .filter(p -> filter.priceInRange(p.getPrice()))
+                    .filter(p -> !filter.inStock() || p.getStockQuantity() > 0)
+                    .map(ProductDTO::getId)
+                    .sorted()
+                    .toList();
+            List<Long> actual = engine.match(filter).stream().mapToObj(id -> (long) id).toList();
+
+            assertThat(actual).as("%s", filter).isEqualTo(expected);
+        }
+    }
+
+    // ===================== INCREMENTAL UPDATES =====================
+
+    @Test
+    @DisplayName("Should move a product between bitmaps when it is updated")
+    void onProductChanged_ShouldReindexUpdatedProduct() {
+        ProductDTO restocked = new ProductDTO(2L, "Product 2", "Filter test product", new BigDecimal("74.99"),
+                "Garden", 3, "https://example.com/2.jpg");
+        table.put(2L, restocked);
+        engine.onProductChanged(ProductChangedEvent.saved(restocked));
+
+        assertThat(ids(ProductFilter.of(List.of("Books"), null, null, false))).containsExactly(3L);
+        assertThat(ids(ProductFilter.of(List.of("Garden"), new BigDecimal("60"), null, true))).containsExactly(2L);
+        assertThat(engine.categoryCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should drop a product from every bitmap when it is deleted")
+    void onProductChanged_ShouldRemoveDeletedProduct() {
+        table.remove(1L);
+        engine.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        assertThat(ids(ProductFilter.of(List.of("Electronics"), null, null, false))).containsExactly(4L);
+        assertThat(ids(ProductFilter.of(null, new BigDecimal("1000"), null, false))).isEmpty();
+        assertThat(engine.productCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should follow stock moves, ignoring ones older than what it has")
+    void onStockLevelChanged_ShouldApplyNewestStock() {
+        ProductFilter inStock = ProductFilter.of(List.of("Electronics"), null, null, true);
+
+        engine.onStockLevelChanged(new StockLevelChangedEvent(1L, false, 2));
+        assertThat(ids(inStock)).isEmpty();
+
+        engine.onStockLevelChanged(new StockLevelChangedEvent(4L, true, 3));
+        engine.onStockLevelChanged(new StockLevelChangedEvent(4L, false, 1));
+        assertThat(ids(inStock)).containsExactly(4L);
+
+        // An entity write that read the row before the stock move keeps the moved stock
+        engine.onProductChanged(ProductChangedEvent.saved(table.get(4L)));
+        assertThat(ids(inStock)).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should run the filter as SQL until the bitmaps are built")
+    void filter_ShouldFallBackToSql_BeforeRebuild() {
+        BitmapFilterEngine cold = new BitmapFilterEngine(productRepository, PRICE_BUCKETS);
+        ProductFilter filter = ProductFilter.of(List.of("Books"), null, null, false);
+        when(productRepository.findFiltered(eq(filter), any(Pageable.class))).thenReturn(Page.empty());
+
+        cold.filter(filter, PageRequest.of(0, 5));
+
+        verify(productRepository).findFiltered(eq(filter), any(Pageable.class));
+    }
+
+    private List<Long> ids(ProductFilter filter) {
+        return engine.filter(filter, PageRequest.of(0, 100)).map(ProductDTO::getId).getContent();
+    }
+
+    private void addToTable(Long id, String price, String category, int stock) {
+        table.put(id, new ProductDTO(id, "Product " + id, "Filter test product", new BigDecimal(price),
+                category, stock, "https://example.com/" + id + ".jpg"));
+    }
+}
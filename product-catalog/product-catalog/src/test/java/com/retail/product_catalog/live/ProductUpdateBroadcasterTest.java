@@ -0,0 +1,184 @@
+package com.retail.product_catalog.live;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import com.retail.product_catalog.service.ProductService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Flushes are triggered by hand, so what is coalesced does not depend on timing
+@SpringBootTest(properties = {"catalog.live.coalesce-window=1h", "catalog.live.heartbeat-interval=1h"})
+@AutoConfigureMockMvc
+@DisplayName("ProductUpdateBroadcaster Tests")
+class ProductUpdateBroadcasterTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @Autowired
+    private ProductUpdateBroadcaster broadcaster;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Should push a burst of changes to a subscribed product once, in its latest state")
+    void subscribe_ShouldCoalesceBurstPerProduct() throws Exception {
+        ProductDTO product = productService.createProduct(newProduct("Burst", "LiveBurst", 5));
+        MockHttpServletResponse stream = subscribe("id", product.getId().toString());
+
+        productService.updateProduct(product.getId(), newProduct("Burst", "LiveBurst", 4));
+        productService.updateProduct(product.getId(), newProduct("Burst", "LiveBurst", 3));
+        broadcaster.flush();
+
+        String events = await(stream, body -> body.contains("\"stockQuantity\":3"));
+        assertThat(events.split("event:product", -1)).hasSize(2);
+        assertThat(events).doesNotContain("\"stockQuantity\":4");
+    }
+
+    @Test
+    @DisplayName("Should push only the categories subscribed to, and only price or stock changes")
+    void subscribe_ShouldFilterByCategoryAndField() throws Exception {
+        ProductDTO watched = productService.createProduct(newProduct("Watched", "LiveWatched", 5));
+        ProductDTO renamed = productService.createProduct(newProduct("Renamed", "LiveWatched", 5));
+        ProductDTO other = productService.createProduct(newProduct("Other", "LiveOther", 5));
+        broadcaster.flush();
+        MockHttpServletResponse stream = subscribe("category", "LiveWatched");
+
+        productService.updateProduct(other.getId(), newProduct("Other", "LiveOther", 1));
+        productService.updateProduct(renamed.getId(), newProduct("Renamed again", "LiveWatched", 5));
+        productService.updateProduct(watched.getId(), newProduct("Watched", "LiveWatched", 1));
+        broadcaster.flush();
+
+        String events = await(stream, body -> body.contains("\"id\":" + watched.getId() + ","));
+        assertThat(events)
+                .doesNotContain("\"id\":" + other.getId() + ",")
+                .doesNotContain("\"id\":" + renamed.getId() + ",");
+    }
+
+    @Test
+    @DisplayName("Should reject a subscription without ids or categories")
+    void subscribe_ShouldRequireAKey() throws Exception {
+        mockMvc.perform(get("/api/products/live"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should disconnect a slow consumer with a resync instead of buffering for it")
+    void deliver_ShouldDropSlowConsumer() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProductUpdateBroadcaster standalone = new ProductUpdateBroadcaster(registry,
+                Duration.ofHours(1), Duration.ofHours(1), Duration.ofMinutes(1), 2, 100, 1);
+        BlockingEmitter emitter = new BlockingEmitter();
+        standalone.register(new Subscriber(emitter, Set.of(1L, 2L, 3L, 4L), Set.of(), 2));
+
+        try {
+            standalone.onProductChanged(ProductChangedEvent.saved(product(1L)));
+            standalone.flush();
+            assertThat(emitter.sending.await(WAIT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+
+            // Three products pile up behind the stuck send, one more than max-pending
+            for (long id = 2; id <= 4; id++) {
+                standalone.onProductChanged(ProductChangedEvent.saved(product(id)));
+            }
+            standalone.flush();
+
+            assertThat(standalone.subscriberCount()).isZero();
+            assertThat(registry.get("catalog.live.dropped").counter().count()).isEqualTo(1);
+
+            emitter.release.countDown();
+            assertThat(emitter.completed.await(WAIT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+            assertThat(emitter.events).hasSize(2);
+            assertThat(emitter.events.get(0)).contains("event:product");
+            assertThat(emitter.events.get(1)).contains("event:resync");
+        } finally {
+            standalone.stop();
+        }
+    }
+
+    private MockHttpServletResponse subscribe(String param, String value) throws Exception {
+        return mockMvc.perform(get("/api/products/live").param(param, value))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static String await(MockHttpServletResponse stream, Predicate<String> done) throws Exception {
+        long deadline = System.nanoTime() + WAIT.toNanos();
+        String body = stream.getContentAsString();
+        while (!done.test(body) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            body = stream.getContentAsString();
+        }
+        assertThat(body).matches(done);
+        return body;
+    }
+
+    private static ProductDTO product(long id) {
+        ProductDTO dto = newProduct("Product " + id, "LiveSlow", 1);
+        dto.setId(id);
+        return dto;
+    }
+
+    private static ProductDTO newProduct(String name, String category, int stock) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName(name);
+        dto.setDescription("Live update product");
+        dto.setPrice(new BigDecimal("19.99"));
+        dto.setCategory(category);
+        dto.setStockQuantity(stock);
+        dto.setImageUrl("https://example.com/live.jpg");
+        return dto;
+    }
+
+    /** Records events, holding the first send until released, like a client that stopped reading. */
+    private static final class BlockingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            events.add(event.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+    }
+}
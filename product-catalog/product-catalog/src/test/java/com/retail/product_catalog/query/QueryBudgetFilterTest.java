@@ -0,0 +1,100 @@
+package com.retail.product_catalog.query;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("QueryBudgetFilter Unit Tests")
+class QueryBudgetFilterTest {
+
+    private static final String SELECT = "select p.id from products p where p.id=?";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Fail mode should throw when a request issues more statements than its budget")
+    void failMode_ShouldThrowOverBudget() {
+        QueryBudgetFilter filter = new QueryBudgetFilter("fail", 10, 5, meterRegistry);
+
+        assertThatThrownBy(() -> filter.doFilter(request("budgetOfOne"), new MockHttpServletResponse(),
+                statements("select 1", "select 2")))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("GET /api/things/{id}")
+                .hasMessageContaining("2 statements")
+                .hasMessageContaining("budget 1");
+        assertThat(meterRegistry.get("catalog.request.statements")
+                .tag("endpoint", "GET /api/things/{id}").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Fail mode should throw on a repeated SELECT even within budget")
+    void failMode_ShouldThrowOnRepeatedSelect() {
+        QueryBudgetFilter filter = new QueryBudgetFilter("fail", 10, 3, meterRegistry);
+
+        assertThatThrownBy(() -> filter.doFilter(request("noBudget"), new MockHttpServletResponse(),
+                statements(SELECT, SELECT, SELECT)))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("possible N+1, 3x: " + SELECT);
+    }
+
+    @Test
+    @DisplayName("Unlimited endpoints and log mode should let the request through")
+    void unlimitedAndLogMode_ShouldNotThrow() throws Exception {
+        new QueryBudgetFilter("fail", 0, 2, meterRegistry)
+                .doFilter(request("unlimited"), new MockHttpServletResponse(), statements(SELECT, SELECT, SELECT));
+        new QueryBudgetFilter("log", 0, 2, meterRegistry)
+                .doFilter(request("budgetOfOne"), new MockHttpServletResponse(), statements(SELECT, SELECT));
+    }
+
+    @Test
+    @DisplayName("Header mode should report the counts before the body is written")
+    void headerMode_ShouldAddHeaders() throws Exception {
+        QueryBudgetFilter filter = new QueryBudgetFilter("header", 10, 5, meterRegistry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("noBudget"), response, (req, res) -> {
+            QueryStats.statementPrepared("select 1");
+            QueryStats.rowFetched();
+            res.getWriter().write("{}");
+            QueryStats.statementPrepared("select 2");
+        });
+
+        assertThat(response.getHeader("X-Query-Count")).isEqualTo("1");
+        assertThat(response.getHeader("X-Query-Rows")).isEqualTo("1");
+        assertThat(response.getHeader("X-Query-Time-Ms")).isEqualTo("0");
+    }
+
+    private static MockHttpServletRequest request(String handlerMethod) throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/things/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/things/{id}");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(handlerMethod)));
+        return request;
+    }
+
+    private static FilterChain statements(String... sql) {
+        return (request, response) -> {
+            for (String statement : sql) {
+                QueryStats.statementPrepared(statement);
+            }
+        };
+    }
+
+    static class Endpoints {
+
+        @QueryBudget(1)
+        public void budgetOfOne() {}
+
+        @QueryBudget(QueryBudget.UNLIMITED)
+        public void unlimited() {}
+
+        public void noBudget() {}
+    }
+}
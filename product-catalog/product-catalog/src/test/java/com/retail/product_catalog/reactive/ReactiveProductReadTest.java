@@ -0,0 +1,163 @@
+package com.retail.product_catalog.reactive;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// JPA creates the schema and seeds rows; the reactive stack reads the same in-memory
+// database over R2DBC.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive-catalog;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "catalog.reactive.r2dbc.url=r2dbc:h2:mem:///reactive-catalog?options=MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+@DisplayName("Reactive product read API Tests")
+class ReactiveProductReadTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long deskId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        deskId = productRepository.save(newProduct("Oak Desk", "Furniture", "249.00")).getId();
+        productRepository.save(newProduct("Pine Desk", "Furniture", "129.00"));
+        productRepository.save(newProduct("Desk Lamp 50% off", "Lighting", "19.99"));
+    }
+
+    @Test
+    @DisplayName("GET by id should return the same DTO as the JPA projection, with its validators")
+    void getProductById_ShouldMatchServletRepresentation() {
+        ProductDTO expected = productRepository.findProjectedByIdIn(List.of(deskId)).get(0);
+
+        ProductDTO actual = webTestClient.get().uri("/api/products/{id}", deskId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"" + expected.getVersion() + "\"")
+                .expectHeader().exists("Last-Modified")
+                .expectBody(ProductDTO.class)
+                .returnResult().getResponseBody();
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+
+        webTestClient.get().uri("/api/products/{id}", deskId)
+                .header("If-None-Match", "\"" + expected.getVersion() + "\"")
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("GET by id should return the servlet error body when the product is missing")
+    void getProductById_ShouldReturn404_WhenMissing() {
+        webTestClient.get().uri("/api/products/{id}", 987654L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Product not found with id: 987654");
+    }
+
+    @Test
+    @DisplayName("Listing should page like the servlet endpoint and follow keyset cursors")
+    void getAllProducts_ShouldPageAndFollowCursors() {
+        webTestClient.get().uri("/api/products?page=0&size=2&sortBy=price")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.content[0].name").isEqualTo("Desk Lamp 50% off")
+                .jsonPath("$.content[1].name").isEqualTo("Pine Desk")
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .jsonPath("$.totalPages").isEqualTo(2);
+
+        CursorBody first = webTestClient.get().uri("/api/products?after=&size=2&sortBy=price")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CursorBody.class)
+                .returnResult().getResponseBody();
+        assertThat(first.hasNext).isTrue();
+
+        webTestClient.get().uri("/api/products?after={after}&size=2&sortBy=price", first.nextCursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].name").isEqualTo("Oak Desk")
+                .jsonPath("$.hasNext").isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Search should match names case-insensitively and treat wildcards literally")
+    void searchProducts_ShouldEscapeWildcards() {
+        webTestClient.get().uri("/api/products/search?keyword=DESK")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.totalElements").isEqualTo(3);
+
+        webTestClient.get().uri("/api/products/search?keyword={keyword}", "50%")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.content[0].name").isEqualTo("Desk Lamp 50% off");
+    }
+
+    @Test
+    @DisplayName("NDJSON requests should stream every product in the category")
+    void getByCategory_ShouldStreamNdjson() {
+        List<ProductDTO> streamed = webTestClient.get().uri("/api/products/category/Furniture?sortBy=name")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ProductDTO.class)
+                .returnResult().getResponseBody();
+
+        assertThat(streamed).extracting(ProductDTO::getName).containsExactly("Oak Desk", "Pine Desk");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown sort properties and refuse writes")
+    void shouldRejectBadSortAndWrites() {
+        webTestClient.get().uri("/api/products?sortBy=password")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Unsupported sortBy: password");
+
+        webTestClient.post().uri("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ProductDTO())
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    private static class CursorBody {
+        public String nextCursor;
+        public boolean hasNext;
+    }
+
+    private static Product newProduct(String name, String category, String price) {
+        return new Product(name, "Reactive read test product", new BigDecimal(price), category, 4,
+                "https://example.com/p.jpg");
+    }
+}
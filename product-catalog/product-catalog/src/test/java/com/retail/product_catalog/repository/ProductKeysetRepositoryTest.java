@@ -0,0 +1,92 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.service.ProductCursor;
+import com.retail.product_catalog.service.ProductSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("ProductKeysetRepository Tests")
+class ProductKeysetRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        // Duplicate prices make sure ties are broken by id rather than skipped or repeated.
+        String[] prices = {"10.00", "5.00", "10.00", "7.50", "5.00", "20.00", "10.00"};
+        for (int i = 0; i < prices.length; i++) {
+            productRepository.save(new Product("Product " + i, "Description of product " + i,
+                    new BigDecimal(prices[i]), i % 2 == 0 ? "Books" : "Toys", i,
+                    "https://example.com/" + i + ".jpg"));
+        }
+    }
+
+    @Test
+    @DisplayName("Walking every slice by price should visit each product once in order")
+    void findSlice_ShouldWalkAllRowsInOrder() {
+        List<ProductDTO> walked = walk(ProductSort.PRICE, null, null, 2);
+
+        List<Product> expected = productRepository.findAll().stream()
+                .sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getId))
+                .toList();
+        assertThat(walked).extracting(ProductDTO::getId)
+                .containsExactlyElementsOf(expected.stream().map(Product::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Category and name filters should apply on every slice")
+    void findSlice_ShouldApplyFilters() {
+        List<ProductDTO> books = walk(ProductSort.NAME, "Books", null, 3);
+        assertThat(books).hasSize(4).allMatch(p -> p.getCategory().equals("Books"));
+
+        List<ProductDTO> named = walk(ProductSort.ID, null, "PRODUCT 1", 1);
+        assertThat(named).extracting(ProductDTO::getName).containsExactly("Product 1");
+    }
+
+    @Test
+    @DisplayName("Reading every product by id should not skip rows when earlier ones are deleted meanwhile")
+    void forEachProduct_ShouldNotSkipRowsAfterConcurrentDelete() {
+        List<Long> ids = productRepository.findAll().stream().map(Product::getId).sorted().toList();
+        List<Long> seen = new ArrayList<>();
+
+        productRepository.forEachProduct(2, product -> {
+            seen.add(product.getId());
+            // Deleting an already read row would shift the next OFFSET page past a live one
+            if (seen.size() == 2) {
+                productRepository.deleteById(ids.get(0));
+                productRepository.flush();
+            }
+        });
+
+        assertThat(seen).containsExactlyElementsOf(ids);
+    }
+
+    private List<ProductDTO> walk(ProductSort sort, String category, String name, int limit) {
+        List<ProductDTO> all = new ArrayList<>();
+        ProductCursor cursor = null;
+        List<ProductDTO> slice;
+        do {
+            slice = productRepository.findSlice(sort, cursor, category, name, limit);
+            all.addAll(slice);
+            if (!slice.isEmpty()) {
+                cursor = ProductCursor.after(sort, slice.get(slice.size() - 1));
+            }
+        } while (slice.size() == limit);
+        return all;
+    }
+}
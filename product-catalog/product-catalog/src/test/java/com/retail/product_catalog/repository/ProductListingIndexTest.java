@@ -0,0 +1,145 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.service.ProductCursor;
+import com.retail.product_catalog.service.ProductSort;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * EXPLAINs the SQL the listing queries actually issue, for every {@link ProductSort}.
+ * H2 (MySQL mode) stands in for MySQL with the same indexes migration V4 creates.
+ * H2's planner reports the index it reads through but, unlike MySQL, does not use an
+ * equality prefix to satisfy ORDER BY, so the {@code (category, key, id)} indexes
+ * MySQL sorts from are checked against the schema directly.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.retail.product_catalog.repository.ProductListingIndexTest$CapturingInspector")
+@DisplayName("Product listing index Tests")
+class ProductListingIndexTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            productRepository.save(new Product("Product " + i, "Index test product " + i,
+                    new BigDecimal(10 + i), i % 2 == 0 ? "Books" : "Toys", i,
+                    "https://example.com/" + i + ".jpg"));
+        }
+        productRepository.flush();
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductSort.class)
+    @DisplayName("Catalog pages should be read in order from an index")
+    void findAllProjected_ShouldReadIndexInOrder(ProductSort sort) {
+        productRepository.findAllProjected(PageRequest.of(1, 5, sort.toSort()));
+
+        assertThat(explain(lastListingQuery(), null))
+                .doesNotContain("tableScan")
+                .contains("/* index sorted */");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductSort.class)
+    @DisplayName("Category pages and slices should seek the category through an index")
+    void categoryListings_ShouldSeekIndex(ProductSort sort) {
+        productRepository.findProjectedByCategory("Books", PageRequest.of(1, 5, sort.toSort()));
+        assertThat(explain(lastListingQuery(), "Books")).containsPattern("IDX_PRODUCTS_CATEGORY_\\w+: CATEGORY = \\?1");
+
+        ProductDTO first = productRepository.findAllProjected(PageRequest.of(0, 1)).getContent().get(0);
+        ProductCursor after = new ProductCursor(sort, sort.valueOf(first), first.getId());
+        productRepository.findSlice(sort, after, "Books", null, 6);
+        assertThat(explain(lastListingQuery(), "Books")).containsPattern("IDX_PRODUCTS_CATEGORY_\\w+: CATEGORY = \\?1");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ProductSort.class)
+    @DisplayName("Every sortBy should have an index in (key, id) order, with and without the category")
+    void schema_ShouldIndexEveryOrdering(ProductSort sort) {
+        Collection<List<String>> indexes = indexColumns().values();
+        List<String> ordering = sort == ProductSort.ID ? List.of("ID") : List.of(column(sort), "ID");
+
+        assertThat(indexes).anyMatch(columns -> startsWith(columns, ordering));
+        assertThat(indexes).anyMatch(columns -> startsWith(columns,
+                Stream.concat(Stream.of("CATEGORY"), ordering.stream()).distinct().toList()));
+    }
+
+    // ===================== HELPERS =====================
+
+    private String lastListingQuery() {
+        return CapturingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.contains(" order by "))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+
+    /** EXPLAIN with the category (if any) as the first parameter and 5 for the rest. */
+    private String explain(String sql, String category) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement explain) -> {
+            int parameters = explain.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                explain.setObject(i, i == 1 && category != null ? category : "5");
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+
+    private Map<String, List<String>> indexColumns() {
+        return jdbcTemplate.queryForList(
+                        "SELECT INDEX_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS "
+                                + "WHERE TABLE_NAME = 'PRODUCTS' ORDER BY INDEX_NAME, ORDINAL_POSITION")
+                .stream()
+                .collect(Collectors.groupingBy(row -> (String) row.get("INDEX_NAME"),
+                        Collectors.mapping(row -> (String) row.get("COLUMN_NAME"), Collectors.toList())));
+    }
+
+    private static boolean startsWith(List<String> columns, List<String> prefix) {
+        return columns.size() >= prefix.size() && columns.subList(0, prefix.size()).equals(prefix);
+    }
+
+    private static String column(ProductSort sort) {
+        return sort == ProductSort.STOCK_QUANTITY ? "STOCK_QUANTITY" : sort.getProperty().toUpperCase(Locale.ROOT);
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.retail.product_catalog.repository;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.filter.ProductFilter;
+import com.retail.product_catalog.model.Product;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@DisplayName("ProductRepository DTO projection Tests")
+class ProductProjectionRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long discountId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        productRepository.save(newProduct("Oak Desk", "Furniture"));
+        productRepository.save(newProduct("Pine Desk", "Furniture"));
+        discountId = productRepository.save(newProduct("Desk Lamp 50% off", "Lighting")).getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Projected pages should not put entities in the persistence context")
+    void findAllProjected_ShouldNotManageEntities() {
+        Page<ProductDTO> page = productRepository.findAllProjected(PageRequest.of(0, 2, Sort.by("name")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting(ProductDTO::getName)
+                .containsExactly("Desk Lamp 50% off", "Oak Desk");
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Name search should treat LIKE wildcards in the term literally")
+    void findProjectedByNameContaining_ShouldEscapeWildcards() {
+        assertThat(productRepository.findProjectedByNameContaining("DESK", PageRequest.of(0, 10))
+                .getTotalElements()).isEqualTo(3);
+        assertThat(productRepository.findProjectedByNameContaining("50%", PageRequest.of(0, 10))
+                .getContent()).extracting(ProductDTO::getId).containsExactly(discountId);
+        assertThat(productRepository.findProjectedByNameContaining("_", PageRequest.of(0, 10))
+                .getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Category and id lookups should project only the matching rows")
+    void findProjectedByCategoryAndIds_ShouldFilter() {
+        Page<ProductDTO> furniture = productRepository.findProjectedByCategory("Furniture", PageRequest.of(0, 10));
+        assertThat(furniture.getContent()).extracting(ProductDTO::getCategory).containsOnly("Furniture");
+        assertThat(furniture.getTotalElements()).isEqualTo(2);
+
+        List<ProductDTO> byId = productRepository.findProjectedByIdIn(List.of(discountId, -1L));
+        assertThat(byId).extracting(ProductDTO::getName).containsExactly("Desk Lamp 50% off");
+    }
+
+    @Test
+    @DisplayName("Facet counts should group by category and price bucket, narrowed by category and name")
+    void countByCategoryAndPriceBucket_ShouldGroupRows() {
+        productRepository.save(new Product("Standing Desk", "Projection test product", new BigDecimal("20.00"),
+                "Furniture", 1, "https://example.com/p.jpg"));
+        List<BigDecimal> edges = List.of(new BigDecimal("10"), new BigDecimal("20"));
+
+        assertThat(productRepository.countByCategoryAndPriceBucket(edges, null, null)).containsExactlyInAnyOrder(
+                new ProductFacetRepository.FacetRow("Furniture", 1, 2),
+                new ProductFacetRepository.FacetRow("Furniture", 2, 1),
+                new ProductFacetRepository.FacetRow("Lighting", 1, 1));
+        assertThat(productRepository.countByCategoryAndPriceBucket(edges, "Lighting", null)).containsExactly(
+                new ProductFacetRepository.FacetRow("Lighting", 1, 1));
+        assertThat(productRepository.countByCategoryAndPriceBucket(edges, null, "50%")).containsExactly(
+                new ProductFacetRepository.FacetRow("Lighting", 1, 1));
+    }
+
+    @Test
+    @DisplayName("Filter fallback should match categories the way the bitmap engine keys them")
+    void findFiltered_ShouldMatchTrimmedCaseInsensitiveCategory() {
+        productRepository.save(newProduct("Padded Desk", " furniture "));
+
+        Page<ProductDTO> page = productRepository.findFiltered(
+                ProductFilter.of(List.of("FURNITURE"), null, null, false), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(ProductDTO::getName)
+                .containsExactly("Oak Desk", "Pine Desk", "Padded Desk");
+    }
+
+    private static Product newProduct(String name, String category) {
+        return new Product(name, "Projection test product", new BigDecimal("19.99"), category, 3,
+                "https://example.com/p.jpg");
+    }
+}
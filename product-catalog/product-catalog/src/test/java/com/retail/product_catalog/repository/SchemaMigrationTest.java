@@ -0,0 +1,71 @@
+package com.retail.product_catalog.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Upgrades a database holding the pre-migration schema, the way a production database
+ * baselined at V1 is upgraded. H2 (MySQL mode) runs the migrations up to V2; V3 is a
+ * MySQL FULLTEXT index.
+ */
+@DisplayName("Schema migration Tests")
+class SchemaMigrationTest {
+
+    private final SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+            "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Should add version and updated_at to legacy rows and seed the id sequence above them")
+    void v2_ShouldUpgradeLegacyProducts() {
+        migrate("1");
+        jdbc.update("INSERT INTO products (name, description, price, category, stock_quantity, image_url) "
+                + "VALUES ('Legacy Lamp', 'Brass', 10.00, 'Lighting', 3, 'https://example.com/a.jpg')");
+        jdbc.update("INSERT INTO products (name, description, price, category, stock_quantity, image_url) "
+                + "VALUES ('Legacy Desk', 'Oak', 99.00, 'Furniture', 1, 'https://example.com/b.jpg')");
+        long maxId = jdbc.queryForObject("SELECT MAX(id) FROM products", Long.class);
+
+        migrate("2");
+
+        List<Map<String, Object>> rows = jdbc.queryForList("SELECT version, updated_at FROM products");
+        assertThat(rows).hasSize(2).allSatisfy(row -> {
+            assertThat(row.get("version")).isEqualTo(0L);
+            assertThat(row.get("updated_at")).isNotNull();
+        });
+        // The pooled generator hands out the 50 ids up to the value it reads
+        assertThat(jdbc.queryForObject("SELECT next_val FROM product_seq", Long.class)).isEqualTo(maxId + 50);
+        assertThatThrownBy(() -> jdbc.update("INSERT INTO products (name, description, price, category, "
+                + "stock_quantity, image_url, version, updated_at) VALUES ('No Id', 'x', 1.00, 'x', 1, 'x', 0, "
+                + "CURRENT_TIMESTAMP)"))
+                .as("ids are no longer generated by the database")
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Should start the id sequence at 1 on an empty database")
+    void v2_ShouldSeedSequenceForEmptyDatabase() {
+        migrate("2");
+
+        assertThat(jdbc.queryForObject("SELECT next_val FROM product_seq", Long.class)).isEqualTo(1L);
+    }
+
+    private void migrate(String target) {
+        Flyway.configure().dataSource(dataSource).target(target).load().migrate();
+    }
+}
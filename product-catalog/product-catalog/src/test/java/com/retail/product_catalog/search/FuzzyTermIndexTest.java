@@ -0,0 +1,123 @@
+package com.retail.product_catalog.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FuzzyTermIndex Unit Tests")
+class FuzzyTermIndexTest {
+
+    @Test
+    @DisplayName("Should count insertions, deletions, substitutions and swaps as one edit each")
+    void distance_ShouldCountEdits() {
+        assertThat(FuzzyTermIndex.distance("samsung", "samsung", 2)).isZero();
+        assertThat(FuzzyTermIndex.distance("samsnug", "samsung", 2)).isEqualTo(1);
+        assertThat(FuzzyTermIndex.distance("galxy", "galaxy", 2)).isEqualTo(1);
+        assertThat(FuzzyTermIndex.distance("iphine", "iphone", 2)).isEqualTo(1);
+        assertThat(FuzzyTermIndex.distance("headphnoes", "headphones", 2)).isEqualTo(1);
+        assertThat(FuzzyTermIndex.distance("kitten", "sitting", 3)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should agree with the unbounded distance up to one past the bound")
+    void distance_ShouldBeBounded() {
+        assertThat(FuzzyTermIndex.distance("kitten", "sitting", 1)).isEqualTo(2);
+        assertThat(FuzzyTermIndex.distance("abcdef", "badcfe", 2)).isEqualTo(3);
+        assertThat(FuzzyTermIndex.distance("usb", "keyboard", 2)).isEqualTo(3);
+
+        Random random = new Random(3);
+        for (int i = 0; i < 2000; i++) {
+            String a = randomWord(random);
+            String b = random.nextBoolean() ? typo(random, typo(random, a)) : randomWord(random);
+            int unbounded = FuzzyTermIndex.distance(a, b, 64);
+            for (int max = 0; max <= 3; max++) {
+                assertThat(FuzzyTermIndex.distance(a, b, max)).as("%s/%s within %d", a, b, max)
+                        .isEqualTo(Math.min(unbounded, max + 1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should only list words of 4 or more letters")
+    void within_ShouldSkipShortAndNumericTokens() {
+        FuzzyTermIndex index = new FuzzyTermIndex();
+        for (String token : List.of("tv", "mug", "s24", "1000xm5", "lamp")) {
+            index.add(token);
+        }
+
+        assertThat(index.within("lamb")).containsExactly(entry("lamp", 1));
+        assertThat(index.within("s25")).isEmpty();
+        assertThat(index.within("tc")).isEmpty();
+        assertThat(index.within("mig")).isEmpty();
+        assertThat(index.within("1000xm4")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find exactly what comparing against every token finds, through adds and removes")
+    void within_ShouldMatchBruteForce() {
+        Random random = new Random(7);
+        FuzzyTermIndex index = new FuzzyTermIndex();
+        Set<String> vocabulary = new LinkedHashSet<>();
+        for (int i = 0; i < 3000; i++) {
+            String word = randomWord(random);
+            if (vocabulary.add(word)) {
+                index.add(word);
+            }
+        }
+        for (String word : vocabulary.stream().limit(500).toList()) {
+            vocabulary.remove(word);
+            index.remove(word);
+        }
+
+        for (int q = 0; q < 300; q++) {
+            String query = q % 2 == 0 ? typo(random, vocabulary.stream().skip(random.nextInt(vocabulary.size()))
+                    .findFirst().orElseThrow()) : randomWord(random);
+            int maxEdits = FuzzyTermIndex.maxEdits(query.length());
+
+            Map<String, Integer> expected = new HashMap<>();
+            if (FuzzyTermIndex.isFuzzy(query)) {
+                for (String word : vocabulary) {
+                    int edits = FuzzyTermIndex.distance(query, word, maxEdits);
+                    if (edits <= maxEdits && FuzzyTermIndex.isFuzzy(word)) {
+                        expected.put(word, edits);
+                    }
+                }
+            }
+
+            assertThat(index.within(query)).as("query '%s'", query).isEqualTo(expected);
+        }
+    }
+
+    /** A few letters from a small alphabet, so that near neighbours are common. */
+    private static String randomWord(Random random) {
+        int length = 3 + random.nextInt(7);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append("aeilnorst".charAt(random.nextInt(9)));
+        }
+        return word.toString();
+    }
+
+    private static String typo(Random random, String word) {
+        StringBuilder typo = new StringBuilder(word);
+        int at = random.nextInt(word.length() - 1);
+        switch (random.nextInt(4)) {
+            case 0 -> typo.deleteCharAt(at);
+            case 1 -> typo.insert(at, 'e');
+            case 2 -> typo.setCharAt(at, 'x');
+            default -> {
+                typo.setCharAt(at, word.charAt(at + 1));
+                typo.setCharAt(at + 1, word.charAt(at));
+            }
+        }
+        return typo.toString();
+    }
+}
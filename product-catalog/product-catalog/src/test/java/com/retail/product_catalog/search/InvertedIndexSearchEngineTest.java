@@ -0,0 +1,201 @@
+package com.retail.product_catalog.search;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.ScoredProductDTO;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import com.retail.product_catalog.service.ProductCursor;
+import com.retail.product_catalog.service.ProductSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("InvertedIndexSearchEngine Unit Tests")
+class InvertedIndexSearchEngineTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private InvertedIndexSearchEngine engine;
+
+    private final Map<Long, ProductDTO> table = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        addToTable(1L, "iPhone 15 Pro", "Apple flagship with titanium design", "1199.99", "Electronics");
+        addToTable(2L, "Samsung Galaxy S24", "Android flagship with S Pen", "1099.99", "Electronics");
+        addToTable(3L, "Clean Code", "A handbook of agile software craftsmanship", "34.99", "Books");
+        addToTable(4L, "iPad Pro", "Apple tablet with M2 chip", "899.99", "Electronics");
+
+        when(productRepository.findSlice(eq(ProductSort.ID), isNull(), isNull(), isNull(), anyInt()))
+                .thenAnswer(inv -> new ArrayList<>(table.values()));
+        doCallRealMethod().when(productRepository).forEachProduct(anyInt(), any());
+        when(productRepository.findProjectedByIdIn(anyCollection())).thenAnswer(inv -> {
+            List<ProductDTO> found = new ArrayList<>();
+            for (Long id : inv.<Collection<Long>>getArgument(0)) {
+                if (table.containsKey(id)) {
+                    found.add(table.get(id));
+                }
+            }
+            return found;
+        });
+
+        engine = new InvertedIndexSearchEngine(productRepository);
+        engine.rebuild();
+    }
+
+    // ===================== MATCHING =====================
+
+    @Test
+    @DisplayName("Should match tokens in the description as well as the name")
+    void search_ShouldMatchDescriptionTokens() {
+        Page<ProductDTO> result = engine.search("flagship", PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(result.getContent()).extracting(ProductDTO::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should treat the last query token as a prefix")
+    void search_ShouldPrefixMatchLastToken() {
+        Page<ProductDTO> result = engine.search("ip", PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(result.getContent()).extracting(ProductDTO::getId).containsExactly(1L, 4L);
+    }
+
+    @Test
+    @DisplayName("Should require every query token to match")
+    void search_ShouldIntersectTokens() {
+        Page<ProductDTO> result = engine.search("apple TABLET", PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(result.getContent()).extracting(ProductDTO::getId).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should sort and paginate matches with the total count")
+    void search_ShouldSortAndPaginate() {
+        Page<ProductDTO> result = engine.search("pro", PageRequest.of(0, 1, Sort.by("price")));
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(ProductDTO::getId).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should return empty page when nothing matches")
+    void search_ShouldReturnEmptyPage_WhenNoMatches() {
+        Page<ProductDTO> result = engine.search("xyz", PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should continue a keyset walk strictly after the cursor")
+    void searchSlice_ShouldContinueAfterCursor() {
+        List<ProductDTO> first = engine.searchSlice("apple", ProductSort.PRICE, null, 1);
+        assertThat(first).extracting(ProductDTO::getId).containsExactly(4L);
+
+        ProductCursor cursor = ProductCursor.after(ProductSort.PRICE, first.get(0));
+        List<ProductDTO> rest = engine.searchSlice("apple", ProductSort.PRICE, cursor, 10);
+        assertThat(rest).extracting(ProductDTO::getId).containsExactly(1L);
+    }
+
+    // ===================== INCREMENTAL UPDATES =====================
+
+    @Test
+    @DisplayName("Should reindex a product when it is updated")
+    void onProductChanged_ShouldReindexUpdatedProduct() {
+        ProductDTO renamed = new ProductDTO(3L, "Refactoring", "Improving the design of existing code",
+                new BigDecimal("44.99"), "Books", 10, "https://example.com/refactoring.jpg");
+
+        engine.onProductChanged(ProductChangedEvent.saved(renamed));
+
+        assertThat(engine.search("clean", PageRequest.of(0, 10, Sort.by("id"))).getContent()).isEmpty();
+        assertThat(engine.search("refactor", PageRequest.of(0, 10, Sort.by("id"))).getTotalElements())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop a product from the index when it is deleted")
+    void onProductChanged_ShouldRemoveDeletedProduct() {
+        engine.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        Page<ProductDTO> result = engine.search("flagship", PageRequest.of(0, 10, Sort.by("id")));
+
+        assertThat(result.getContent()).extracting(ProductDTO::getId).containsExactly(2L);
+        assertThat(engine.documentCount()).isEqualTo(3);
+    }
+
+    // ===================== FUZZY SEARCH =====================
+
+    @Test
+    @DisplayName("Should match misspelled tokens, swapped letters included, and score by total edits")
+    void fuzzySearch_ShouldTolerateTypos() {
+        Page<ScoredProductDTO> result = engine.fuzzySearch("samsnug galxy", PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).extracting(ProductDTO::getId, ScoredProductDTO::getScore)
+                .containsExactly(tuple(2L, 1.0 / 3));
+        assertThat(engine.fuzzySearch("flagshp", PageRequest.of(0, 10)).getContent())
+                .extracting(ProductDTO::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should rank exact matches before near ones and paginate with the total count")
+    void fuzzySearch_ShouldRankByEdits() {
+        addToTable(5L, "iPod Pro", "Music player", "249.99", "Electronics");
+        engine.onProductChanged(ProductChangedEvent.saved(table.get(5L)));
+
+        Page<ScoredProductDTO> result = engine.fuzzySearch("ipad pro", PageRequest.of(0, 1));
+
+        assertThat(result.getContent()).extracting(ProductDTO::getId, ScoredProductDTO::getScore)
+                .containsExactly(tuple(4L, 1.0));
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(engine.fuzzySearch("ipad pro", PageRequest.of(1, 1)).getContent())
+                .extracting(ProductDTO::getId, ScoredProductDTO::getScore).containsExactly(tuple(5L, 0.5));
+    }
+
+    @Test
+    @DisplayName("Should match short tokens and model numbers only exactly")
+    void fuzzySearch_ShouldNotBendModelNumbers() {
+        assertThat(engine.fuzzySearch("galaxy s25", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(engine.fuzzySearch("galaxy s24", PageRequest.of(0, 10)).getContent())
+                .extracting(ProductDTO::getId).containsExactly(2L);
+        assertThat(engine.fuzzySearch("m3 chip", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow updates and deletes")
+    void fuzzySearch_ShouldFollowCatalog() {
+        engine.onProductChanged(ProductChangedEvent.deleted(2L));
+        addToTable(3L, "Refactoring", "Improving the design of existing code", "44.99", "Books");
+        engine.onProductChanged(ProductChangedEvent.saved(table.get(3L)));
+
+        assertThat(engine.fuzzySearch("samsnug", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(engine.fuzzySearch("craftsmanship", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(engine.fuzzySearch("refactorign", PageRequest.of(0, 10)).getContent())
+                .extracting(ProductDTO::getId).containsExactly(3L);
+    }
+
+    private void addToTable(Long id, String name, String description, String price, String category) {
+        table.put(id, new ProductDTO(id, name, description, new BigDecimal(price), category, 10,
+                "https://example.com/" + id + ".jpg"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.retail.product_catalog.security;
+
+import com.retail.product_catalog.auth.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JwtService Unit Tests")
+class JwtServiceTest {
+
+    private VerifiedTokenCache tokenCache;
+    private JwtService jwtService;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new VerifiedTokenCache(100);
+
+        jwtService = newJwtService(3_600_000L);
+        admin = new User("admin@catalog.com", "hashed", "Admin", User.Role.ADMIN);
+    }
+
+    @Test
+    @DisplayName("Should embed roles in generated tokens and read them back")
+    void verify_ShouldReturnSubjectAndRoles() {
+        String token = jwtService.generateToken(admin);
+
+        Optional<VerifiedToken> verified = jwtService.verify(token);
+
+        assertThat(verified).isPresent();
+        assertThat(verified.get().getSubject()).isEqualTo("admin@catalog.com");
+        assertThat(verified.get().getRoles()).containsExactly("ROLE_ADMIN");
+        assertThat(jwtService.isTokenValid(token, admin)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should answer repeated verifications from the cache")
+    void verify_ShouldCacheVerifiedTokens() {
+        String token = jwtService.generateToken(admin);
+
+        VerifiedToken first = jwtService.verify(token).orElseThrow();
+        VerifiedToken second = jwtService.verify(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(tokenCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a token with a tampered signature")
+    void verify_ShouldRejectTamperedToken() {
+        String token = jwtService.generateToken(admin);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(jwtService.verify(tampered)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token and not cache it")
+    void verify_ShouldRejectExpiredToken() {
+        JwtService expiring = newJwtService(-1_000L);
+        String token = expiring.generateToken(admin);
+
+        assertThat(expiring.verify(token)).isEmpty();
+        assertThat(tokenCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("A full cache should evict the least recently used token and still cache new ones")
+    void tokenCache_ShouldEvictLeastRecentlyUsed_WhenFull() {
+        VerifiedTokenCache small = new VerifiedTokenCache(16);
+        VerifiedToken verified = new VerifiedToken("admin@catalog.com", List.of("ROLE_ADMIN"),
+                Instant.now().plusSeconds(3600));
+        for (int i = 0; i < 1000; i++) {
+            small.put("token-" + i, verified);
+        }
+
+        assertThat(small.size()).isLessThanOrEqualTo(16);
+        assertThat(small.get("token-999")).isSameAs(verified);
+        assertThat(small.get("token-0")).isNull();
+    }
+
+    private JwtService newJwtService(long expiration) {
+        JwtService service = new JwtService(tokenCache, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "secretKey", "test-secret-key-that-is-at-least-32-bytes-long");
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,89 @@
+package com.retail.product_catalog.service;
+
+import com.retail.product_catalog.dto.BulkItemResult;
+import com.retail.product_catalog.dto.BulkResponse;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "catalog.bulk.chunk-size=2")
+@DisplayName("ProductBulkService Integration Tests")
+class ProductBulkServiceTest {
+
+    @Autowired
+    private ProductBulkService productBulkService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("Should create valid items across chunks and report invalid ones")
+    void createProducts_ShouldReportEachItem() {
+        List<ProductDTO> items = new ArrayList<>();
+        items.add(newProduct("Desk Lamp", 10));
+        items.add(newProduct("A", 10));               // name too short
+        items.add(newProduct("Office Chair", 5));
+        items.add(newProduct("Monitor Arm", -1));     // negative stock
+        items.add(newProduct("Standing Desk", 3));
+
+        BulkResponse response = productBulkService.createProducts(items);
+
+        assertThat(response.getTotal()).isEqualTo(5);
+        assertThat(response.getSucceeded()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(BulkItemResult::getStatus).containsExactly(
+                BulkItemResult.Status.CREATED, BulkItemResult.Status.INVALID, BulkItemResult.Status.CREATED,
+                BulkItemResult.Status.INVALID, BulkItemResult.Status.CREATED);
+        assertThat(response.getResults().get(1).getErrors()).containsKey("name");
+        assertThat(response.getResults().get(3).getErrors()).containsKey("stockQuantity");
+
+        Long createdId = response.getResults().get(4).getId();
+        assertThat(productRepository.findById(createdId)).get()
+                .extracting(product -> product.getName()).isEqualTo("Standing Desk");
+    }
+
+    @Test
+    @DisplayName("Should update existing items and flag missing or id-less ones")
+    void updateProducts_ShouldReportEachItem() {
+        Long id = productBulkService.createProducts(List.of(newProduct("Bookshelf", 7)))
+                .getResults().get(0).getId();
+
+        ProductDTO change = newProduct("Bookshelf", 2);
+        change.setId(id);
+        change.setPrice(new BigDecimal("89.00"));
+        ProductDTO missing = newProduct("Ghost", 1);
+        missing.setId(Long.MAX_VALUE);
+        ProductDTO withoutId = newProduct("No Id", 1);
+
+        BulkResponse response = productBulkService.updateProducts(List.of(change, missing, withoutId));
+
+        assertThat(response.getResults()).extracting(BulkItemResult::getStatus).containsExactly(
+                BulkItemResult.Status.UPDATED, BulkItemResult.Status.NOT_FOUND, BulkItemResult.Status.INVALID);
+        assertThat(productRepository.findById(id)).get()
+                .satisfies(product -> {
+                    assertThat(product.getStockQuantity()).isEqualTo(2);
+                    assertThat(product.getPrice()).isEqualByComparingTo("89.00");
+                });
+    }
+
+    @Test
+    @DisplayName("Should reject an empty request")
+    void createProducts_ShouldRejectEmptyRequest() {
+        assertThatThrownBy(() -> productBulkService.createProducts(List.of()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static ProductDTO newProduct(String name, int stock) {
+        return new ProductDTO(null, name, "Solid oak furniture for the home office",
+                new BigDecimal("129.00"), "Home & Kitchen", stock, "https://example.com/item.jpg");
+    }
+}
@@ -0,0 +1,106 @@
+package com.retail.product_catalog.service;
+
+import com.retail.product_catalog.config.CacheRegions;
+import com.retail.product_catalog.dto.CacheRegionStats;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.exception.ResourceNotFoundException;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.stock.StockLedger;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Product second-level cache Integration Tests")
+class ProductCacheIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Test
+    @DisplayName("Repeated reads by id should be served from the product region")
+    void getProductById_ShouldHitSecondLevelCache() {
+        ProductDTO created = productService.createProduct(newProduct("Cached Kettle"));
+        entityManagerFactory.getCache().evictAll();
+
+        long hitsBefore = productRegion().getHits();
+        productService.getProductById(created.getId());
+        productService.getProductById(created.getId());
+
+        assertThat(productRegion().getHits()).isGreaterThan(hitsBefore);
+    }
+
+    @Test
+    @DisplayName("Update and delete should only touch the affected entry")
+    void writes_ShouldEvictOnlyAffectedEntries() {
+        ProductDTO first = productService.createProduct(newProduct("Kettle One"));
+        ProductDTO second = productService.createProduct(newProduct("Kettle Two"));
+        productService.getProductById(first.getId());
+        productService.getProductById(second.getId());
+
+        first.setPrice(new BigDecimal("59.99"));
+        productService.updateProduct(first.getId(), first);
+
+        assertThat(entityManagerFactory.getCache().contains(Product.class, second.getId())).isTrue();
+        assertThat(productService.getProductById(first.getId()).getPrice())
+                .isEqualByComparingTo("59.99");
+
+        productService.deleteProduct(first.getId());
+
+        // READ_WRITE leaves a soft lock under the deleted key, so check through a read.
+        assertThatThrownBy(() -> productService.getProductById(first.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(entityManagerFactory.getCache().contains(Product.class, second.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("A stock move should leave cached category pages in place and show through them")
+    void stockMove_ShouldKeepCategoryPagesCached() {
+        ProductDTO product = productService.createProduct(newProduct("Stocked Kettle", "Cache Stock Moves"));
+        productService.getProductsByCategory("Cache Stock Moves", 0, 5, "id");
+
+        stockLedger.reserve(product.getId(), 4);
+
+        long hitsBefore = region(CacheRegions.PRODUCT_CATEGORY_PAGES).getHits();
+        Page<ProductDTO> page = productService.getProductsByCategory("Cache Stock Moves", 0, 5, "id");
+        assertThat(region(CacheRegions.PRODUCT_CATEGORY_PAGES).getHits()).isGreaterThan(hitsBefore);
+        assertThat(page.getContent()).singleElement()
+                .extracting(ProductDTO::getStockQuantity).isEqualTo(6);
+    }
+
+    private CacheRegionStats productRegion() {
+        return region(CacheRegions.PRODUCT);
+    }
+
+    private CacheRegionStats region(String name) {
+        return cacheStatisticsService.getRegionStats().stream()
+                .filter(stats -> stats.getRegion().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static ProductDTO newProduct(String name) {
+        return newProduct(name, "Home & Kitchen");
+    }
+
+    private static ProductDTO newProduct(String name, String category) {
+        return new ProductDTO(null, name, "Stainless steel electric kettle",
+                new BigDecimal("49.99"), category, 10, "https://example.com/kettle.jpg");
+    }
+}
@@ -1,16 +1,29 @@
 package com.retail.product_catalog.service;
 
+import com.retail.product_catalog.dto.CursorPage;
 import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.ScoredProductDTO;
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.exception.PreconditionFailedException;
 import com.retail.product_catalog.exception.ResourceNotFoundException;
+import com.retail.product_catalog.facet.JpaFacetEngine;
+import com.retail.product_catalog.facet.PriceHistogram;
+import com.retail.product_catalog.filter.JpaFilterEngine;
 import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.model.ProductTombstone;
+import com.retail.product_catalog.repository.ProductFullTextRepository;
 import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.repository.ProductTombstoneRepository;
+import com.retail.product_catalog.search.FullTextMode;
+import com.retail.product_catalog.search.JpaProductSearchEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.math.BigDecimal;
@@ -28,7 +41,12 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
-    @InjectMocks
+    @Mock
+    private ProductTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private ProductService productService;
 
     private Product sampleProduct;
@@ -36,6 +54,15 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
+        productService = new ProductService(
+                productRepository,
+                new JpaProductSearchEngine(productRepository),
+                new JpaFilterEngine(productRepository),
+                new JpaFacetEngine(productRepository, new PriceHistogram(List.of(new BigDecimal("100")))),
+                tombstoneRepository,
+                eventPublisher
+        );
+
         sampleProduct = new Product(
                 "iPhone 15",
                 "Latest Apple smartphone",
@@ -62,22 +89,23 @@ class ProductServiceTest {
     @Test
     @DisplayName("Should return paginated list of products")
     void getAllProducts_ShouldReturnPagedProducts() {
-        Page<Product> productPage = new PageImpl<>(List.of(sampleProduct));
-        when(productRepository.findAll(any(Pageable.class))).thenReturn(productPage);
+        Page<ProductDTO> productPage = new PageImpl<>(List.of(sampleProductDTO));
+        when(productRepository.findAllProjected(any(Pageable.class))).thenReturn(productPage);
 
         Page<ProductDTO> result = productService.getAllProducts(0, 5, "id");
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getName()).isEqualTo("iPhone 15");
-        verify(productRepository, times(1)).findAll(any(Pageable.class));
+        verify(productRepository, times(1)).findAllProjected(any(Pageable.class));
+        verify(productRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
     @DisplayName("Should return empty page when no products exist")
     void getAllProducts_ShouldReturnEmptyPage_WhenNoProducts() {
-        Page<Product> emptyPage = new PageImpl<>(List.of());
-        when(productRepository.findAll(any(Pageable.class))).thenReturn(emptyPage);
+        Page<ProductDTO> emptyPage = new PageImpl<>(List.of());
+        when(productRepository.findAllProjected(any(Pageable.class))).thenReturn(emptyPage);
 
         Page<ProductDTO> result = productService.getAllProducts(0, 5, "id");
 
@@ -85,6 +113,20 @@ class ProductServiceTest {
         assertThat(result.getTotalElements()).isZero();
     }
 
+    @Test
+    @DisplayName("Should page in indexed (sortBy, id) order and reject unindexed sorts")
+    void getAllProducts_ShouldUseIndexedOrdering() {
+        when(productRepository.findAllProjected(any(Pageable.class))).thenReturn(Page.empty());
+
+        productService.getAllProducts(0, 5, "price");
+
+        verify(productRepository).findAllProjected(PageRequest.of(0, 5, Sort.by("price", "id")));
+        assertThatThrownBy(() -> productService.getProductsByCategory("Electronics", 0, 5, "description"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Unsupported sortBy: description");
+        verifyNoMoreInteractions(productRepository);
+    }
+
     // ===================== GET BY ID =====================
 
     @Test
@@ -117,20 +159,20 @@ class ProductServiceTest {
     @Test
     @DisplayName("Should create and return new product")
     void createProduct_ShouldSaveAndReturnProduct() {
-        when(productRepository.save(any(Product.class))).thenReturn(sampleProduct);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(sampleProduct);
 
         ProductDTO result = productService.createProduct(sampleProductDTO);
 
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo("iPhone 15");
         assertThat(result.getCategory()).isEqualTo("Electronics");
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, times(1)).saveAndFlush(any(Product.class));
     }
 
     @Test
     @DisplayName("Should map all DTO fields correctly when creating product")
     void createProduct_ShouldMapAllFieldsCorrectly() {
-        when(productRepository.save(any(Product.class))).thenReturn(sampleProduct);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(sampleProduct);
 
         ProductDTO result = productService.createProduct(sampleProductDTO);
 
@@ -142,6 +184,19 @@ class ProductServiceTest {
         assertThat(result.getImageUrl()).isEqualTo(sampleProductDTO.getImageUrl());
     }
 
+    @Test
+    @DisplayName("Should publish a change event after creating product")
+    void createProduct_ShouldPublishSavedEvent() {
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(sampleProduct);
+
+        productService.createProduct(sampleProductDTO);
+
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(ProductChangedEvent.Type.SAVED);
+        assertThat(event.getValue().getProduct().getName()).isEqualTo("iPhone 15");
+    }
+
     // ===================== UPDATE =====================
 
     @Test
@@ -168,14 +223,25 @@ class ProductServiceTest {
         updatedProduct.setId(1L);
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
-        when(productRepository.save(any(Product.class))).thenReturn(updatedProduct);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(updatedProduct);
 
         ProductDTO result = productService.updateProduct(1L, updateDTO);
 
         assertThat(result.getName()).isEqualTo("iPhone 15 Pro");
         assertThat(result.getPrice()).isEqualByComparingTo(new BigDecimal("1099.99"));
         verify(productRepository, times(1)).findById(1L);
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, times(1)).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    @DisplayName("Should reject an update whose If-Match version is stale")
+    void updateProduct_ShouldThrow_WhenRequiredVersionDiffers() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+
+        assertThatThrownBy(() -> productService.updateProduct(1L, sampleProductDTO, 3L))
+                .isInstanceOf(PreconditionFailedException.class);
+
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
     }
 
     @Test
@@ -187,7 +253,7 @@ class ProductServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("99");
 
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
     }
 
     // ===================== DELETE =====================
@@ -204,6 +270,32 @@ class ProductServiceTest {
         verify(productRepository, times(1)).delete(sampleProduct);
     }
 
+    @Test
+    @DisplayName("Should leave a tombstone for the change feed when deleting product")
+    void deleteProduct_ShouldSaveTombstone() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+
+        productService.deleteProduct(1L);
+
+        ArgumentCaptor<ProductTombstone> tombstone = ArgumentCaptor.forClass(ProductTombstone.class);
+        verify(tombstoneRepository).save(tombstone.capture());
+        assertThat(tombstone.getValue().getProductId()).isEqualTo(1L);
+        assertThat(tombstone.getValue().getDeletedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should publish a delete event after deleting product")
+    void deleteProduct_ShouldPublishDeletedEvent() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(sampleProduct));
+
+        productService.deleteProduct(1L);
+
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(ProductChangedEvent.Type.DELETED);
+        assertThat(event.getValue().getProductId()).isEqualTo(1L);
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when deleting non-existent product")
     void deleteProduct_ShouldThrowException_WhenProductNotFound() {
@@ -214,6 +306,7 @@ class ProductServiceTest {
                 .hasMessageContaining("99");
 
         verify(productRepository, never()).delete(any(Product.class));
+        verify(tombstoneRepository, never()).save(any());
     }
 
     // ===================== SEARCH =====================
@@ -221,8 +314,8 @@ class ProductServiceTest {
     @Test
     @DisplayName("Should return matching products when searching by keyword")
     void searchProducts_ShouldReturnMatchingProducts() {
-        Page<Product> productPage = new PageImpl<>(List.of(sampleProduct));
-        when(productRepository.findByNameContainingIgnoreCase(
+        Page<ProductDTO> productPage = new PageImpl<>(List.of(sampleProductDTO));
+        when(productRepository.findProjectedByNameContaining(
                 eq("iphone"), any(Pageable.class))).thenReturn(productPage);
 
         Page<ProductDTO> result = productService.searchProducts("iphone", 0, 5, "id");
@@ -234,8 +327,8 @@ class ProductServiceTest {
     @Test
     @DisplayName("Should return empty page when search finds no matches")
     void searchProducts_ShouldReturnEmptyPage_WhenNoMatches() {
-        Page<Product> emptyPage = new PageImpl<>(List.of());
-        when(productRepository.findByNameContainingIgnoreCase(
+        Page<ProductDTO> emptyPage = new PageImpl<>(List.of());
+        when(productRepository.findProjectedByNameContaining(
                 eq("xyz"), any(Pageable.class))).thenReturn(emptyPage);
 
         Page<ProductDTO> result = productService.searchProducts("xyz", 0, 5, "id");
@@ -248,13 +341,109 @@ class ProductServiceTest {
     @Test
     @DisplayName("Should return products filtered by category")
     void getProductsByCategory_ShouldReturnFilteredProducts() {
-        Page<Product> productPage = new PageImpl<>(List.of(sampleProduct));
-        when(productRepository.findByCategory(
-                eq("Electronics"), any(Pageable.class))).thenReturn(productPage);
+        when(productRepository.findIdsByCategory(eq("Electronics"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(1L)));
+        when(productRepository.findAllCachedById(List.of(1L))).thenReturn(List.of(sampleProduct));
 
         Page<ProductDTO> result = productService.getProductsByCategory("Electronics", 0, 5, "id");
 
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getCategory()).isEqualTo("Electronics");
+        assertThat(result.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should query stock-sorted category pages directly, since stock moves reorder them")
+    void getProductsByCategory_ShouldNotUseCachedIds_WhenSortedByStock() {
+        when(productRepository.findProjectedByCategory(eq("Electronics"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(sampleProductDTO)));
+
+        Page<ProductDTO> result = productService.getProductsByCategory("Electronics", 0, 5, "stockQuantity");
+
+        assertThat(result.getContent()).containsExactly(sampleProductDTO);
+        verify(productRepository, never()).findIdsByCategory(any(), any());
+    }
+
+    // ===================== KEYSET (CURSOR) PAGINATION =====================
+
+    @Test
+    @DisplayName("Should return a slice with a next cursor when more rows exist")
+    void getAllProductsAfter_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        ProductDTO second = new ProductDTO(2L, "iPad Pro", "Apple tablet with M2 chip",
+                new BigDecimal("899.99"), "Electronics", 4, "https://example.com/ipad.jpg");
+        when(productRepository.findSlice(eq(ProductSort.PRICE), isNull(), isNull(), isNull(), eq(2)))
+                .thenReturn(List.of(second, sampleProductDTO));
+
+        CursorPage<ProductDTO> result = productService.getAllProductsAfter("", 1, "price");
+
+        assertThat(result.getContent()).extracting(ProductDTO::getId).containsExactly(2L);
+        assertThat(result.isHasNext()).isTrue();
+
+        ProductCursor cursor = ProductCursor.decode(result.getNextCursor(), ProductSort.PRICE);
+        assertThat(cursor.getId()).isEqualTo(2L);
+        assertThat((BigDecimal) cursor.getValue()).isEqualByComparingTo("899.99");
+    }
+
+    @Test
+    @DisplayName("Should pass the decoded cursor to the repository and end the walk")
+    void getProductsByCategoryAfter_ShouldContinueFromCursor() {
+        String after = new ProductCursor(ProductSort.NAME, "iPad Pro", 2L).encode();
+        when(productRepository.findSlice(eq(ProductSort.NAME), any(ProductCursor.class),
+                eq("Electronics"), isNull(), eq(6))).thenReturn(List.of(sampleProductDTO));
+
+        CursorPage<ProductDTO> result =
+                productService.getProductsByCategoryAfter("Electronics", after, 5, "name");
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for a different sortBy")
+    void getAllProductsAfter_ShouldReject_WhenCursorSortDiffers() {
+        String after = new ProductCursor(ProductSort.NAME, "iPad Pro", 2L).encode();
+
+        assertThatThrownBy(() -> productService.getAllProductsAfter(after, 5, "price"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void getAllProductsAfter_ShouldReject_WhenCursorMalformed() {
+        assertThatThrownBy(() -> productService.getAllProductsAfter("not-a-cursor", 5, "id"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    // ===================== SEARCH (RELEVANCE) =====================
+
+    @Test
+    @DisplayName("Should return relevance hits in score order with their scores")
+    void searchProductsByRelevance_ShouldKeepScoreOrder() {
+        ProductDTO second = new ProductDTO(2L, "iPhone 15 Case", "Case for the latest iPhone",
+                new BigDecimal("29.99"), "Electronics", 40, "https://example.com/case.jpg");
+        when(productRepository.findIdsByRelevance(eq("iphone"), eq(FullTextMode.NATURAL), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(
+                        new ProductFullTextRepository.RelevanceHit(2L, 3.5),
+                        new ProductFullTextRepository.RelevanceHit(1L, 1.25),
+                        new ProductFullTextRepository.RelevanceHit(7L, 0.5)), PageRequest.of(0, 3), 9));
+        // Product 7 was deleted between the two queries
+        when(productRepository.findProjectedByIdIn(List.of(2L, 1L, 7L)))
+                .thenReturn(List.of(sampleProductDTO, second));
+
+        Page<ScoredProductDTO> result =
+                productService.searchProductsByRelevance("iphone", FullTextMode.NATURAL, 0, 3);
+
+        assertThat(result.getContent()).extracting(ProductDTO::getId).containsExactly(2L, 1L);
+        assertThat(result.getContent()).extracting(ScoredProductDTO::getScore).containsExactly(3.5, 1.25);
+        assertThat(result.getTotalElements()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should reject a blank relevance search")
+    void searchProductsByRelevance_ShouldReject_WhenKeywordBlank() {
+        assertThatThrownBy(() -> productService.searchProductsByRelevance(" ", FullTextMode.BOOLEAN, 0, 5))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(productRepository);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.retail.product_catalog.stock;
+
+import com.retail.product_catalog.auth.User;
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.exception.ResourceNotFoundException;
+import com.retail.product_catalog.filter.ProductFilter;
+import com.retail.product_catalog.filter.ProductFilterEngine;
+import com.retail.product_catalog.security.JwtService;
+import com.retail.product_catalog.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("DirectStockLedger Integration Tests")
+class DirectStockLedgerTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductFilterEngine filterEngine;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Concurrent reservations should never oversell")
+    void reserve_ShouldNotOversell_UnderContention() throws Exception {
+        ProductDTO product = productService.createProduct(newProduct(20));
+        assertThat(stockLedger).isInstanceOf(DirectStockLedger.class);
+
+        assertThat(reserveConcurrently(stockLedger, product.getId(), 60)).isEqualTo(20);
+        assertThat(productService.getProductById(product.getId()).getStockQuantity()).isZero();
+    }
+
+    @Test
+    @DisplayName("Reserve and release should bump the version and refresh the cached entity")
+    void reserveAndRelease_ShouldUpdateCachedProduct() {
+        ProductDTO product = productService.createProduct(newProduct(5));
+        long version = productService.getProductById(product.getId()).getVersion();  // now cached
+
+        assertThat(stockLedger.reserve(product.getId(), 3)).isTrue();
+        assertThat(stockLedger.reserve(product.getId(), 3)).isFalse();
+        stockLedger.release(product.getId(), 1);
+
+        ProductDTO reloaded = productService.getProductById(product.getId());
+        assertThat(reloaded.getStockQuantity()).isEqualTo(3);
+        assertThat(reloaded.getVersion()).isEqualTo(version + 2);
+    }
+
+    @Test
+    @DisplayName("Selling out and restocking through the ledger should update the inStock filter")
+    void reserveAndRelease_ShouldMoveProductInAndOutOfStock() {
+        ProductDTO sneaker = newProduct(2);
+        sneaker.setCategory("Flash Sale");
+        ProductDTO product = productService.createProduct(sneaker);
+        ProductFilter inStock = ProductFilter.of(List.of("Flash Sale"), null, null, true);
+
+        assertThat(stockLedger.reserve(product.getId(), 1)).isTrue();
+        assertThat(inStockIds(inStock)).containsExactly(product.getId());
+        assertThat(stockLedger.reserve(product.getId(), 1)).isTrue();
+        assertThat(inStockIds(inStock)).isEmpty();
+
+        stockLedger.release(product.getId(), 1);
+        assertThat(inStockIds(inStock)).containsExactly(product.getId());
+    }
+
+    @Test
+    @DisplayName("Should throw when the product does not exist")
+    void reserve_ShouldThrow_WhenProductMissing() {
+        assertThatThrownBy(() -> stockLedger.reserve(987654L, 1))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> stockLedger.release(987654L, 1))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Any signed-in user may reserve, but only an admin may release")
+    void release_ShouldRequireAdmin() throws Exception {
+        ProductDTO product = productService.createProduct(newProduct(5));
+        String userToken = "Bearer " + jwtService.generateToken(
+                new User("shopper@catalog.com", "", "Shopper", User.Role.USER));
+        String adminToken = "Bearer " + jwtService.generateToken(
+                new User("stock-admin@catalog.com", "", "Admin", User.Role.ADMIN));
+        String body = "{\"quantity\":2}";
+
+        mockMvc.perform(post("/api/products/{id}/stock/reserve", product.getId())
+                        .header("Authorization", userToken)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/products/{id}/stock/release", product.getId())
+                        .header("Authorization", userToken)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isForbidden());
+        assertThat(productService.getProductById(product.getId()).getStockQuantity()).isEqualTo(3);
+
+        mockMvc.perform(post("/api/products/{id}/stock/release", product.getId())
+                        .header("Authorization", adminToken)
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        assertThat(productService.getProductById(product.getId()).getStockQuantity()).isEqualTo(5);
+    }
+
+    private List<Long> inStockIds(ProductFilter filter) {
+        return filterEngine.filter(filter, PageRequest.of(0, 10)).map(ProductDTO::getId).getContent();
+    }
+
+    /** Fires {@code attempts} single-unit reservations from 16 threads; returns how many succeeded. */
+    static int reserveConcurrently(StockLedger ledger, long productId, int attempts) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Boolean>> calls = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                calls.add(() -> ledger.reserve(productId, 1));
+            }
+            int succeeded = 0;
+            for (Future<Boolean> result : pool.invokeAll(calls)) {
+                if (result.get()) {
+                    succeeded++;
+                }
+            }
+            return succeeded;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static ProductDTO newProduct(int stock) {
+        return new ProductDTO(null, "Flash Sale Sneaker", "Limited edition running shoe",
+                new BigDecimal("89.99"), "Footwear", stock, "https://example.com/sneaker.jpg");
+    }
+}
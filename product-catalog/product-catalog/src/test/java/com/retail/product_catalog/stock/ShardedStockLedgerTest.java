@@ -0,0 +1,68 @@
+package com.retail.product_catalog.stock;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static com.retail.product_catalog.stock.DirectStockLedgerTest.newProduct;
+import static com.retail.product_catalog.stock.DirectStockLedgerTest.reserveConcurrently;
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "catalog.stock.mode=sharded",
+        "catalog.stock.lease-size=4",
+        "catalog.stock.stripes=4",
+        "catalog.stock.flush-interval=1h"
+})
+@DisplayName("ShardedStockLedger Integration Tests")
+class ShardedStockLedgerTest {
+
+    @Autowired
+    private ShardedStockLedger stockLedger;
+
+    @Autowired
+    private StockMetrics stockMetrics;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    @DisplayName("Concurrent reservations should never oversell and should batch row writes")
+    void reserve_ShouldNotOversell_AndBatchWrites() throws Exception {
+        ProductDTO product = productService.createProduct(newProduct(50));
+        long rowUpdatesBefore = stockMetrics.snapshot("sharded").getRowUpdates();
+
+        assertThat(reserveConcurrently(stockLedger, product.getId(), 120)).isEqualTo(50);
+
+        stockLedger.returnAllLeases();
+        assertThat(productService.getProductById(product.getId()).getStockQuantity()).isZero();
+        assertThat(stockMetrics.snapshot("sharded").getRowUpdates() - rowUpdatesBefore).isLessThan(50);
+    }
+
+    @Test
+    @DisplayName("Leased and released units should go back to the row when the lease is returned")
+    void returnAllLeases_ShouldRestoreUnsoldUnits() {
+        ProductDTO product = productService.createProduct(newProduct(20));
+
+        assertThat(stockLedger.reserve(product.getId(), 3)).isTrue();
+        // 3 reserved plus a lease of 4 were taken from the row
+        assertThat(productService.getProductById(product.getId()).getStockQuantity()).isEqualTo(13);
+
+        stockLedger.release(product.getId(), 1);
+        stockLedger.returnAllLeases();
+
+        assertThat(productService.getProductById(product.getId()).getStockQuantity()).isEqualTo(18);
+    }
+
+    @Test
+    @DisplayName("Should take the last units exactly when less than a lease is left")
+    void reserve_ShouldTakeExactRemainder() {
+        ProductDTO product = productService.createProduct(newProduct(2));
+
+        assertThat(stockLedger.reserve(product.getId(), 2)).isTrue();
+        assertThat(stockLedger.reserve(product.getId(), 1)).isFalse();
+    }
+}
@@ -0,0 +1,199 @@
+package com.retail.product_catalog.suggest;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.dto.Suggestion;
+import com.retail.product_catalog.exception.BadRequestException;
+import com.retail.product_catalog.repository.ProductRepository;
+import com.retail.product_catalog.service.ProductChangedEvent;
+import com.retail.product_catalog.service.ProductSort;
+import com.retail.product_catalog.service.ProductViewedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("SuggestIndex Unit Tests")
+class SuggestIndexTest {
+
+    private static final int MAX_RESULTS = 5;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private SuggestIndex index;
+
+    private final Map<Long, ProductDTO> table = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        addToTable(1L, "Sony WH-1000XM5 Wireless Headphones", "Audio");
+        addToTable(2L, "Wireless Mouse", "Accessories");
+        addToTable(3L, "USB-C Hub", "Accessories");
+        addToTable(4L, "Wired Headphones", "Audio");
+        addToTable(5L, "Wireless Charger", "Accessories");
+
+        when(productRepository.findSlice(eq(ProductSort.ID), isNull(), isNull(), isNull(), anyInt()))
+                .thenAnswer(inv -> new ArrayList<>(table.values()));
+        doCallRealMethod().when(productRepository).forEachProduct(anyInt(), any());
+
+        index = new SuggestIndex(productRepository, MAX_RESULTS, Duration.ofSeconds(1));
+        index.rebuild();
+    }
+
+    // ===================== COMPLETION =====================
+
+    @Test
+    @DisplayName("Should complete names from any word start, shortest first while nothing has been viewed")
+    void suggest_ShouldCompleteFromWordStarts() {
+        assertThat(texts("wirel")).containsExactly(
+                "Wireless Mouse", "Wireless Charger", "Sony WH-1000XM5 Wireless Headphones");
+        assertThat(texts("HEADPH")).containsExactly("Wired Headphones", "Sony WH-1000XM5 Wireless Headphones");
+        assertThat(texts("wh-1000")).containsExactly("Sony WH-1000XM5 Wireless Headphones");
+        assertThat(texts("usb c")).containsExactly("USB-C Hub");
+        assertThat(texts("zebra")).isEmpty();
+        assertThat(texts("  ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should offer categories as completions of their own")
+    void suggest_ShouldIncludeCategories() {
+        List<Suggestion> suggestions = index.suggest("a", MAX_RESULTS);
+
+        assertThat(suggestions).extracting(Suggestion::getText).containsExactly("Audio", "Accessories");
+        assertThat(suggestions).extracting(Suggestion::getType).containsOnly("category");
+        assertThat(suggestions).extracting(Suggestion::getProductId).containsOnlyNulls();
+    }
+
+    @Test
+    @DisplayName("Should treat a trailing separator as the end of a word")
+    void suggest_ShouldRespectTrailingSpace() {
+        addToTable(6L, "Wirecutter", "Tools");
+        index.onProductChanged(ProductChangedEvent.saved(table.get(6L)));
+
+        assertThat(texts("wire")).contains("Wirecutter");
+        assertThat(texts("wired ")).containsExactly("Wired Headphones");
+    }
+
+    @Test
+    @DisplayName("Should cap the limit at the configured maximum and reject a limit below one")
+    void suggest_ShouldValidateLimit() {
+        addToTable(6L, "Webcam", "Accessories");
+        addToTable(7L, "Wall Charger", "Accessories");
+        index.rebuild();
+
+        assertThat(index.suggest("w", 100)).hasSize(MAX_RESULTS);
+        assertThat(index.suggest("w", 2)).hasSize(2);
+        assertThatThrownBy(() -> index.suggest("w", 0)).isInstanceOf(BadRequestException.class);
+    }
+
+    // ===================== POPULARITY =====================
+
+    @Test
+    @DisplayName("Should rank by views once they are applied, and credit the product's category")
+    void suggest_ShouldRankByViews() {
+        for (int i = 0; i < 3; i++) {
+            index.onProductViewed(new ProductViewedEvent(1L));
+        }
+        index.onProductViewed(new ProductViewedEvent(5L));
+
+        assertThat(texts("wirel")).first().isEqualTo("Wireless Mouse");
+
+        index.applyViews();
+
+        assertThat(texts("wirel")).containsExactly(
+                "Sony WH-1000XM5 Wireless Headphones", "Wireless Charger", "Wireless Mouse");
+        assertThat(index.suggest("a", MAX_RESULTS)).extracting(Suggestion::getText, Suggestion::getScore)
+                .containsExactly(tuple("Audio", 3L), tuple("Accessories", 1L));
+    }
+
+    // ===================== LIVE UPDATES =====================
+
+    @Test
+    @DisplayName("Should follow renames and deletes, keeping a product's views")
+    void onProductChanged_ShouldFollowCatalog() {
+        index.onProductViewed(new ProductViewedEvent(2L));
+        index.applyViews();
+
+        ProductDTO renamed = table.get(2L);
+        renamed.setName("Ergonomic Wireless Mouse");
+        index.onProductChanged(ProductChangedEvent.saved(renamed));
+        index.onProductChanged(ProductChangedEvent.deleted(3L));
+
+        assertThat(index.suggest("ergo", MAX_RESULTS)).extracting(Suggestion::getText, Suggestion::getScore)
+                .containsExactly(tuple("Ergonomic Wireless Mouse", 1L));
+        assertThat(texts("wireless m")).containsExactly("Ergonomic Wireless Mouse");
+        assertThat(texts("usb")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should agree with a brute-force ranking after a random run of writes and views")
+    void suggest_ShouldMatchBruteForce() {
+        Random random = new Random(11);
+        String[] words = {"usb", "usb-c", "cable", "wireless", "wired", "mouse", "hub", "hd", "hdmi", "charger"};
+        Map<Long, Long> views = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            long id = 1 + random.nextInt(200);
+            int action = random.nextInt(10);
+            if (action == 0) {
+                table.remove(id);
+                views.remove(id);
+                index.onProductChanged(ProductChangedEvent.deleted(id));
+            } else if (action < 5) {
+                String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]
+                        + " " + id;
+                addToTable(id, name, "Dept " + (char) ('X' + random.nextInt(3)));
+                index.onProductChanged(ProductChangedEvent.saved(table.get(id)));
+            } else if (table.containsKey(id)) {
+                views.merge(id, 1L, Long::sum);
+                index.onProductViewed(new ProductViewedEvent(id));
+            }
+            if (i % 100 == 0) {
+                index.applyViews();
+            }
+        }
+        index.applyViews();
+
+        for (String prefix : List.of("u", "usb", "usb c", "h", "hd", "hdmi ", "w", "wire", "c", "cable", "1")) {
+            List<String> expected = table.values().stream()
+                    .filter(p -> (" " + SuggestKeys.key(p.getName())).contains(" " + SuggestKeys.prefix(prefix)))
+                    .sorted(Comparator.comparingLong((ProductDTO p) -> -views.getOrDefault(p.getId(), 0L))
+                            .thenComparingInt(p -> p.getName().length())
+                            .thenComparing(ProductDTO::getName, String.CASE_INSENSITIVE_ORDER)
+                            .thenComparing(ProductDTO::getId))
+                    .limit(MAX_RESULTS)
+                    .map(ProductDTO::getName)
+                    .toList();
+
+            assertThat(texts(prefix)).as("prefix '%s'", prefix).isEqualTo(expected);
+        }
+    }
+
+    private List<String> texts(String prefix) {
+        return index.suggest(prefix, MAX_RESULTS).stream().map(Suggestion::getText).toList();
+    }
+
+    private void addToTable(Long id, String name, String category) {
+        table.put(id, new ProductDTO(id, name, "Suggest test product", new BigDecimal("9.99"),
+                category, 5, "https://example.com/" + id + ".jpg"));
+    }
+}
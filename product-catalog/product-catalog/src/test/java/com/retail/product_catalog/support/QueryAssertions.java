@@ -0,0 +1,69 @@
+package com.retail.product_catalog.support;
+
+import com.retail.product_catalog.query.QueryStats;
+import org.assertj.core.api.AbstractAssert;
+
+import java.util.Map;
+
+/**
+ * Pins the SQL an action issues, typically one MockMvc request:
+ * <pre>
+ * assertQueries(() -> mockMvc.perform(get("/api/products/1")))
+ *         .hasStatements(1)
+ *         .hasNoRepeatedSelects();
+ * </pre>
+ * Only statements issued on the calling thread are counted.
+ */
+public final class QueryAssertions {
+
+    private QueryAssertions() {}
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public static QueryStatsAssert assertQueries(Action action) throws Exception {
+        try (QueryStats stats = QueryStats.open()) {
+            action.run();
+            return new QueryStatsAssert(stats);
+        }
+    }
+
+    public static final class QueryStatsAssert extends AbstractAssert<QueryStatsAssert, QueryStats> {
+
+        private QueryStatsAssert(QueryStats actual) {
+            super(actual, QueryStatsAssert.class);
+        }
+
+        public QueryStatsAssert hasStatements(int expected) {
+            if (actual.getStatements() != expected) {
+                failWithMessage("Expected %d SQL statements but got %s", expected, actual);
+            }
+            return this;
+        }
+
+        public QueryStatsAssert hasAtMostStatements(int max) {
+            if (actual.getStatements() > max) {
+                failWithMessage("Expected at most %d SQL statements but got %s", max, actual);
+            }
+            return this;
+        }
+
+        public QueryStatsAssert hasRowsFetched(long expected) {
+            if (actual.getRowsFetched() != expected) {
+                failWithMessage("Expected %d rows fetched but got %s", expected, actual);
+            }
+            return this;
+        }
+
+        /** No SELECT issued twice: any repetition inside one action is treated as an N+1. */
+        public QueryStatsAssert hasNoRepeatedSelects() {
+            Map<String, Integer> repeated = actual.getRepeatedSelects(2);
+            if (!repeated.isEmpty()) {
+                failWithMessage("Expected no repeated SELECT but got %s", repeated);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.retail.product_catalog.support;
+
+import com.retail.product_catalog.dto.ProductDTO;
+import com.retail.product_catalog.model.Product;
+import com.retail.product_catalog.repository.ProductRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic products for benchmarks and load tests: the same index
+ * always yields the same product, so runs against the same catalog size compare.
+ *
+ * <p>Categories follow a Zipf distribution: with {@code categorySkew} 0 every category
+ * is equally likely, with 1 the first category is twice as likely as the second, three
+ * times as likely as the third, and so on.
+ */
+public final class SyntheticCatalog {
+
+    private static final String[] CATEGORY_NAMES = {
+            "Electronics", "Furniture", "Kitchen", "Outdoor", "Toys", "Apparel", "Books", "Lighting"};
+
+    private static final String[] ADJECTIVES = {
+            "Compact", "Deluxe", "Rustic", "Wireless", "Ergonomic", "Vintage", "Portable", "Smart",
+            "Classic", "Modular", "Foldable", "Premium"};
+
+    private static final String[] NOUNS = {
+            "Desk", "Lamp", "Chair", "Speaker", "Kettle", "Backpack", "Blender", "Tent",
+            "Jacket", "Notebook", "Headphones", "Shelf", "Bottle", "Camera", "Puzzle", "Mug"};
+
+    private static final String[] MATERIALS = {
+            "oak", "steel", "bamboo", "cotton", "aluminium", "ceramic", "glass", "leather"};
+
+    private static final int SEED_BATCH = 1000;
+
+    /** Eight evenly populated categories. */
+    public static final SyntheticCatalog DEFAULT = new SyntheticCatalog(8, 0.0);
+
+    private final List<String> categories;
+    private final double[] cumulativeWeights;
+
+    public SyntheticCatalog(int categoryCount, double categorySkew) {
+        if (categoryCount < 1 || categorySkew < 0) {
+            throw new IllegalArgumentException("Need at least one category and a non-negative skew");
+        }
+
+        List<String> names = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            names.add(i < CATEGORY_NAMES.length ? CATEGORY_NAMES[i] : "Category " + (i + 1));
+        }
+        this.categories = List.copyOf(names);
+
+        cumulativeWeights = new double[categoryCount];
+        double total = 0;
+        for (int rank = 1; rank <= categoryCount; rank++) {
+            total += 1.0 / Math.pow(rank, categorySkew);
+            cumulativeWeights[rank - 1] = total;
+        }
+        for (int i = 0; i < categoryCount; i++) {
+            cumulativeWeights[i] /= total;
+        }
+    }
+
+    /** Most popular first. */
+    public List<String> categories() {
+        return categories;
+    }
+
+    /** A category drawn from the catalog's distribution, for requests that should follow it too. */
+    public String category(SplittableRandom random) {
+        int at = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        int rank = at >= 0 ? at : -at - 1;
+        return categories.get(Math.min(rank, categories.size() - 1));
+    }
+
+    public ProductDTO product(int index) {
+        SplittableRandom random = new SplittableRandom(index);
+        String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        String material = MATERIALS[random.nextInt(MATERIALS.length)];
+
+        return new ProductDTO(
+                null,
+                adjective + " " + noun + " " + index,
+                "A " + adjective.toLowerCase() + " " + noun.toLowerCase() + " made of " + material
+                        + ", item number " + index + " of the synthetic catalog.",
+                BigDecimal.valueOf(random.nextInt(100, 100_000), 2),
+                category(random),
+                random.nextInt(0, 500),
+                "https://example.com/images/" + index + ".jpg"
+        );
+    }
+
+    public List<ProductDTO> products(int count) {
+        List<ProductDTO> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    /** Inserts products {@code 0..count-1} through JPA in batches. */
+    public void seed(ProductRepository productRepository, int count) {
+        for (int from = 0; from < count; from += SEED_BATCH) {
+            List<Product> batch = new ArrayList<>(SEED_BATCH);
+            for (int i = from; i < Math.min(count, from + SEED_BATCH); i++) {
+                batch.add(toEntity(product(i)));
+            }
+            productRepository.saveAll(batch);
+        }
+    }
+
+    /** A search term that matches part of any reasonably sized catalog. */
+    public static String searchTerm(int index) {
+        return index % 2 == 0
+                ? NOUNS[index / 2 % NOUNS.length].toLowerCase()
+                : MATERIALS[index / 2 % MATERIALS.length];
+    }
+
+    public static Product toEntity(ProductDTO dto) {
+        return new Product(dto.getName(), dto.getDescription(), dto.getPrice(),
+                dto.getCategory(), dto.getStockQuantity(), dto.getImageUrl());
+    }
+}